@@ -38,6 +38,9 @@ public class AdminController {
     private final com.unicorn.backend.service.EmailService emailService;
     private final StartupModerationLogRepository startupModerationLogRepository;
     private final SubscriptionService subscriptionService;
+    private final com.unicorn.backend.chat.PresenceService presenceService;
+    private final DashboardStatsService dashboardStatsService;
+    private final com.unicorn.backend.user.UserSearchService userSearchService;
 
     public AdminController(UserRepository userRepository, StartupService startupService,
             com.unicorn.backend.security.RefreshTokenRepository refreshTokenRepository,
@@ -48,7 +51,10 @@ public class AdminController {
             TokenBlacklistService tokenBlacklistService,
             com.unicorn.backend.service.EmailService emailService,
             StartupModerationLogRepository startupModerationLogRepository,
-            SubscriptionService subscriptionService) {
+            SubscriptionService subscriptionService,
+            com.unicorn.backend.chat.PresenceService presenceService,
+            DashboardStatsService dashboardStatsService,
+            com.unicorn.backend.user.UserSearchService userSearchService) {
         this.userRepository = userRepository;
         this.startupService = startupService;
         this.refreshTokenRepository = refreshTokenRepository;
@@ -60,6 +66,9 @@ public class AdminController {
         this.emailService = emailService;
         this.startupModerationLogRepository = startupModerationLogRepository;
         this.subscriptionService = subscriptionService;
+        this.presenceService = presenceService;
+        this.dashboardStatsService = dashboardStatsService;
+        this.userSearchService = userSearchService;
     }
 
     @PostMapping("/users")
@@ -218,13 +227,13 @@ public class AdminController {
 
                 usersPage = userRepository.findAll(UserSpecification.buildSpecification(filter), pageable);
             } else if (query != null && !query.trim().isEmpty()) {
-                // Simple text search using existing method
-                usersPage = userRepository.searchUsers(query.trim(), pageable);
+                // Simple text search, ranked by relevance
+                usersPage = userSearchService.search(query.trim(), pageable);
             } else {
                 usersPage = userRepository.findAll(pageable);
             }
 
-            Page<UserResponse> responsePage = usersPage.map(userResponseService::fromEntity);
+            Page<UserResponse> responsePage = userResponseService.fromPage(usersPage);
 
             return ResponseEntity.ok(responsePage);
         } catch (Exception e) {
@@ -244,48 +253,33 @@ public class AdminController {
     @GetMapping("/users/stats")
     public ResponseEntity<java.util.Map<String, Object>> getUserStats() {
         java.util.Map<String, Object> stats = new java.util.HashMap<>();
+        DashboardStatsSnapshot snapshot = dashboardStatsService.getSnapshot();
 
         // Total Users
-        long total = userRepository.count();
-        java.time.LocalDateTime startOfMonth = java.time.YearMonth.now().atDay(1).atStartOfDay();
-        long newThisMonth = userRepository.countByCreatedAtAfter(startOfMonth);
-
         java.util.Map<String, Object> totalStats = new java.util.HashMap<>();
-        totalStats.put("value", total);
-        totalStats.put("newThisMonth", newThisMonth);
+        totalStats.put("value", snapshot.getTotalUsers());
+        totalStats.put("newThisMonth", snapshot.getNewUsersThisMonth());
         stats.put("total", totalStats);
 
-        // Active Users (Status = ACTIVE) & Online Users (Active Session)
-        long active = userRepository.countByStatus("ACTIVE");
-        long onlineNow = refreshTokenRepository.countDistinctUserByExpiryDateAfter(java.time.Instant.now());
-
+        // Active Users (Status = ACTIVE) & Online Users (live WebSocket sessions)
         java.util.Map<String, Object> activeStats = new java.util.HashMap<>();
-        activeStats.put("value", active);
-        activeStats.put("onlineNow", onlineNow);
+        activeStats.put("value", snapshot.getActiveUsers());
+        activeStats.put("onlineNow", presenceService.getOnlineUserCount());
         stats.put("active", activeStats);
 
         // Investors
-        long investorsCount = userRepository.countByRole("INVESTOR");
-        long verifiedInvestors = userRepository.countByRoleAndInvestorProfile_IsVerifiedTrue("INVESTOR");
-
         java.util.Map<String, Object> investorStats = new java.util.HashMap<>();
-        investorStats.put("value", investorsCount);
-        investorStats.put("verifiedCount", verifiedInvestors);
+        investorStats.put("value", snapshot.getInvestors());
+        investorStats.put("verifiedCount", snapshot.getVerifiedInvestors());
         stats.put("investors", investorStats);
 
-        // Startups
-        // Using StartupRepository countByStatus is better for actual startups
-        // But logic says "Startups" box usually means Startup Users or Startup
-        // profiles.
-        // Assuming box title "Startups" refers to Startup entities:
-        long totalStartups = startupRepository.count();
-        java.math.BigDecimal totalRaised = startupRepository.getTotalFundingRaised();
-
+        // Startups (Startup entities, not startup-owner users)
         java.util.Map<String, Object> startupStats = new java.util.HashMap<>();
-        startupStats.put("value", totalStartups);
-        startupStats.put("totalRaised", totalRaised != null ? totalRaised : java.math.BigDecimal.ZERO);
+        startupStats.put("value", snapshot.getTotalStartups());
+        startupStats.put("totalRaised", snapshot.getTotalRaised());
         stats.put("startups", startupStats);
 
+        stats.put("computedAt", snapshot.getComputedAt());
         return ResponseEntity.ok(stats);
     }
 
@@ -407,16 +401,13 @@ public class AdminController {
     @GetMapping("/startups/stats-overview")
     public ResponseEntity<java.util.Map<String, Object>> getStartupOverviewStats() {
         java.util.Map<String, Object> stats = new java.util.HashMap<>();
+        DashboardStatsSnapshot snapshot = dashboardStatsService.getSnapshot();
 
-        long total = startupRepository.count();
-        long active = startupRepository.countByStatus(StartupStatus.ACTIVE);
-        long banned = startupRepository.countByStatus(StartupStatus.BANNED);
-        long totalMembers = startupRepository.countTotalMembers();
-
-        stats.put("total", total);
-        stats.put("active", active);
-        stats.put("banned", banned);
-        stats.put("totalMembers", totalMembers);
+        stats.put("total", snapshot.getTotalStartups());
+        stats.put("active", snapshot.getActiveStartups());
+        stats.put("banned", snapshot.getBannedStartups());
+        stats.put("totalMembers", snapshot.getTotalStartupMembers());
+        stats.put("computedAt", snapshot.getComputedAt());
 
         return ResponseEntity.ok(stats);
     }
@@ -426,55 +417,33 @@ public class AdminController {
      */
     @GetMapping("/security/stats")
     public ResponseEntity<SecurityStats> getSecurityStats() {
-        long totalTokens = refreshTokenRepository.count();
-        long activeSessions = refreshTokenRepository.countByExpiryDateAfter(java.time.Instant.now());
-        long expiredTokens = refreshTokenRepository.countByExpiryDateBefore(java.time.Instant.now());
-        long onlineUsers = refreshTokenRepository.countDistinctUserByExpiryDateAfter(java.time.Instant.now());
-
-        // Device Stats (Simple aggregation)
-        List<com.unicorn.backend.security.RefreshToken> activeList = refreshTokenRepository
-                .findAllByExpiryDateAfter(java.time.Instant.now());
-
+        java.time.Instant now = java.time.Instant.now();
+        Object[] totals = refreshTokenRepository.countSessionTotals(now).get(0);
+        long totalTokens = ((Number) totals[0]).longValue();
+        long activeSessions = ((Number) totals[1]).longValue();
+        long expiredTokens = ((Number) totals[2]).longValue();
+        long onlineUsers = ((Number) totals[3]).longValue();
+
+        // Device Stats (device class is stored per token at creation)
         java.util.Map<String, Long> deviceStats = new java.util.HashMap<>();
-        java.util.Map<String, Long> activityTrend = new java.util.HashMap<>();
-
-        java.time.ZoneId zoneId = java.time.ZoneId.systemDefault();
-
-        activeList.forEach(t -> {
-            // Device aggregation
-            String agent = t.getUserAgent();
-            String device = "Unknown";
-            if (agent != null) {
-                if (agent.contains("Edg")) {
-                    device = "Edge";
-                } else if (agent.contains("OPR") || agent.contains("Opera")) {
-                    device = "Opera";
-                } else if (agent.contains("Chrome")) {
-                    device = "Chrome";
-                } else if (agent.contains("Firefox")) {
-                    device = "Firefox";
-                } else if (agent.contains("Safari")) {
-                    device = "Safari";
-                } else if (agent.contains("Android")) {
-                    device = "Android";
-                } else if (agent.contains("iPhone") || agent.contains("iPad")) {
-                    device = "iOS";
-                } else {
-                    device = "Other";
-                }
-            }
-            deviceStats.merge(device, 1L, Long::sum);
+        for (Object[] row : refreshTokenRepository.countActiveByDevice(now)) {
+            String device = row[0] != null ? (String) row[0] : "Unknown";
+            deviceStats.merge(device, ((Number) row[1]).longValue(), Long::sum);
+        }
 
-            // Trend aggregation (Last 7 days)
-            java.time.LocalDate date = java.time.LocalDate.ofInstant(t.getCreatedAt(), zoneId);
-            if (date.isAfter(java.time.LocalDate.now().minusDays(8))) {
-                activityTrend.merge(date.toString(), 1L, Long::sum);
-            }
-        });
+        // Trend aggregation (Last 7 days)
+        java.time.LocalDate today = java.time.LocalDate.now();
+        java.time.Instant since = today.minusDays(7).atStartOfDay(java.time.ZoneId.systemDefault()).toInstant();
+        java.util.Map<String, Long> activityTrend = new java.util.HashMap<>();
+        for (Object[] row : refreshTokenRepository.countActiveCreatedByDay(now, since)) {
+            java.time.LocalDate date = row[0] instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate()
+                    : (java.time.LocalDate) row[0];
+            activityTrend.put(date.toString(), ((Number) row[1]).longValue());
+        }
 
         // Ensure at least empty entries for last 7 days exist for better charts
         for (int i = 0; i < 7; i++) {
-            String d = java.time.LocalDate.now().minusDays(i).toString();
+            String d = today.minusDays(i).toString();
             activityTrend.putIfAbsent(d, 0L);
         }
 
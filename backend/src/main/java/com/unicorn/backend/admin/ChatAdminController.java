@@ -34,6 +34,8 @@ public class ChatAdminController {
     private final ChatReportRepository chatReportRepository;
     private final UserRepository userRepository;
     private final StartupRepository startupRepository;
+    private final ChatService chatService;
+    private final ChatMessageWriter chatMessageWriter;
 
     /**
      * Get all chats for a specific user (for admin dashboard).
@@ -70,6 +72,16 @@ public class ChatAdminController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Get chat message writer metrics: throughput, queue depth, latency and
+     * failures.
+     * GET /api/admin/chats/writer/stats
+     */
+    @GetMapping("/chats/writer/stats")
+    public ResponseEntity<ChatWriterStatsDTO> getWriterStats() {
+        return ResponseEntity.ok(chatMessageWriter.getStats());
+    }
+
     /**
      * Get all messages for a specific chat (for admin viewing).
      * GET /api/admin/chats/{chatId}/messages
@@ -142,8 +154,7 @@ public class ChatAdminController {
         ChatMessage message = chatMessageRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Message not found"));
 
-        message.setIsDeleted(true);
-        chatMessageRepository.save(message);
+        chatService.softDeleteMessage(message);
 
         // Update any reports for this message
         List<ChatReport> reports = chatReportRepository.findByMessage(message);
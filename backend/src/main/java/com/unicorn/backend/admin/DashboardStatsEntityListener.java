@@ -0,0 +1,45 @@
+package com.unicorn.backend.admin;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Feeds entity creations and deletions into the DashboardStatsService
+ * counters once the transaction commits.
+ */
+@Component
+public class DashboardStatsEntityListener {
+
+    private final DashboardStatsService dashboardStatsService;
+
+    public DashboardStatsEntityListener(@Lazy DashboardStatsService dashboardStatsService) {
+        this.dashboardStatsService = dashboardStatsService;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        afterCommit(() -> dashboardStatsService.onCreated(entity));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        afterCommit(() -> dashboardStatsService.onDeleted(entity));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
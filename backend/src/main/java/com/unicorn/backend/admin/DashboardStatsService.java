@@ -0,0 +1,180 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.feed.FeedService;
+import com.unicorn.backend.feed.FeedStatsResponse;
+import com.unicorn.backend.feed.Post;
+import com.unicorn.backend.investor.InvestorProfileRepository;
+import com.unicorn.backend.notification.NotificationRepository;
+import com.unicorn.backend.notification.NotificationStatsDTO;
+import com.unicorn.backend.notification.NotificationType;
+import com.unicorn.backend.startup.Startup;
+import com.unicorn.backend.startup.StartupRepository;
+import com.unicorn.backend.startup.StartupStatus;
+import com.unicorn.backend.subscription.SubscriptionService;
+import com.unicorn.backend.user.User;
+import com.unicorn.backend.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-aggregated statistics for the admin dashboard.
+ * All cards are computed together on a schedule
+ * (admin.stats.refresh-interval) and served from one in-memory snapshot.
+ * Between refreshes, user, startup and post creations and deletions are
+ * counted from JPA entity events and added to the totals; each refresh
+ * reconciles them with the database. Counts that change without an entity
+ * event (post status, soft deletes) are only updated by the refresh.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStatsService {
+
+    private final UserRepository userRepository;
+    private final StartupRepository startupRepository;
+    private final InvestorProfileRepository investorProfileRepository;
+    private final NotificationRepository notificationRepository;
+    private final SubscriptionService subscriptionService;
+    private final FeedService feedService;
+    private final FinancialMetricsService financialMetricsService;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile DashboardStatsSnapshot snapshot;
+
+    private final LongAdder usersCreated = new LongAdder();
+    private final LongAdder usersDeleted = new LongAdder();
+    private final LongAdder startupsCreated = new LongAdder();
+    private final LongAdder startupsDeleted = new LongAdder();
+    private final LongAdder postsCreated = new LongAdder();
+    private final LongAdder postsDeleted = new LongAdder();
+
+    /**
+     * Current snapshot with the entity events since the last refresh applied.
+     */
+    public DashboardStatsSnapshot getSnapshot() {
+        DashboardStatsSnapshot base = snapshot;
+        if (base == null) {
+            // refresh() called directly would bypass its transactional proxy
+            TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnly.setReadOnly(true);
+            base = readOnly.execute(status -> refresh());
+        }
+
+        long newUsers = usersCreated.sum();
+        long newStartups = startupsCreated.sum();
+        long newPosts = postsCreated.sum();
+        FeedStatsResponse feed = base.getFeed();
+        return base.toBuilder()
+                .totalUsers(base.getTotalUsers() + newUsers - usersDeleted.sum())
+                .newUsersThisMonth(base.getNewUsersThisMonth() + newUsers)
+                .totalStartups(base.getTotalStartups() + newStartups - startupsDeleted.sum())
+                .feed(FeedStatsResponse.builder()
+                        .totalPosts(feed.getTotalPosts() + newPosts - postsDeleted.sum())
+                        .activePosts(feed.getActivePosts())
+                        .hiddenPosts(feed.getHiddenPosts())
+                        .deletedPosts(feed.getDeletedPosts())
+                        .featuredPosts(feed.getFeaturedPosts())
+                        .todayPosts(feed.getTodayPosts())
+                        .avgEngagement(feed.getAvgEngagement())
+                        .totalLikes(feed.getTotalLikes())
+                        .totalComments(feed.getTotalComments())
+                        .totalShares(feed.getTotalShares())
+                        .build())
+                .build();
+    }
+
+    // ==================== Entity Events ====================
+
+    public void onCreated(Object entity) {
+        if (entity instanceof User) {
+            usersCreated.increment();
+        } else if (entity instanceof Startup) {
+            startupsCreated.increment();
+        } else if (entity instanceof Post) {
+            postsCreated.increment();
+        }
+    }
+
+    public void onDeleted(Object entity) {
+        if (entity instanceof User) {
+            usersDeleted.increment();
+        } else if (entity instanceof Startup) {
+            startupsDeleted.increment();
+        } else if (entity instanceof Post) {
+            postsDeleted.increment();
+        }
+    }
+
+    // ==================== Refresh ====================
+
+    /**
+     * Recompute every card. Event counters are reset first: an event that
+     * lands while the queries run may be counted twice until the next refresh.
+     */
+    @Scheduled(fixedDelayString = "${admin.stats.refresh-interval:60000}")
+    @Transactional(readOnly = true)
+    public synchronized DashboardStatsSnapshot refresh() {
+        long start = System.currentTimeMillis();
+        LocalDateTime computedAt = LocalDateTime.now();
+        usersCreated.reset();
+        usersDeleted.reset();
+        startupsCreated.reset();
+        startupsDeleted.reset();
+        postsCreated.reset();
+        postsDeleted.reset();
+
+        BigDecimal totalRaised = startupRepository.getTotalFundingRaised();
+        BigDecimal subscriptionMrr = subscriptionService.calculateMRR();
+        DashboardStatsSnapshot computed = DashboardStatsSnapshot.builder()
+                .computedAt(computedAt)
+                .totalUsers(userRepository.count())
+                .newUsersThisMonth(userRepository.countByCreatedAtAfter(YearMonth.now().atDay(1).atStartOfDay()))
+                .activeUsers(userRepository.countByStatus("ACTIVE"))
+                .investors(userRepository.countByRole("INVESTOR"))
+                .verifiedInvestors(userRepository.countByRoleAndInvestorProfile_IsVerifiedTrue("INVESTOR"))
+                .investorProfiles(investorProfileRepository.count())
+                .pendingVerifications(investorProfileRepository.countPendingVerifications())
+                .totalStartups(startupRepository.count())
+                .activeStartups(startupRepository.countByStatus(StartupStatus.ACTIVE))
+                .bannedStartups(startupRepository.countByStatus(StartupStatus.BANNED))
+                .totalStartupMembers(startupRepository.countTotalMembers())
+                .totalRaised(totalRaised != null ? totalRaised : BigDecimal.ZERO)
+                .subscriptionMrr(subscriptionMrr != null ? subscriptionMrr : BigDecimal.ZERO)
+                .feed(feedService.getFeedStats())
+                .financials(financialMetricsService.buildSummary())
+                .notifications(computeNotificationStats())
+                .build();
+
+        snapshot = computed;
+        log.debug("Dashboard stats refreshed in {} ms", System.currentTimeMillis() - start);
+        return computed;
+    }
+
+    private NotificationStatsDTO computeNotificationStats() {
+        long total = notificationRepository.count();
+        long unread = notificationRepository.countByReadFalse();
+        long todayCount = notificationRepository.countCreatedAfter(LocalDate.now().atStartOfDay());
+
+        // Find top notification type
+        List<Object[]> topTypes = notificationRepository.findTopNotificationTypes();
+        String topType = "NONE";
+        long topTypeCount = 0;
+        if (!topTypes.isEmpty()) {
+            Object[] top = topTypes.get(0);
+            topType = ((NotificationType) top[0]).name();
+            topTypeCount = (Long) top[1];
+        }
+        return NotificationStatsDTO.of(total, unread, todayCount, topType, topTypeCount);
+    }
+}
@@ -0,0 +1,51 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.feed.FeedStatsResponse;
+import com.unicorn.backend.notification.NotificationStatsDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * All admin dashboard cards, as of computedAt (plus entity creations and
+ * deletions counted since).
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStatsSnapshot {
+
+    private LocalDateTime computedAt;
+
+    // Users
+    private long totalUsers;
+    private long newUsersThisMonth;
+    private long activeUsers;
+    private long investors;
+    private long verifiedInvestors;
+
+    // Investor profiles
+    private long investorProfiles;
+    private long pendingVerifications;
+
+    // Startups
+    private long totalStartups;
+    private long activeStartups;
+    private long bannedStartups;
+    private long totalStartupMembers;
+    private BigDecimal totalRaised;
+
+    /**
+     * Subscription revenue of the current month (SubscriptionService.calculateMRR).
+     */
+    private BigDecimal subscriptionMrr;
+
+    private FeedStatsResponse feed;
+    private FinancialSummaryDTO financials;
+    private NotificationStatsDTO notifications;
+}
@@ -0,0 +1,194 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.appconfig.AppConfigService;
+import com.unicorn.backend.deal.DealService;
+import com.unicorn.backend.deal.DealStats;
+import com.unicorn.backend.payment.PaymentStatus;
+import com.unicorn.backend.payment.RevenueRollupService;
+import com.unicorn.backend.subscription.SubscriptionPlan;
+import com.unicorn.backend.subscription.SubscriptionStatus;
+import com.unicorn.backend.user.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Revenue, MRR and subscription metrics in USD for the admin financials
+ * dashboard, read from the revenue rollups.
+ */
+@Service
+@RequiredArgsConstructor
+public class FinancialMetricsService {
+
+    private final RevenueRollupService revenueRollupService;
+    private final UserRepository userRepository;
+    private final DealService dealService;
+    private final AppConfigService appConfigService;
+
+    /**
+     * USD exchange rates (1 USD = X currency) keyed by lower-case currency code,
+     * pre-parsed from the rate_* config entries.
+     */
+    private volatile Map<String, BigDecimal> usdRates = Map.of();
+
+    @PostConstruct
+    public void init() {
+        appConfigService.addListener(config -> {
+            Map<String, BigDecimal> rates = new HashMap<>();
+            for (String key : config.asMap().keySet()) {
+                BigDecimal rate = key.startsWith("rate_") ? config.getDecimal(key) : null;
+                if (rate != null && rate.signum() > 0) {
+                    rates.put(key.substring("rate_".length()), rate);
+                }
+            }
+            usdRates = Map.copyOf(rates);
+        });
+    }
+
+    /**
+     * Build the financial summary with USD currency conversion.
+     */
+    public FinancialSummaryDTO buildSummary() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate startOfPrevMonth = startOfMonth.minusMonths(1);
+
+        // Revenue calculations (Converted to USD)
+        BigDecimal currentMonthRevenue = calculateRevenueForPeriod(startOfMonth, tomorrow);
+        BigDecimal previousMonthRevenue = calculateRevenueForPeriod(startOfPrevMonth, startOfMonth);
+
+        BigDecimal revenueGrowth = BigDecimal.ZERO;
+        if (previousMonthRevenue.compareTo(BigDecimal.ZERO) > 0) {
+            revenueGrowth = currentMonthRevenue.subtract(previousMonthRevenue)
+                    .divide(previousMonthRevenue, 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+        }
+
+        // Calculate MRR (Converted to USD)
+        BigDecimal mrr = calculateMRR();
+        BigDecimal arr = mrr.multiply(BigDecimal.valueOf(12));
+
+        // Get subscription counts for display
+        RevenueRollupService.RollupCounts subscriptionCounts = revenueRollupService.getSubscriptionCounts();
+        long proSubs = subscriptionCounts.count(SubscriptionPlan.PRO, SubscriptionStatus.ACTIVE);
+        long eliteSubs = subscriptionCounts.count(SubscriptionPlan.ELITE, SubscriptionStatus.ACTIVE);
+
+        // User metrics
+        long totalUsers = userRepository.count();
+        long activeSubscriptions = proSubs + eliteSubs;
+        long freeUsers = totalUsers - activeSubscriptions;
+
+        // ARPU calculation
+        BigDecimal arpu = BigDecimal.ZERO;
+        if (activeSubscriptions > 0) {
+            arpu = mrr.divide(BigDecimal.valueOf(activeSubscriptions), 2, RoundingMode.HALF_UP);
+        }
+
+        // Conversion rate (paid / total)
+        BigDecimal conversionRate = BigDecimal.ZERO;
+        if (totalUsers > 0) {
+            conversionRate = BigDecimal.valueOf(activeSubscriptions)
+                    .divide(BigDecimal.valueOf(totalUsers), 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+        }
+
+        // Payment metrics
+        RevenueRollupService.RollupCounts paymentCounts = revenueRollupService.getPaymentCounts();
+        long completedPayments = paymentCounts.count(null, PaymentStatus.COMPLETED);
+        long pendingPayments = paymentCounts.count(null, PaymentStatus.PENDING);
+        long failedPayments = paymentCounts.count(null, PaymentStatus.FAILED);
+        long refundedPayments = paymentCounts.count(null, PaymentStatus.REFUNDED);
+        long totalPayments = completedPayments + pendingPayments + failedPayments + refundedPayments;
+
+        // Lifetime revenue (Converted to USD)
+        BigDecimal lifetimeRevenue = calculateRevenueForPeriod(LocalDate.of(2020, 1, 1), tomorrow);
+
+        // Deals/Commission metrics (Already converted to USD in DealService)
+        DealStats dealStats = dealService.getDealStats();
+        BigDecimal totalCommission = dealStats.getTotalCommissionRevenue();
+
+        return FinancialSummaryDTO.builder()
+                .currentMonthRevenue(currentMonthRevenue)
+                .previousMonthRevenue(previousMonthRevenue)
+                .revenueGrowthPercent(revenueGrowth)
+                .mrr(mrr)
+                .arr(arr)
+                .totalLifetimeRevenue(lifetimeRevenue)
+                .arpu(arpu)
+                .totalUsers(totalUsers)
+                .freeUsers(freeUsers)
+                .proSubscribers(proSubs)
+                .eliteSubscribers(eliteSubs)
+                .activeSubscriptions(activeSubscriptions)
+                .conversionRate(conversionRate)
+                .churnRate(BigDecimal.ZERO)
+                .totalPayments(totalPayments)
+                .completedPayments(completedPayments)
+                .pendingPayments(pendingPayments)
+                .failedPayments(failedPayments)
+                .refundedPayments(refundedPayments)
+                .totalCommissionRevenue(totalCommission != null ? totalCommission : BigDecimal.ZERO)
+                .totalDeals(dealStats.getTotalDeals())
+                .completedDeals(dealStats.getCompletedDeals())
+                .build();
+    }
+
+    // ==================== Currency Conversion ====================
+
+    /**
+     * Current rate table; replaced (never mutated) when rates change.
+     */
+    public Map<String, BigDecimal> getUsdRates() {
+        return usdRates;
+    }
+
+    /**
+     * Completed payment revenue of the days in [from, to).
+     */
+    public BigDecimal calculateRevenueForPeriod(LocalDate from, LocalDate to) {
+        return sumInUSD(revenueRollupService.getRevenueByCurrency(from, to));
+    }
+
+    public BigDecimal calculateMRR() {
+        return sumInUSD(revenueRollupService.getActiveSubscriptionAmountByCurrency(null));
+    }
+
+    public BigDecimal calculateMRRByPlan(SubscriptionPlan plan) {
+        return sumInUSD(revenueRollupService.getActiveSubscriptionAmountByCurrency(plan));
+    }
+
+    /**
+     * Sum (currency, amount) rows in USD.
+     */
+    private BigDecimal sumInUSD(List<Object[]> results) {
+        BigDecimal totalUSD = BigDecimal.ZERO;
+        for (Object[] row : results) {
+            String currency = (String) row[0];
+            BigDecimal amount = (BigDecimal) row[1];
+            totalUSD = totalUSD.add(convertToUSD(amount, currency));
+        }
+        return totalUSD;
+    }
+
+    public BigDecimal convertToUSD(BigDecimal amount, String currency) {
+        if (amount == null)
+            return BigDecimal.ZERO;
+        if (currency == null || "USD".equalsIgnoreCase(currency)) {
+            return amount;
+        }
+
+        BigDecimal rate = usdRates.get(currency.toLowerCase());
+        if (rate != null) {
+            // Rate format: 1 USD = X Currency => USD Amount = Currency Amount / Rate
+            return amount.divide(rate, 2, RoundingMode.HALF_UP);
+        }
+        return amount;
+    }
+}
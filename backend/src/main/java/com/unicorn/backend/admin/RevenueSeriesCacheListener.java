@@ -0,0 +1,30 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.payment.Payment;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached revenue buckets when a payment in them is written, so late
+ * payments and status changes in closed periods show up. Eviction happens
+ * again after commit so a concurrent request cannot re-cache the old total.
+ */
+@Component
+public class RevenueSeriesCacheListener {
+
+    private final RevenueSeriesService revenueSeriesService;
+
+    public RevenueSeriesCacheListener(@Lazy RevenueSeriesService revenueSeriesService) {
+        this.revenueSeriesService = revenueSeriesService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onPaymentChanged(Payment payment) {
+        revenueSeriesService.invalidateAfterCommit(payment.getTimestamp());
+    }
+}
@@ -0,0 +1,21 @@
+package com.unicorn.backend.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one bucket of a revenue time series (USD).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueSeriesPointDTO {
+    private LocalDate periodStart;
+    private BigDecimal revenue;
+}
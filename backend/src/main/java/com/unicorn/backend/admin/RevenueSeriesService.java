@@ -0,0 +1,191 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.appconfig.ConfigChangeBus;
+import com.unicorn.backend.payment.RevenueRollupService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Completed-payment revenue in USD bucketed by day, week or month.
+ * A range is computed from the daily revenue rollups in one query. Buckets
+ * that have ended are cached, so repeated requests only query the current
+ * bucket. The cache is dropped when exchange rates change, and per bucket
+ * when a payment in a closed bucket is written (see RevenueSeriesCacheListener);
+ * evictions are sent to the other nodes over the ConfigChangeBus, and the TTL
+ * bounds staleness when the bus is not connected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevenueSeriesService {
+
+    private final RevenueRollupService revenueRollupService;
+    private final FinancialMetricsService financialMetricsService;
+    private final ConfigChangeBus configChangeBus;
+
+    private static final String CACHE_NAME = "revenue-series";
+
+    @Value("${admin.revenue.max-points:1000}")
+    private int maxPoints;
+
+    @Value("${admin.revenue.closed-bucket-ttl-ms:3600000}")
+    private long closedBucketTtlMs;
+
+    private record CachedBucket(BigDecimal revenue, long expiresAt) {
+    }
+
+    private final Map<RevenueGranularity, Map<LocalDate, CachedBucket>> closedBuckets = new EnumMap<>(
+            RevenueGranularity.class);
+
+    /**
+     * Bumped on every eviction; buckets loaded by a query that raced with an
+     * eviction are not cached.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Rate table the cached buckets were converted with.
+     */
+    private volatile Map<String, BigDecimal> cachedRates;
+
+    @PostConstruct
+    public void init() {
+        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+            closedBuckets.put(granularity, new ConcurrentHashMap<>());
+        }
+        configChangeBus.subscribeInvalidations(CACHE_NAME, key -> {
+            if (key == null) {
+                evictAll();
+            } else {
+                evict(LocalDate.parse(key));
+            }
+        });
+    }
+
+    /**
+     * Revenue of every bucket overlapping [from, to], oldest first, with zero
+     * for buckets without payments.
+     */
+    public List<RevenueSeriesPointDTO> getSeries(LocalDate from, LocalDate to, RevenueGranularity granularity) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        Map<String, BigDecimal> rates = financialMetricsService.getUsdRates();
+        if (rates != cachedRates) {
+            evictAll();
+            cachedRates = rates;
+        }
+
+        List<LocalDate> buckets = new ArrayList<>();
+        for (LocalDate bucket = granularity.truncate(from); !bucket.isAfter(to); bucket = granularity.next(bucket)) {
+            buckets.add(bucket);
+            if (buckets.size() > maxPoints) {
+                throw new IllegalArgumentException("Range exceeds " + maxPoints + " points");
+            }
+        }
+
+        Map<LocalDate, CachedBucket> cache = closedBuckets.get(granularity);
+        LocalDate today = LocalDate.now();
+        long now = System.currentTimeMillis();
+        Map<LocalDate, BigDecimal> cached = new HashMap<>();
+        LocalDate firstMissing = null;
+        for (LocalDate bucket : buckets) {
+            CachedBucket entry = cache.get(bucket);
+            if (entry == null || entry.expiresAt() <= now) {
+                firstMissing = bucket;
+                break;
+            }
+            cached.put(bucket, entry.revenue());
+        }
+
+        long generation = evictions.get();
+        Map<LocalDate, BigDecimal> fresh = firstMissing != null
+                ? query(granularity, firstMissing, granularity.next(buckets.get(buckets.size() - 1)))
+                : Map.of();
+
+        List<RevenueSeriesPointDTO> series = new ArrayList<>(buckets.size());
+        for (LocalDate bucket : buckets) {
+            BigDecimal revenue = cached.get(bucket);
+            if (revenue == null) {
+                revenue = fresh.getOrDefault(bucket, BigDecimal.ZERO);
+                if (!granularity.next(bucket).isAfter(today) && evictions.get() == generation) {
+                    cache.put(bucket, new CachedBucket(revenue, now + closedBucketTtlMs));
+                }
+            }
+            series.add(RevenueSeriesPointDTO.builder().periodStart(bucket).revenue(revenue).build());
+        }
+        return series;
+    }
+
+    /**
+     * USD revenue per bucket for [start, end).
+     */
+    private Map<LocalDate, BigDecimal> query(RevenueGranularity granularity, LocalDate start, LocalDate end) {
+        Map<LocalDate, BigDecimal> revenue = new HashMap<>();
+        for (Object[] row : revenueRollupService.getDailyRevenueByCurrency(start, end)) {
+            LocalDate bucket = granularity.truncate((LocalDate) row[0]);
+            BigDecimal amountUSD = financialMetricsService.convertToUSD((BigDecimal) row[2], (String) row[1]);
+            revenue.merge(bucket, amountUSD, BigDecimal::add);
+        }
+        return revenue;
+    }
+
+    /**
+     * Forget the cached buckets containing a payment time, now and again after
+     * the current transaction commits, on this node and the others.
+     */
+    public void invalidateAfterCommit(LocalDateTime paymentTime) {
+        if (paymentTime == null) {
+            return;
+        }
+        LocalDate date = paymentTime.toLocalDate();
+        evict(date);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(date);
+                    configChangeBus.publishInvalidation(CACHE_NAME, date.toString());
+                }
+            });
+        } else {
+            configChangeBus.publishInvalidation(CACHE_NAME, date.toString());
+        }
+    }
+
+    /**
+     * Forget every cached bucket on every node, after the rollups were rebuilt.
+     */
+    public void invalidateAll() {
+        evictAll();
+        configChangeBus.publishInvalidation(CACHE_NAME, null);
+    }
+
+    private void evict(LocalDate date) {
+        evictions.incrementAndGet();
+        for (RevenueGranularity granularity : RevenueGranularity.values()) {
+            closedBuckets.get(granularity).remove(granularity.truncate(date));
+        }
+    }
+
+    private void evictAll() {
+        evictions.incrementAndGet();
+        closedBuckets.values().forEach(Map::clear);
+    }
+}
@@ -3,6 +3,7 @@ package com.unicorn.backend.admin;
 import com.unicorn.backend.jwt.TokenBlacklistService;
 import com.unicorn.backend.security.RefreshToken;
 import com.unicorn.backend.security.RefreshTokenRepository;
+import com.unicorn.backend.security.RefreshTokenService;
 import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 public class SecurityAdminController {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final UserRepository userRepository;
     private final TokenBlacklistService tokenBlacklistService;
 
@@ -61,7 +63,7 @@ public class SecurityAdminController {
         }
 
         // Delete all refresh tokens
-        refreshTokenRepository.deleteByUserId(userId);
+        refreshTokenService.revokeAllSessions(userId);
 
         // Revoke access tokens immediately via Redis
         tokenBlacklistService.revokeUserAccess(userId.toString());
@@ -83,7 +85,7 @@ public class SecurityAdminController {
             throw new RuntimeException("Session does not belong to user");
         }
 
-        refreshTokenRepository.delete(token);
+        refreshTokenService.revokeSession(token);
         return ResponseEntity.ok().build();
     }
 }
@@ -1,19 +1,13 @@
 package com.unicorn.backend.admin;
 
-import com.unicorn.backend.investor.InvestorProfileRepository;
-import com.unicorn.backend.payment.PaymentService;
-import com.unicorn.backend.startup.StartupRepository;
-import com.unicorn.backend.subscription.SubscriptionService;
-import com.unicorn.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.math.BigDecimal;
-
 /**
  * Controller for dashboard statistics.
  */
@@ -23,45 +17,24 @@ import java.math.BigDecimal;
 @RequiredArgsConstructor
 public class StatsController {
 
-    private final UserRepository userRepository;
-    private final StartupRepository startupRepository;
-    private final InvestorProfileRepository investorProfileRepository;
-    private final SubscriptionService subscriptionService;
-    private final PaymentService paymentService;
+    private final DashboardStatsService dashboardStatsService;
 
     /**
-     * Get dashboard statistics.
+     * Get dashboard statistics, from the pre-aggregated snapshot.
      * 
      * GET /api/v1/admin/stats
      */
     @GetMapping("/stats")
     public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
-        // Count users
-        long totalUsers = userRepository.count();
-
-        // Count active startups
-        long activeStartups = startupRepository.countByStatus(
-                com.unicorn.backend.startup.StartupStatus.ACTIVE);
-
-        // Count investors with profiles
-        long activeInvestors = investorProfileRepository.count();
-
-        // Count pending investor verifications
-        long pendingVerifications = investorProfileRepository.countPendingVerifications();
-
-        // Calculate MRR
-        BigDecimal mrr = subscriptionService.calculateMRR();
-
-        // Calculate total funding raised by startups
-        BigDecimal totalFunding = startupRepository.getTotalFundingRaised();
+        DashboardStatsSnapshot snapshot = dashboardStatsService.getSnapshot();
 
         DashboardStatsResponse response = DashboardStatsResponse.builder()
-                .totalUsers(totalUsers)
-                .activeStartups(activeStartups)
-                .activeInvestors(activeInvestors)
-                .pendingVerifications(pendingVerifications)
-                .mrr(mrr != null ? mrr : BigDecimal.ZERO)
-                .totalFunding(totalFunding != null ? totalFunding : BigDecimal.ZERO)
+                .totalUsers(snapshot.getTotalUsers())
+                .activeStartups(snapshot.getActiveStartups())
+                .activeInvestors(snapshot.getInvestorProfiles())
+                .pendingVerifications(snapshot.getPendingVerifications())
+                .mrr(snapshot.getSubscriptionMrr())
+                .totalFunding(snapshot.getTotalRaised())
                 // TODO: Calculate growth percentages based on historical data
                 .userGrowth(12.5)
                 .startupGrowth(8.3)
@@ -71,4 +44,26 @@ public class StatsController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Get every dashboard card from the pre-aggregated snapshot, with the time
+     * it was computed.
+     *
+     * GET /api/v1/admin/stats/snapshot
+     */
+    @GetMapping("/stats/snapshot")
+    public ResponseEntity<DashboardStatsSnapshot> getStatsSnapshot() {
+        return ResponseEntity.ok(dashboardStatsService.getSnapshot());
+    }
+
+    /**
+     * Recompute the snapshot now instead of waiting for the next refresh.
+     *
+     * POST /api/v1/admin/stats/refresh
+     */
+    @PostMapping("/stats/refresh")
+    public ResponseEntity<DashboardStatsSnapshot> refreshStats() {
+        dashboardStatsService.refresh();
+        return ResponseEntity.ok(dashboardStatsService.getSnapshot());
+    }
 }
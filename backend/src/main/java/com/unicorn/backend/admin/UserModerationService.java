@@ -2,7 +2,7 @@ package com.unicorn.backend.admin;
 
 import com.unicorn.backend.payment.Payment;
 import com.unicorn.backend.payment.PaymentRepository;
-import com.unicorn.backend.security.RefreshTokenRepository;
+import com.unicorn.backend.security.RefreshTokenService;
 import com.unicorn.backend.subscription.Subscription;
 import com.unicorn.backend.subscription.SubscriptionRepository;
 import com.unicorn.backend.user.*;
@@ -27,7 +27,7 @@ public class UserModerationService {
 
         private final UserRepository userRepository;
         private final UserModerationLogRepository moderationLogRepository;
-        private final RefreshTokenRepository refreshTokenRepository;
+        private final RefreshTokenService refreshTokenService;
         private final SubscriptionRepository subscriptionRepository;
         private final PaymentRepository paymentRepository;
         private final TokenBlacklistService tokenBlacklistService;
@@ -59,9 +59,8 @@ public class UserModerationService {
                 List<Payment> recentPayments = paymentRepository.findTop10ByUserIdOrderByTimestampDesc(userId);
 
                 // Check for active sessions
-                boolean hasActiveSession = refreshTokenRepository.findByUserId(userId)
-                                .stream()
-                                .anyMatch(token -> token.getExpiryDate().isAfter(java.time.Instant.now()));
+                boolean hasActiveSession = user.getLastActiveSessionExpiry() != null
+                                && user.getLastActiveSessionExpiry().isAfter(java.time.Instant.now());
 
                 return UserDetailResponse.fromEntity(
                                 user,
@@ -129,7 +128,7 @@ public class UserModerationService {
                 userRepository.save(user);
 
                 // Revoke all access
-                refreshTokenRepository.deleteByUserId(userId);
+                refreshTokenService.revokeAllSessions(userId);
                 tokenBlacklistService.revokeUserAccess(userId.toString());
 
                 // Create moderation log
@@ -276,7 +275,7 @@ public class UserModerationService {
                 userRepository.save(user);
 
                 // Revoke all access
-                refreshTokenRepository.deleteByUserId(userId);
+                refreshTokenService.revokeAllSessions(userId);
                 tokenBlacklistService.revokeUserAccess(userId.toString());
 
                 // Create deletion log
@@ -353,7 +352,7 @@ public class UserModerationService {
                 }
 
                 // Delete refresh tokens first (foreign key constraint)
-                refreshTokenRepository.deleteByUserId(userId);
+                refreshTokenService.revokeAllSessions(userId);
                 tokenBlacklistService.revokeUserAccess(userId.toString());
 
                 // Delete all moderation logs for this user
@@ -430,7 +429,7 @@ public class UserModerationService {
 
                 // Revoke access if not ACTIVE
                 if (!"ACTIVE".equals(newStatus)) {
-                        refreshTokenRepository.deleteByUserId(userId);
+                        refreshTokenService.revokeAllSessions(userId);
                         tokenBlacklistService.revokeUserAccess(userId.toString());
                 }
 
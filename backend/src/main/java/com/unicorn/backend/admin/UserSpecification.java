@@ -23,13 +23,11 @@ public class UserSpecification {
 
             // Global Query Search
             if (filter.getGlobalQuery() != null && !filter.getGlobalQuery().trim().isEmpty()) {
+                // Same expression as the trigram index (see UserSearchService)
                 String q = "%" + filter.getGlobalQuery().trim().toLowerCase() + "%";
-                Predicate searchPredicate = criteriaBuilder.or(
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), q),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("username")), q),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")), q),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")), q));
-                predicates.add(searchPredicate);
+                Expression<String> document = criteriaBuilder.function("user_search_document", String.class,
+                        root.get("email"), root.get("username"), root.get("firstName"), root.get("lastName"));
+                predicates.add(criteriaBuilder.like(document, q));
             }
 
             // Text Filters
@@ -173,22 +171,18 @@ public class UserSpecification {
 
             // Active Session Filter
             if (filter.getHasActiveSession() != null) {
-                Subquery<Long> sub = query.subquery(Long.class);
-                Root<com.unicorn.backend.security.RefreshToken> subRoot = sub
-                        .from(com.unicorn.backend.security.RefreshToken.class);
-                sub.select(criteriaBuilder.count(subRoot));
-                sub.where(criteriaBuilder.equal(subRoot.get("user"), root),
-                        criteriaBuilder.greaterThan(subRoot.get("expiryDate"), java.time.Instant.now()));
-
-                Predicate activeSession = criteriaBuilder.greaterThan(sub, 0L);
+                Path<java.time.Instant> sessionExpiry = root.get("lastActiveSessionExpiry");
+                java.time.Instant now = java.time.Instant.now();
+                Predicate activeSession = criteriaBuilder.greaterThan(sessionExpiry, now);
 
                 if (filter.getHasActiveSession()) {
                     predicates.add(applyNegation(criteriaBuilder, activeSession, filter.getHasActiveSessionNegate()));
                 } else {
                     // Start of logic for "Does NOT have active session"
-                    // If filter is false -> we want users with NO active session (count = 0)
+                    // If filter is false -> we want users with NO active session (no or expired tokens)
                     // If negate is true -> we want users WITH active session
-                    Predicate noSession = criteriaBuilder.equal(sub, 0L);
+                    Predicate noSession = criteriaBuilder.or(criteriaBuilder.isNull(sessionExpiry),
+                            criteriaBuilder.lessThanOrEqualTo(sessionExpiry, now));
                     predicates.add(applyNegation(criteriaBuilder, noSession, filter.getHasActiveSessionNegate()));
                 }
             }
@@ -2,19 +2,23 @@ package com.unicorn.backend.appconfig;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Service for managing application configuration.
- * Uses in-memory caching with TTL to reduce database reads.
+ * Serves reads from an immutable, pre-parsed snapshot that is swapped
+ * atomically on writes and refreshed in the background.
  */
 @Slf4j
 @Service
@@ -22,65 +26,146 @@ import java.util.concurrent.ConcurrentHashMap;
 public class AppConfigService {
 
     private final AppConfigRepository configRepository;
+    private final ConfigChangeBus configChangeBus;
 
-    // ==================== Config Cache ====================
+    // ==================== Config Snapshot ====================
 
     /**
-     * In-memory cache for config values.
-     * Key: config key, Value: cached value
+     * Current immutable config snapshot, swapped atomically on change.
      */
-    private final Map<String, String> configCache = new ConcurrentHashMap<>();
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
+
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Load all configs and publish a new snapshot.
+     */
+    private void reload() {
+        Map<String, String> values = new HashMap<>();
+        configRepository.findAll().forEach(config -> values.put(config.getKey(), config.getValue()));
+        publish(new ConfigSnapshot(values));
+        log.debug("Config snapshot loaded with {} entries", values.size());
+    }
+
+    /**
+     * Full refresh interval while the change bus is connected (safety net for
+     * direct database edits).
+     */
+    @Value("${app.config.refresh.interval:300000}")
+    private long refreshIntervalMs;
+
+    private volatile long lastRefreshAt = System.currentTimeMillis();
+
+    /**
+     * Background refresh so no request ever pays for findAll().
+     * Runs every poll interval while the change bus is down, otherwise only
+     * every refresh interval.
+     */
+    @Scheduled(fixedDelayString = "${app.config.poll.interval:30000}", initialDelayString = "${app.config.poll.interval:30000}")
+    public void pollForChanges() {
+        if (configChangeBus.isConnected() && System.currentTimeMillis() - lastRefreshAt < refreshIntervalMs) {
+            return;
+        }
+        refresh();
+    }
 
     /**
-     * Cache timestamp for TTL validation.
+     * Reload all configs, publishing a new snapshot only if something changed.
      */
-    private volatile LocalDateTime cacheLoadedAt = null;
+    public void refresh() {
+        try {
+            Map<String, String> values = new HashMap<>();
+            configRepository.findAll().forEach(config -> values.put(config.getKey(), config.getValue()));
+            lastRefreshAt = System.currentTimeMillis();
+            if (!values.equals(snapshot.asMap())) {
+                publish(new ConfigSnapshot(values));
+                log.info("Config snapshot refreshed with {} entries", values.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh config snapshot, keeping current values: {}", e.getMessage());
+        }
+    }
+
+    // ==================== Cross-Node Changes ====================
 
     /**
-     * Cache TTL in minutes.
+     * Apply a change published by another node.
+     * A version gap means events were missed, so the full config is reloaded.
      */
-    private static final int CACHE_TTL_MINUTES = 5;
+    private void applyRemoteChange(ConfigChangeEvent event) {
+        int localVersion = snapshot.getInt("config_version", 1);
+        if (event.version() > localVersion + 1) {
+            log.info("Config version gap ({} -> {}), reloading", localVersion, event.version());
+            refresh();
+            return;
+        }
+        synchronized (this) {
+            publish(snapshot.with(event.key(), event.value()));
+        }
+        log.debug("Applied remote config change '{}' (version {})", event.key(), event.version());
+    }
 
     /**
-     * Load all configs into cache.
+     * Reconcile with the database after (re)connecting to the change bus,
+     * since changes may have been missed while disconnected.
      */
-    private void loadCache() {
-        Map<String, String> newCache = new HashMap<>();
-        configRepository.findAll().forEach(config -> newCache.put(config.getKey(), config.getValue()));
-        configCache.clear();
-        configCache.putAll(newCache);
-        cacheLoadedAt = LocalDateTime.now();
-        log.debug("Config cache loaded with {} entries", configCache.size());
+    private void reconcile() {
+        // Exchange rates do not bump the version, so compare the full set
+        refresh();
     }
 
     /**
-     * Check if cache needs refresh.
+     * Swap in a new snapshot and notify listeners.
      */
-    private boolean isCacheStale() {
-        if (cacheLoadedAt == null || configCache.isEmpty()) {
-            return true;
+    private synchronized void publish(ConfigSnapshot next) {
+        snapshot = next;
+        for (ConfigChangeListener listener : listeners) {
+            try {
+                listener.onConfigChanged(next);
+            } catch (Exception e) {
+                log.error("Config listener {} failed: {}", listener, e.getMessage());
+            }
         }
-        return LocalDateTime.now().isAfter(cacheLoadedAt.plusMinutes(CACHE_TTL_MINUTES));
     }
 
     /**
-     * Ensure cache is fresh.
+     * Apply a single changed value to the local snapshot once the write commits
+     * and broadcast it to the other nodes.
      */
-    private void ensureCacheFresh() {
-        if (isCacheStale()) {
+    private void publishChange(String key, String value) {
+        Runnable apply = () -> {
+            int version;
             synchronized (this) {
-                if (isCacheStale()) {
-                    loadCache();
-                }
+                publish(snapshot.with(key, value));
+                version = snapshot.getInt("config_version", 1);
             }
+            configChangeBus.publish(key, value, version);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
         }
     }
 
     /**
-     * Invalidate the cache (called after updates).
+     * Register a listener. It is invoked immediately with the current snapshot.
+     */
+    public synchronized void addListener(ConfigChangeListener listener) {
+        listeners.add(listener);
+        listener.onConfigChanged(snapshot);
+    }
+
+    /**
+     * Current config snapshot.
      */
-    private void invalidateCache() {
-        cacheLoadedAt = null;
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     // ==================== Public Methods ====================
@@ -89,49 +174,42 @@ public class AppConfigService {
      * Get a config value by key (CACHED).
      */
     public Optional<String> getValue(String key) {
-        ensureCacheFresh();
-        return Optional.ofNullable(configCache.get(key));
+        return Optional.ofNullable(snapshot.getString(key));
     }
 
     /**
      * Get a config value with default fallback (CACHED).
      */
     public String getValue(String key, String defaultValue) {
-        return getValue(key).orElse(defaultValue);
+        return snapshot.getString(key, defaultValue);
     }
 
     /**
      * Get a numeric config value (CACHED).
      */
     public int getIntValue(String key, int defaultValue) {
-        return getValue(key).map(v -> {
-            try {
-                return Integer.parseInt(v);
-            } catch (NumberFormatException e) {
-                return defaultValue;
-            }
-        }).orElse(defaultValue);
+        return snapshot.getInt(key, defaultValue);
     }
 
     /**
      * Get a double config value (CACHED).
      */
     public double getDoubleValue(String key, double defaultValue) {
-        return getValue(key).map(v -> {
-            try {
-                return Double.parseDouble(v);
-            } catch (NumberFormatException e) {
-                return defaultValue;
-            }
-        }).orElse(defaultValue);
+        return snapshot.getDouble(key, defaultValue);
+    }
+
+    /**
+     * Get a boolean config value (CACHED).
+     */
+    public boolean getBooleanValue(String key, boolean defaultValue) {
+        return snapshot.getBoolean(key, defaultValue);
     }
 
     /**
      * Get all configs as a map (CACHED).
      */
     public Map<String, String> getAllAsMap() {
-        ensureCacheFresh();
-        return new HashMap<>(configCache);
+        return new HashMap<>(snapshot.asMap());
     }
 
     /**
@@ -159,22 +237,26 @@ public class AppConfigService {
         return configRepository.findByCategory(category);
     }
 
-    private volatile boolean cachedMaintenanceMode = false;
-
     @jakarta.annotation.PostConstruct
     public void init() {
-        // Initialize cache
-        cachedMaintenanceMode = Boolean.parseBoolean(getValue("maintenance_mode", "false"));
-    }
+        // Initial load happens once at startup; afterwards snapshots are swapped
+        reload();
 
-    public boolean isMaintenanceModeEnabled() {
-        return cachedMaintenanceMode;
+        configChangeBus.subscribe(new ConfigChangeBus.Subscriber() {
+            @Override
+            public void onChange(ConfigChangeEvent event) {
+                applyRemoteChange(event);
+            }
+
+            @Override
+            public void onConnected() {
+                reconcile();
+            }
+        });
     }
 
-    private void updateCachedMaintenanceMode(String key, String value) {
-        if ("maintenance_mode".equals(key)) {
-            cachedMaintenanceMode = Boolean.parseBoolean(value);
-        }
+    public boolean isMaintenanceModeEnabled() {
+        return snapshot.isMaintenanceMode();
     }
 
     /**
@@ -186,8 +268,6 @@ public class AppConfigService {
                 .orElseThrow(() -> new RuntimeException("Config not found: " + key));
         config.setValue(value);
 
-        updateCachedMaintenanceMode(key, value);
-
         // Auto-increment version when a config is updated,
         // UNLESS it's an exchange rate (dashboard only)
         if (!key.startsWith("rate_")) {
@@ -195,7 +275,7 @@ public class AppConfigService {
         }
 
         AppConfig saved = configRepository.save(config);
-        invalidateCache();
+        publishChange(key, value);
         return saved;
     }
 
@@ -215,10 +295,8 @@ public class AppConfigService {
         if (valueType != null)
             config.setValueType(valueType);
 
-        updateCachedMaintenanceMode(key, value);
-
         AppConfig saved = configRepository.save(config);
-        invalidateCache();
+        publishChange(key, value);
         return saved;
     }
 
@@ -244,6 +322,7 @@ public class AppConfigService {
                         .build());
         versionConfig.setValue(String.valueOf(currentVersion + 1));
         configRepository.save(versionConfig);
+        publishChange("config_version", versionConfig.getValue());
     }
 
     /**
@@ -300,6 +379,10 @@ public class AppConfigService {
         // Note: Android subscription product IDs are NOT stored here.
         // Mobile app gets product details directly from Google Play BillingClient.
 
+        // Notification retention (per type: notification.retention.<TYPE>.days)
+        upsertIfNotExists("notification.retention.default.days", "30",
+                "Days read notifications are kept (0 = forever)", "notifications", "NUMBER");
+
         // Feed Algorithm Configuration
         upsertIfNotExists("feed.decay.gravity", "1.5", "Time decay exponent (higher = faster decay)", "feed", "NUMBER");
         upsertIfNotExists("feed.like.points", "1", "Points per like", "feed", "NUMBER");
@@ -313,8 +396,8 @@ public class AppConfigService {
                 "NUMBER");
         upsertIfNotExists("feed.base.freshness", "10", "Base freshness score for new posts", "feed", "NUMBER");
 
-        // Ensure cache is synced after defaults
-        init();
+        // Ensure snapshot is synced after defaults
+        reload();
     }
 
     private void upsertIfNotExists(String key, String value, String description, String category, String valueType) {
@@ -0,0 +1,11 @@
+package com.unicorn.backend.appconfig;
+
+/**
+ * A node-local cache invalidation broadcast to other nodes.
+ *
+ * @param cache  Name of the cache
+ * @param key    Stale key, or null for the whole cache
+ * @param origin Id of the publishing node (used to skip its own events)
+ */
+public record CacheInvalidationEvent(String cache, String key, String origin) {
+}
@@ -0,0 +1,57 @@
+package com.unicorn.backend.appconfig;
+
+import java.util.function.Consumer;
+
+/**
+ * Interface for propagating config changes between backend nodes.
+ * When the bus is not connected, AppConfigService falls back to polling.
+ *
+ * The bus also carries invalidations of node-local caches, so a write on
+ * one node evicts the copies held by the others.
+ */
+public interface ConfigChangeBus {
+
+    /**
+     * Callbacks for changes made on other nodes.
+     */
+    interface Subscriber {
+
+        /**
+         * A change published by another node.
+         */
+        void onChange(ConfigChangeEvent event);
+
+        /**
+         * The bus (re)connected; changes may have been missed while it was down.
+         */
+        void onConnected();
+    }
+
+    /**
+     * Broadcast a committed change to the other nodes.
+     */
+    void publish(String key, String value, int version);
+
+    /**
+     * Register the subscriber that applies remote changes.
+     */
+    void subscribe(Subscriber subscriber);
+
+    /**
+     * Whether changes from other nodes are currently being received.
+     */
+    boolean isConnected();
+
+    /**
+     * Tell the other nodes that a key of a node-local cache is stale (null
+     * key: the whole cache).
+     */
+    void publishInvalidation(String cache, String key);
+
+    /**
+     * Register a handler for invalidations of one cache published by other
+     * nodes. The handler receives null when the bus reconnects, since
+     * invalidations may have been missed while it was down.
+     */
+    void subscribeInvalidations(String cache, Consumer<String> handler);
+}
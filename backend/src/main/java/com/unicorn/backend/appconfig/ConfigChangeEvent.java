@@ -0,0 +1,12 @@
+package com.unicorn.backend.appconfig;
+
+/**
+ * A config change broadcast to other nodes.
+ *
+ * @param key     Changed config key
+ * @param value   New value
+ * @param version config_version of the publishing node after the change
+ * @param origin  Id of the publishing node (used to skip its own events)
+ */
+public record ConfigChangeEvent(String key, String value, int version, String origin) {
+}
@@ -0,0 +1,12 @@
+package com.unicorn.backend.appconfig;
+
+/**
+ * Callback for services that keep pre-resolved config values.
+ * Invoked once on registration and again every time a new snapshot is
+ * published, on the thread that published it.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    void onConfigChanged(ConfigSnapshot snapshot);
+}
@@ -0,0 +1,149 @@
+package com.unicorn.backend.appconfig;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, pre-parsed view of all config values.
+ * Values are parsed once when the snapshot is built, so lookups are a single
+ * map read with no string parsing or Optional allocation. AppConfigService
+ * swaps snapshots atomically whenever config changes.
+ */
+public final class ConfigSnapshot {
+
+    public static final ConfigSnapshot EMPTY = new ConfigSnapshot(Map.of());
+
+    /**
+     * A config value with its typed forms (null where the value does not parse).
+     */
+    private static final class Value {
+        final String raw;
+        final Integer intValue;
+        final Double doubleValue;
+        final BigDecimal decimalValue;
+        final Boolean booleanValue;
+
+        Value(String raw) {
+            this.raw = raw;
+            this.intValue = parseInt(raw);
+            this.doubleValue = parseDouble(raw);
+            this.decimalValue = parseDecimal(raw);
+            this.booleanValue = parseBoolean(raw);
+        }
+    }
+
+    private final Map<String, String> rawValues;
+    private final Map<String, Value> values;
+    private final boolean maintenanceMode;
+
+    public ConfigSnapshot(Map<String, String> rawValues) {
+        Map<String, String> raw = new HashMap<>(rawValues);
+        Map<String, Value> parsed = new HashMap<>(raw.size() * 2);
+        raw.forEach((key, value) -> {
+            if (value != null) {
+                parsed.put(key, new Value(value));
+            }
+        });
+        this.rawValues = Collections.unmodifiableMap(raw);
+        this.values = parsed;
+        this.maintenanceMode = getBoolean("maintenance_mode", false);
+    }
+
+    /**
+     * Copy of this snapshot with one value changed.
+     */
+    public ConfigSnapshot with(String key, String value) {
+        Map<String, String> raw = new HashMap<>(rawValues);
+        raw.put(key, value);
+        return new ConfigSnapshot(raw);
+    }
+
+    // ==================== Lookups ====================
+
+    public String getString(String key) {
+        Value value = values.get(key);
+        return value != null ? value.raw : null;
+    }
+
+    public String getString(String key, String defaultValue) {
+        Value value = values.get(key);
+        return value != null ? value.raw : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Value value = values.get(key);
+        return value != null && value.intValue != null ? value.intValue : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Value value = values.get(key);
+        return value != null && value.doubleValue != null ? value.doubleValue : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Value value = values.get(key);
+        return value != null && value.booleanValue != null ? value.booleanValue : defaultValue;
+    }
+
+    /**
+     * Decimal value, or null if missing or not numeric.
+     */
+    public BigDecimal getDecimal(String key) {
+        Value value = values.get(key);
+        return value != null ? value.decimalValue : null;
+    }
+
+    public boolean isMaintenanceMode() {
+        return maintenanceMode;
+    }
+
+    /**
+     * All raw values (unmodifiable).
+     */
+    public Map<String, String> asMap() {
+        return rawValues;
+    }
+
+    public int size() {
+        return rawValues.size();
+    }
+
+    // ==================== Parsing ====================
+
+    private static Integer parseInt(String raw) {
+        try {
+            return Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(String raw) {
+        try {
+            return Double.parseDouble(raw.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal parseDecimal(String raw) {
+        try {
+            return new BigDecimal(raw.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Boolean parseBoolean(String raw) {
+        String value = raw.trim();
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.unicorn.backend.appconfig;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * Single-node implementation of ConfigChangeBus (default, app.config.bus=local).
+ * Nothing is broadcast; other nodes, if any, pick changes up by polling and
+ * their caches by expiry or periodic rebuild.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.config.bus", havingValue = "local", matchIfMissing = true)
+public class LocalConfigChangeBus implements ConfigChangeBus {
+
+    @Override
+    public void publish(String key, String value, int version) {
+        log.debug("Local config bus: change of '{}' stays on this node", key);
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        // No remote changes to deliver
+    }
+
+    @Override
+    public boolean isConnected() {
+        return false;
+    }
+
+    @Override
+    public void publishInvalidation(String cache, String key) {
+        // Single node: the caller already evicted its own copy
+    }
+
+    @Override
+    public void subscribeInvalidations(String cache, Consumer<String> handler) {
+        // No remote invalidations to deliver
+    }
+}
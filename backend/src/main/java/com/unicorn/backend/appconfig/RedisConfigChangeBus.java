@@ -0,0 +1,119 @@
+package com.unicorn.backend.appconfig;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.backend.config.RedisSubscriber;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub implementation of ConfigChangeBus (app.config.bus=redis).
+ * Subscriptions and connection health go through RedisSubscriber; while
+ * Redis is unreachable the bus reports disconnected and AppConfigService
+ * polls the database instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.config.bus", havingValue = "redis")
+public class RedisConfigChangeBus implements ConfigChangeBus {
+
+    private static final String CHANNEL = "unicorn:config:changes";
+    private static final String INVALIDATION_CHANNEL = "unicorn:cache:invalidations";
+
+    private final RedisSubscriber redisSubscriber;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Identifies this node so it ignores its own broadcasts.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Subscriber subscriber;
+    private final Map<String, List<Consumer<String>>> invalidationHandlers = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String key, String value, int version) {
+        try {
+            String payload = objectMapper.writeValueAsString(new ConfigChangeEvent(key, value, version, nodeId));
+            redisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (Exception e) {
+            redisSubscriber.markDisconnected();
+            log.warn("Failed to publish config change '{}', other nodes will pick it up by polling: {}",
+                    key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        this.subscriber = subscriber;
+        redisSubscriber.subscribe(CHANNEL, this::handle, () -> {
+            subscriber.onConnected();
+            return true;
+        });
+    }
+
+    @Override
+    public void publishInvalidation(String cache, String key) {
+        try {
+            String payload = objectMapper.writeValueAsString(new CacheInvalidationEvent(cache, key, nodeId));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, payload);
+        } catch (Exception e) {
+            redisSubscriber.markDisconnected();
+            log.warn("Failed to publish invalidation of cache '{}', other nodes rely on expiry: {}",
+                    cache, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void subscribeInvalidations(String cache, Consumer<String> handler) {
+        boolean first = invalidationHandlers.isEmpty();
+        invalidationHandlers.computeIfAbsent(cache, name -> new CopyOnWriteArrayList<>()).add(handler);
+        if (first) {
+            // Invalidations published while disconnected were lost
+            redisSubscriber.subscribe(INVALIDATION_CHANNEL, this::handleInvalidation, () -> {
+                invalidationHandlers.values().forEach(handlers -> handlers.forEach(h -> h.accept(null)));
+                return true;
+            });
+        }
+    }
+
+    private void handle(String body) {
+        try {
+            ConfigChangeEvent event = objectMapper.readValue(body, ConfigChangeEvent.class);
+            if (nodeId.equals(event.origin()) || subscriber == null) {
+                return;
+            }
+            subscriber.onChange(event);
+        } catch (Exception e) {
+            log.error("Failed to apply config change event: {}", e.getMessage());
+        }
+    }
+
+    private void handleInvalidation(String body) {
+        try {
+            CacheInvalidationEvent event = objectMapper.readValue(body, CacheInvalidationEvent.class);
+            if (nodeId.equals(event.origin())) {
+                return;
+            }
+            invalidationHandlers.getOrDefault(event.cache(), List.of()).forEach(handler -> handler.accept(event.key()));
+        } catch (Exception e) {
+            log.error("Failed to apply cache invalidation event: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return redisSubscriber.isConnected();
+    }
+}
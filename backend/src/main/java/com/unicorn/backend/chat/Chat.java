@@ -29,7 +29,9 @@ import java.util.UUID;
         @Index(name = "idx_chat_investor", columnList = "investor_id"),
         @Index(name = "idx_chat_startup", columnList = "startup_id"),
         @Index(name = "idx_chat_status", columnList = "status"),
-        @Index(name = "idx_chat_last_message", columnList = "last_message_at")
+        @Index(name = "idx_chat_last_message", columnList = "last_message_at"),
+        @Index(name = "idx_chat_investor_last_message", columnList = "investor_id, last_message_at, id"),
+        @Index(name = "idx_chat_startup_last_message", columnList = "startup_id, last_message_at, id")
 })
 public class Chat {
 
@@ -65,11 +67,31 @@ public class Chat {
     @Column(name = "last_message_at")
     private LocalDateTime lastMessageAt;
 
+    /**
+     * Unread messages per participant side. Changed only through atomic
+     * UPDATEs in ChatRepository, so the entity never writes them back.
+     */
+    @Column(name = "investor_unread_count", updatable = false)
+    @Builder.Default
+    private Long investorUnreadCount = 0L;
+
+    @Column(name = "startup_unread_count", updatable = false)
+    @Builder.Default
+    private Long startupUnreadCount = 0L;
+
     @OneToMany(mappedBy = "chat", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     @lombok.ToString.Exclude
     private List<ChatMessage> messages = new ArrayList<>();
 
+    /**
+     * Unread count for a participant (the investor, otherwise the startup side).
+     */
+    public long getUnreadCountFor(User user) {
+        Long count = investor.getId().equals(user.getId()) ? investorUnreadCount : startupUnreadCount;
+        return count != null ? count : 0;
+    }
+
     @Override
     public String toString() {
         return "Chat(id=" + id + ")";
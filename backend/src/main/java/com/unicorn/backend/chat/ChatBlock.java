@@ -25,6 +25,7 @@ import java.util.UUID;
                 @Index(name = "idx_block_blocker", columnList = "blocker_id"),
                 @Index(name = "idx_block_blocked", columnList = "blocked_id")
         })
+@EntityListeners(ChatPermissionCacheListener.class)
 public class ChatBlock {
 
     @Id
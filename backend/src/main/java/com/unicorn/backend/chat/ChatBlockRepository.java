@@ -2,6 +2,8 @@ package com.unicorn.backend.chat;
 
 import com.unicorn.backend.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -33,4 +35,11 @@ public interface ChatBlockRepository extends JpaRepository<ChatBlock, UUID> {
      * Find all blocks involving a user (either as blocker or blocked).
      */
     List<ChatBlock> findByBlockerOrBlocked(User user1, User user2);
+
+    /**
+     * Ids of the users a user has blocked or is blocked by.
+     */
+    @Query("SELECT CASE WHEN b.blocker.id = :userId THEN b.blocked.id ELSE b.blocker.id END " +
+            "FROM ChatBlock b WHERE b.blocker.id = :userId OR b.blocked.id = :userId")
+    List<UUID> findBlockRelationUserIds(@Param("userId") UUID userId);
 }
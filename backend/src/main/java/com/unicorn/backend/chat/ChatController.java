@@ -9,7 +9,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,7 +25,6 @@ import java.util.stream.Collectors;
 public class ChatController {
 
     private final ChatService chatService;
-    private final ChatMessageRepository chatMessageRepository;
 
     /**
      * Start a new chat (Investor → Startup).
@@ -34,7 +35,7 @@ public class ChatController {
             @Valid @RequestBody StartChatRequest request,
             @AuthenticationPrincipal User user) {
         Chat chat = chatService.startChat(user, request.startupId());
-        long unreadCount = chatMessageRepository.countUnreadMessages(chat, user);
+        long unreadCount = chat.getUnreadCountFor(user);
         ChatResponse response = ChatResponse.fromEntity(chat, unreadCount);
         return ResponseEntity.ok(response);
     }
@@ -65,7 +66,7 @@ public class ChatController {
             @PathVariable UUID id,
             @AuthenticationPrincipal User user) {
         Chat chat = chatService.acceptChatRequest(id, user);
-        long unreadCount = chatMessageRepository.countUnreadMessages(chat, user);
+        long unreadCount = chat.getUnreadCountFor(user);
         ChatResponse response = ChatResponse.fromEntity(chat, unreadCount);
         return ResponseEntity.ok(response);
     }
@@ -103,14 +104,31 @@ public class ChatController {
     @GetMapping
     public ResponseEntity<List<ChatResponse>> getChatList(
             @AuthenticationPrincipal User user) {
-        List<Chat> chats = chatService.getChatList(user);
-        List<ChatResponse> responses = chats.stream()
-                .map(chat -> {
-                    long unreadCount = chatMessageRepository.countUnreadMessages(chat, user);
-                    return ChatResponse.fromEntity(chat, unreadCount);
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(chatService.getChatListResponses(user));
+    }
+
+    /**
+     * Get the inbox with counterpart, last message preview and unread count
+     * per chat, keyset-paginated.
+     * GET /api/chats/inbox?before=2026-01-31T10:15:30.123456,{chatId}&size=30
+     * Pass the returned nextCursor as "before" to load older conversations.
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<Map<String, Object>> getInbox(
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "30") int size,
+            @AuthenticationPrincipal User user) {
+        InboxCursor cursor = before != null && !before.isBlank() ? InboxCursor.parse(before) : null;
+        int pageSize = Math.max(1, Math.min(size, ChatService.MAX_INBOX_PAGE_SIZE));
+        List<ChatInboxItem> chats = chatService.getInbox(user, cursor, pageSize);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", chats);
+        if (!chats.isEmpty()) {
+            response.put("nextCursor", InboxCursor.of(chats.get(chats.size() - 1)).toString());
+        }
+        response.put("hasMore", chats.size() == pageSize);
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -128,6 +146,30 @@ public class ChatController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Get messages for a chat with keyset pagination (preferred for scrolling).
+     * GET /api/chats/{id}/messages/cursor?before=2026-01-31T10:15:30.123456,{messageId}&size=30
+     * Pass the returned nextCursor as "before" to load older messages.
+     */
+    @GetMapping("/{id}/messages/cursor")
+    public ResponseEntity<Map<String, Object>> getChatMessagesWithCursor(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "30") int size,
+            @AuthenticationPrincipal User user) {
+        MessageCursor cursor = before != null && !before.isBlank() ? MessageCursor.parse(before) : null;
+        int pageSize = Math.max(1, Math.min(size, ChatService.MAX_HISTORY_PAGE_SIZE));
+        List<MessageResponse> messages = chatService.getChatMessagesBefore(id, user, cursor, pageSize);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", messages);
+        if (!messages.isEmpty()) {
+            response.put("nextCursor", MessageCursor.of(messages.get(messages.size() - 1)).toString());
+        }
+        response.put("hasMore", messages.size() == pageSize);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Send a message in a chat.
      * POST /api/chats/{id}/messages
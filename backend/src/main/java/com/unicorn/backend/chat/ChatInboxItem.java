@@ -0,0 +1,25 @@
+package com.unicorn.backend.chat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Inbox row of a chat as seen by one participant: the other party, the
+ * startup, a preview of the last message and the participant's unread count.
+ */
+public record ChatInboxItem(
+        UUID chatId,
+        ChatStatus status,
+        UUID counterpartId,
+        String counterpartName,
+        String counterpartAvatarUrl,
+        UUID startupId,
+        String startupName,
+        String startupLogoUrl,
+        UUID lastMessageId,
+        UUID lastMessageSenderId,
+        String lastMessagePreview,
+        LocalDateTime lastMessageAt,
+        long unreadCount,
+        LocalDateTime createdAt) {
+}
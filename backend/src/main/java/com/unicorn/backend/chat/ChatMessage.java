@@ -24,7 +24,8 @@ import java.util.UUID;
 @Table(name = "chat_messages", indexes = {
         @Index(name = "idx_message_chat", columnList = "chat_id"),
         @Index(name = "idx_message_sender", columnList = "sender_id"),
-        @Index(name = "idx_message_created", columnList = "created_at")
+        @Index(name = "idx_message_created", columnList = "created_at"),
+        @Index(name = "idx_message_chat_created_id", columnList = "chat_id, created_at, id")
 })
 public class ChatMessage {
 
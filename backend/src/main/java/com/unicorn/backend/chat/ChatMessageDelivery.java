@@ -0,0 +1,9 @@
+package com.unicorn.backend.chat;
+
+/**
+ * Message delivered to participants' /user/queue/chat.
+ */
+public record ChatMessageDelivery(
+        String clientMessageId,
+        MessageResponse message) {
+}
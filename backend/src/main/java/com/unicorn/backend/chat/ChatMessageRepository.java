@@ -1,13 +1,14 @@
 package com.unicorn.backend.chat;
 
-import com.unicorn.backend.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,11 +25,42 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID>
     Page<ChatMessage> findByChatOrderByCreatedAtDesc(Chat chat, Pageable pageable);
 
     /**
-     * Count unread messages in a specific chat for a recipient.
+     * Newest messages of a chat, projected straight into responses.
+     * Keyset-paginated via findMessagesBefore; no count query.
      */
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chat = :chat " +
-            "AND m.sender != :recipient AND m.isRead = false AND m.isDeleted = false")
-    long countUnreadMessages(@Param("chat") Chat chat, @Param("recipient") User recipient);
+    @Query("SELECT new com.unicorn.backend.chat.MessageResponse(m.id, m.chat.id, s.id, " +
+            "COALESCE(s.displayName, s.email), s.avatarUrl, " +
+            "CASE WHEN m.isDeleted = true THEN '[Deleted]' ELSE m.content END, " +
+            "m.isRead, m.isDeleted, m.createdAt, m.readAt) " +
+            "FROM ChatMessage m JOIN m.sender s WHERE m.chat.id = :chatId " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageResponse> findLatestMessages(@Param("chatId") UUID chatId, Pageable pageable);
+
+    /**
+     * Messages older than the (createdAt, id) cursor, newest first.
+     * Served by idx_message_chat_created_id.
+     */
+    @Query("SELECT new com.unicorn.backend.chat.MessageResponse(m.id, m.chat.id, s.id, " +
+            "COALESCE(s.displayName, s.email), s.avatarUrl, " +
+            "CASE WHEN m.isDeleted = true THEN '[Deleted]' ELSE m.content END, " +
+            "m.isRead, m.isDeleted, m.createdAt, m.readAt) " +
+            "FROM ChatMessage m JOIN m.sender s WHERE m.chat.id = :chatId " +
+            "AND m.createdAt <= :createdAt AND (m.createdAt < :createdAt OR m.id < :id) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageResponse> findMessagesBefore(@Param("chatId") UUID chatId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    /**
+     * Mark every unread message from the other participant as read.
+     *
+     * @return number of messages marked
+     */
+    @Modifying
+    @Query("UPDATE ChatMessage m SET m.isRead = true, m.readAt = :readAt " +
+            "WHERE m.chat.id = :chatId AND m.sender.id <> :readerId " +
+            "AND m.isRead = false AND m.isDeleted = false")
+    int markAllAsRead(@Param("chatId") UUID chatId, @Param("readerId") UUID readerId,
+            @Param("readAt") LocalDateTime readAt);
 
     /**
      * Find all non-deleted messages in a chat (for admin viewing).
@@ -0,0 +1,301 @@
+package com.unicorn.backend.chat;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous, batched writer for messages sent over WebSocket.
+ * Messages are validated before they reach this writer; it inserts them in
+ * JDBC batches and updates each chat's last message time and unread counter
+ * once per batch, in one transaction. Only then are they delivered to the
+ * participants, so nobody sees a message that is not in the history. A
+ * message that is finally dropped is reported to its sender instead.
+ * Flushes run on a dedicated thread, so long scheduled jobs cannot hold
+ * them up.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatMessageWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${chat.writer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chat.writer.queue-capacity:20000}")
+    private int queueCapacity;
+
+    @Value("${chat.writer.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${chat.writer.flush-interval:50}")
+    private long flushIntervalMs;
+
+    private static final String INSERT_SQL = "INSERT INTO chat_messages " +
+            "(id, chat_id, sender_id, content, is_read, is_deleted, created_at) " +
+            "VALUES (?, ?, ?, ?, false, false, ?)";
+
+    private static final String UPDATE_CHAT_SQL = "UPDATE chats SET " +
+            "last_message_at = GREATEST(COALESCE(last_message_at, ?), ?), " +
+            "investor_unread_count = COALESCE(investor_unread_count, 0) + ?, " +
+            "startup_unread_count = COALESCE(startup_unread_count, 0) + ? " +
+            "WHERE id = ?";
+
+    /**
+     * A validated message waiting to be persisted.
+     *
+     * @param fromInvestor whether the sender is the chat's investor (the
+     *                     startup side then has one more unread message)
+     * @param delivery     who to deliver the message to once it is persisted
+     */
+    public record PendingMessage(UUID id, UUID chatId, UUID senderId, boolean fromInvestor,
+            String content, LocalDateTime createdAt, RealtimeMessage delivery, long enqueuedAtNanos) {
+    }
+
+    private record ChatDelta(LocalDateTime lastMessageAt, long investorUnread, long startupUnread) {
+        ChatDelta add(PendingMessage message) {
+            LocalDateTime last = message.createdAt().isAfter(lastMessageAt) ? message.createdAt() : lastMessageAt;
+            return message.fromInvestor()
+                    ? new ChatDelta(last, investorUnread, startupUnread + 1)
+                    : new ChatDelta(last, investorUnread + 1, startupUnread);
+        }
+    }
+
+    private BlockingQueue<PendingMessage> queue;
+    private ScheduledExecutorService flusher;
+    private final Map<UUID, Integer> attempts = new LinkedHashMap<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final long startedAtNanos = System.nanoTime();
+
+    @PostConstruct
+    public void init() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-message-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // An exception would cancel the periodic task
+            log.error("Chat message flush failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a message for persistence. When the queue is full the caller
+     * writes it synchronously, which throttles senders to database speed.
+     */
+    public void enqueue(PendingMessage message) {
+        if (!queue.offer(message)) {
+            log.warn("Chat message queue full ({}), writing synchronously", queueCapacity);
+            try {
+                write(List.of(message));
+            } catch (Exception e) {
+                drop(message, e.getMessage());
+                return;
+            }
+            deliver(List.of(message));
+        }
+    }
+
+    public ChatWriterStatsDTO getStats() {
+        long writtenCount = written.get();
+        long deliveredCount = delivered.sum();
+        double uptimeSeconds = Math.max(1, (System.nanoTime() - startedAtNanos) / 1_000_000_000.0);
+        return new ChatWriterStatsDTO(
+                queue.size(),
+                writtenCount,
+                failed.get(),
+                deliveredCount,
+                writtenCount / uptimeSeconds,
+                deliveredCount > 0 ? totalLatencyNanos.sum() / 1_000_000.0 / deliveredCount : 0,
+                maxLatencyNanos.get() / 1_000_000.0);
+    }
+
+    // ==================== Flush ====================
+
+    public synchronized void flush() {
+        List<PendingMessage> batch = new ArrayList<>(Math.min(queue.size(), batchSize));
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+            } catch (Exception e) {
+                log.warn("Failed to write {} chat messages, retrying one by one: {}", batch.size(), e.getMessage());
+                if (!writeIndividually(batch)) {
+                    // Nothing could be written: database unavailable, try again next round
+                    return;
+                }
+                batch.clear();
+                continue;
+            }
+            batch.forEach(message -> attempts.remove(message.id()));
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Isolate the messages that make a batch fail.
+     *
+     * @return false if no message could be written
+     */
+    private boolean writeIndividually(List<PendingMessage> batch) {
+        List<PendingMessage> failures = new ArrayList<>();
+        for (PendingMessage message : batch) {
+            try {
+                write(List.of(message));
+            } catch (Exception e) {
+                failures.add(message);
+                continue;
+            }
+            attempts.remove(message.id());
+            deliver(List.of(message));
+        }
+        if (failures.size() == batch.size()) {
+            for (PendingMessage message : failures) {
+                if (!queue.offer(message)) {
+                    drop(message, "queue is full");
+                }
+            }
+            return false;
+        }
+        requeue(failures);
+        return true;
+    }
+
+    private void write(List<PendingMessage> batch) {
+        List<Object[]> inserts = new ArrayList<>(batch.size());
+        Map<UUID, ChatDelta> chats = new LinkedHashMap<>();
+        for (PendingMessage message : batch) {
+            Timestamp createdAt = Timestamp.valueOf(message.createdAt());
+            inserts.add(new Object[] { message.id(), message.chatId(), message.senderId(), message.content(),
+                    createdAt });
+            chats.merge(message.chatId(), new ChatDelta(message.createdAt(), 0, 0).add(message),
+                    (current, ignored) -> current.add(message));
+        }
+
+        List<Object[]> updates = new ArrayList<>(chats.size());
+        chats.forEach((chatId, delta) -> {
+            Timestamp last = Timestamp.valueOf(delta.lastMessageAt());
+            updates.add(new Object[] { last, last, delta.investorUnread(), delta.startupUnread(), chatId });
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            jdbcTemplate.batchUpdate(UPDATE_CHAT_SQL, updates);
+        });
+        written.addAndGet(batch.size());
+    }
+
+    /**
+     * Put messages that failed on their own back, dropping those that keep
+     * failing (for example because their chat was deleted meanwhile).
+     */
+    private void requeue(List<PendingMessage> messages) {
+        for (PendingMessage message : messages) {
+            int attempt = attempts.merge(message.id(), 1, Integer::sum);
+            if (attempt >= maxAttempts || !queue.offer(message)) {
+                attempts.remove(message.id());
+                drop(message, "failed after " + attempt + " attempts");
+            }
+        }
+    }
+
+    // ==================== Delivery ====================
+
+    /**
+     * Send persisted messages to every participant's /user/queue/chat.
+     */
+    private void deliver(List<PendingMessage> messages) {
+        for (PendingMessage message : messages) {
+            RealtimeMessage delivery = message.delivery();
+            if (delivery == null) {
+                continue;
+            }
+            ChatMessageDelivery frame = new ChatMessageDelivery(delivery.clientMessageId(), delivery.message());
+            for (String participant : delivery.participantNames()) {
+                try {
+                    messagingTemplate.convertAndSendToUser(participant, "/queue/chat", frame);
+                } catch (Exception e) {
+                    log.warn("Failed to deliver chat message {} to {}: {}", message.id(), participant, e.getMessage());
+                }
+            }
+            long latency = System.nanoTime() - message.enqueuedAtNanos();
+            delivered.increment();
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulate(latency);
+        }
+    }
+
+    /**
+     * Give up on a message and tell its sender on /user/queue/errors.
+     */
+    private void drop(PendingMessage message, String reason) {
+        failed.incrementAndGet();
+        log.error("Dropping chat message {} in chat {}: {}", message.id(), message.chatId(), reason);
+        RealtimeMessage delivery = message.delivery();
+        if (delivery == null || delivery.senderName() == null) {
+            return;
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Message could not be sent");
+        error.put("chatId", message.chatId().toString());
+        if (delivery.clientMessageId() != null) {
+            error.put("clientMessageId", delivery.clientMessageId());
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(delivery.senderName(), "/queue/errors", error);
+        } catch (Exception e) {
+            log.warn("Failed to notify {} about dropped chat message {}: {}", delivery.senderName(), message.id(),
+                    e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
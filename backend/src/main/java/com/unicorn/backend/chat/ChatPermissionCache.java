@@ -0,0 +1,160 @@
+package com.unicorn.backend.chat;
+
+import com.unicorn.backend.appconfig.ConfigChangeBus;
+import com.unicorn.backend.investor.InvestorProfileRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, expiring cache of the chat permission facts of a user: the users
+ * they have a block relationship with (in either direction) and whether they
+ * are a verified investor. Loaded lazily, so checking a message against blocks
+ * is a hash lookup instead of two queries.
+ * Entries are evicted after commit when a block or investor profile changes
+ * (see ChatPermissionCacheListener), and the eviction is sent to the other
+ * nodes over the ConfigChangeBus; the TTL bounds staleness only while the bus
+ * is not connected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatPermissionCache {
+
+    private final ChatBlockRepository chatBlockRepository;
+    private final InvestorProfileRepository investorProfileRepository;
+    private final ConfigChangeBus configChangeBus;
+
+    private static final String CACHE_NAME = "chat-permissions";
+
+    @Value("${chat.permission-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${chat.permission-cache.max-size:50000}")
+    private int maxSize;
+
+    private record Entry(Set<UUID> blockRelations, boolean verifiedInvestor, long expiresAt) {
+    }
+
+    private final Map<UUID, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every eviction; a load that raced with an eviction is not cached.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    public void subscribe() {
+        configChangeBus.subscribeInvalidations(CACHE_NAME, key -> {
+            if (key == null) {
+                evictAll();
+            } else {
+                evict(UUID.fromString(key));
+            }
+        });
+    }
+
+    /**
+     * Whether either user has blocked the other.
+     */
+    public boolean isBlocked(UUID userId, UUID otherUserId) {
+        return get(userId).blockRelations().contains(otherUserId);
+    }
+
+    public boolean isVerifiedInvestor(UUID userId) {
+        return get(userId).verifiedInvestor();
+    }
+
+    private Entry get(UUID userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(userId);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry;
+        }
+
+        long generation = evictions.get();
+        Set<UUID> blockRelations = Set.copyOf(chatBlockRepository.findBlockRelationUserIds(userId));
+        boolean verified = !investorProfileRepository.findVerifiedUserIds(List.of(userId)).isEmpty();
+        Entry loaded = new Entry(blockRelations, verified, now + ttlMs);
+        if (evictions.get() == generation) {
+            makeRoom(now);
+            cache.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Evict users now and again after the current transaction commits, so a
+     * load that read the old rows in the meantime is not kept. Other nodes
+     * evict them once the change is committed.
+     */
+    public void evictAfterCommit(UUID... userIds) {
+        evict(userIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userIds);
+                    publish(userIds);
+                }
+            });
+        } else {
+            publish(userIds);
+        }
+    }
+
+    private void publish(UUID... userIds) {
+        for (UUID userId : userIds) {
+            if (userId != null) {
+                configChangeBus.publishInvalidation(CACHE_NAME, userId.toString());
+            }
+        }
+    }
+
+    public void evict(UUID... userIds) {
+        evictions.incrementAndGet();
+        for (UUID userId : userIds) {
+            if (userId != null) {
+                cache.remove(userId);
+            }
+        }
+    }
+
+    private void evictAll() {
+        evictions.incrementAndGet();
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Keep the cache within its bound: drop expired entries first, then
+     * arbitrary ones.
+     */
+    private void makeRoom(long now) {
+        if (cache.size() < maxSize) {
+            return;
+        }
+        cache.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<UUID> iterator = cache.keySet().iterator();
+        while (cache.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        log.debug("Chat permission cache trimmed to {} entries", cache.size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.unicorn.backend.chat;
+
+import com.unicorn.backend.investor.InvestorProfile;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached chat permissions when a block is added or removed (see
+ * ChatService.blockUser and unblockUser) or an investor profile changes
+ * verification state.
+ */
+@Component
+public class ChatPermissionCacheListener {
+
+    private final ChatPermissionCache chatPermissionCache;
+
+    public ChatPermissionCacheListener(@Lazy ChatPermissionCache chatPermissionCache) {
+        this.chatPermissionCache = chatPermissionCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        if (entity instanceof ChatBlock block) {
+            chatPermissionCache.evictAfterCommit(block.getBlocker().getId(), block.getBlocked().getId());
+        } else if (entity instanceof InvestorProfile profile && profile.getUser() != null) {
+            chatPermissionCache.evictAfterCommit(profile.getUser().getId());
+        }
+    }
+}
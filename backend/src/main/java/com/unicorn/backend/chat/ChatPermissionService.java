@@ -1,7 +1,5 @@
 package com.unicorn.backend.chat;
 
-import com.unicorn.backend.investor.InvestorProfile;
-import com.unicorn.backend.investor.InvestorProfileRepository;
 import com.unicorn.backend.startup.Startup;
 import com.unicorn.backend.subscription.Subscription;
 import com.unicorn.backend.subscription.SubscriptionPlan;
@@ -21,15 +19,16 @@ import java.util.Optional;
  * - Free/Pro startups: cannot initiate messages to investors
  * - Elite startups: can send one introductory message per investor per calendar
  * month
+ * Blocks and the verified-investor flag come from ChatPermissionCache, so the
+ * per-message check runs no query.
  */
 @Service
 @RequiredArgsConstructor
 public class ChatPermissionService {
 
-    private final InvestorProfileRepository investorProfileRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final MonthlyMessageLimitRepository monthlyMessageLimitRepository;
-    private final ChatBlockRepository chatBlockRepository;
+    private final ChatPermissionCache chatPermissionCache;
 
     /**
      * Check if a user can initiate a new chat with a startup.
@@ -45,8 +44,7 @@ public class ChatPermissionService {
         }
 
         // Check if user is a verified investor
-        Optional<InvestorProfile> investorProfile = investorProfileRepository.findByUser(user);
-        if (investorProfile.isPresent() && investorProfile.get().getIsVerified()) {
+        if (chatPermissionCache.isVerifiedInvestor(user.getId())) {
             // Verified investors can message any startup unlimited
             return true;
         }
@@ -141,7 +139,6 @@ public class ChatPermissionService {
      * @return true if either has blocked the other
      */
     private boolean isBlocked(User user1, User user2) {
-        return chatBlockRepository.existsByBlockerAndBlocked(user1, user2) ||
-                chatBlockRepository.existsByBlockerAndBlocked(user2, user1);
+        return chatPermissionCache.isBlocked(user1.getId(), user2.getId());
     }
 }
@@ -3,10 +3,12 @@ package com.unicorn.backend.chat;
 import com.unicorn.backend.startup.Startup;
 import com.unicorn.backend.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +19,41 @@ import java.util.UUID;
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, UUID> {
 
+    /**
+     * Inbox rows of :userId: chat, unread count for the user, the other
+     * participant, the startup and the last message (via a lateral lookup on
+     * idx_message_chat_created_id). Column order matches ChatInboxItem.
+     * Selected from a page of chat ids, see INVESTOR_CHATS.
+     */
+    String INBOX_SELECT = "SELECT c.id, c.status, cp.id, COALESCE(cp.display_name, cp.email), cp.avatar_url, " +
+            "s.id, s.name, s.logo_url, lm.id, lm.sender_id, " +
+            "CASE WHEN lm.is_deleted THEN '[Deleted]' ELSE LEFT(lm.content, :previewLength) END, " +
+            "c.last_message_at, " +
+            "CASE WHEN c.investor_id = :userId THEN COALESCE(c.investor_unread_count, 0) " +
+            "ELSE COALESCE(c.startup_unread_count, 0) END, " +
+            "c.created_at " +
+            "FROM page JOIN chats c ON c.id = page.id JOIN startups s ON s.id = c.startup_id " +
+            "JOIN users cp ON cp.id = CASE WHEN c.investor_id = :userId THEN s.owner_id ELSE c.investor_id END " +
+            "LEFT JOIN LATERAL (SELECT m.id, m.sender_id, m.content, m.is_deleted FROM chat_messages m " +
+            "WHERE m.chat_id = c.id ORDER BY m.created_at DESC, m.id DESC LIMIT 1) lm ON true ";
+
+    String INBOX_ORDER = "ORDER BY c.last_message_at DESC, c.id DESC LIMIT :limit";
+
+    String INBOX_BEFORE = "AND c.last_message_at <= :lastMessageAt " +
+            "AND (c.last_message_at < :lastMessageAt OR c.id < :chatId) ";
+
+    /**
+     * Chat ids of a page are taken separately from the chats where the user is
+     * the investor (idx_chat_investor_last_message) and those of the startups
+     * they own (idx_startup_owner, idx_chat_startup_last_message): an OR across
+     * both would use neither index. Each branch is ordered and limited, so at
+     * most 2 * :limit rows are joined.
+     */
+    String INVESTOR_CHATS = "(SELECT c.id FROM chats c WHERE c.investor_id = :userId ";
+
+    String OWNED_STARTUP_CHATS = "(SELECT c.id FROM chats c JOIN startups s ON s.id = c.startup_id " +
+            "WHERE s.owner_id = :userId AND c.investor_id <> :userId ";
+
     /**
      * Find all chats for a specific investor.
      */
@@ -51,4 +88,62 @@ public interface ChatRepository extends JpaRepository<Chat, UUID> {
             "WHERE (c.investor = :user OR c.startup.owner = :user) " +
             "AND m.sender != :user AND m.isRead = false AND m.isDeleted = false")
     long countUnreadMessagesForUser(@Param("user") User user);
+
+    /**
+     * Chat list of a user with counterpart names and unread counts in one query.
+     */
+    @Query("SELECT new com.unicorn.backend.chat.ChatResponse(c.id, i.id, COALESCE(i.displayName, i.email), " +
+            "s.id, s.name, c.status, c.createdAt, c.lastMessageAt, " +
+            "CASE WHEN i.id = :userId THEN COALESCE(c.investorUnreadCount, 0) " +
+            "ELSE COALESCE(c.startupUnreadCount, 0) END) " +
+            "FROM Chat c JOIN c.investor i JOIN c.startup s " +
+            "WHERE i.id = :userId OR s.owner.id = :userId ORDER BY c.lastMessageAt DESC")
+    List<ChatResponse> findChatListForUser(@Param("userId") UUID userId);
+
+    /**
+     * First inbox page of a user, most recent conversation first.
+     */
+    @Query(value = "WITH page AS (" + INVESTOR_CHATS + INBOX_ORDER + ") UNION ALL " +
+            OWNED_STARTUP_CHATS + INBOX_ORDER + ")) " + INBOX_SELECT + INBOX_ORDER, nativeQuery = true)
+    List<Object[]> findInbox(@Param("userId") UUID userId,
+            @Param("previewLength") int previewLength,
+            @Param("limit") int limit);
+
+    /**
+     * Inbox page after a keyset position (lastMessageAt, chatId).
+     */
+    @Query(value = "WITH page AS (" + INVESTOR_CHATS + INBOX_BEFORE + INBOX_ORDER + ") UNION ALL " +
+            OWNED_STARTUP_CHATS + INBOX_BEFORE + INBOX_ORDER + ")) " + INBOX_SELECT + INBOX_ORDER,
+            nativeQuery = true)
+    List<Object[]> findInboxBefore(@Param("userId") UUID userId,
+            @Param("lastMessageAt") LocalDateTime lastMessageAt,
+            @Param("chatId") UUID chatId,
+            @Param("previewLength") int previewLength,
+            @Param("limit") int limit);
+
+    // ==================== Unread Counters ====================
+
+    @Modifying
+    @Query("UPDATE Chat c SET c.investorUnreadCount = CASE " +
+            "WHEN COALESCE(c.investorUnreadCount, 0) + :delta < 0 THEN 0 " +
+            "ELSE COALESCE(c.investorUnreadCount, 0) + :delta END WHERE c.id = :chatId")
+    int adjustInvestorUnreadCount(@Param("chatId") UUID chatId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Chat c SET c.startupUnreadCount = CASE " +
+            "WHEN COALESCE(c.startupUnreadCount, 0) + :delta < 0 THEN 0 " +
+            "ELSE COALESCE(c.startupUnreadCount, 0) + :delta END WHERE c.id = :chatId")
+    int adjustStartupUnreadCount(@Param("chatId") UUID chatId, @Param("delta") long delta);
+
+    /**
+     * Compute unread counters for chats created before they existed.
+     */
+    @Modifying
+    @Query(value = "UPDATE chats c SET " +
+            "investor_unread_count = (SELECT COUNT(*) FROM chat_messages m WHERE m.chat_id = c.id " +
+            "AND m.sender_id <> c.investor_id AND m.is_read = false AND m.is_deleted = false), " +
+            "startup_unread_count = (SELECT COUNT(*) FROM chat_messages m WHERE m.chat_id = c.id " +
+            "AND m.sender_id = c.investor_id AND m.is_read = false AND m.is_deleted = false) " +
+            "WHERE c.investor_unread_count IS NULL OR c.startup_unread_count IS NULL", nativeQuery = true)
+    int backfillUnreadCounts();
 }
@@ -6,6 +6,9 @@ import com.unicorn.backend.startup.StartupRepository;
 import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +16,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +25,7 @@ import java.util.UUID;
  * Core service for chat operations.
  * Handles chat creation, messaging, requests, blocking, and reporting.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatService {
@@ -35,6 +40,12 @@ public class ChatService {
     private final UserRepository userRepository;
     private final InvestorProfileRepository investorProfileRepository;
     private final ChatPermissionService permissionService;
+    private final ChatMessageWriter chatMessageWriter;
+
+    static final int MAX_HISTORY_PAGE_SIZE = 100;
+    static final int MAX_INBOX_PAGE_SIZE = 100;
+    private static final int INBOX_PREVIEW_LENGTH = 120;
+    private static final int MAX_MESSAGE_LENGTH = 5000;
 
     /**
      * Start a direct chat (Investor → Startup).
@@ -154,6 +165,7 @@ public class ChatService {
                 .initiatedBy(request.getStartup().getOwner())
                 .status(ChatStatus.ACTIVE)
                 .lastMessageAt(LocalDateTime.now())
+                .investorUnreadCount(1L) // the initial message below
                 .build();
 
         Chat savedChat = chatRepository.save(chat);
@@ -235,10 +247,83 @@ public class ChatService {
         // Update chat's last message timestamp
         chat.setLastMessageAt(LocalDateTime.now());
         chatRepository.save(chat);
+        adjustUnreadCount(chat, sender.getId(), 1);
 
         return savedMessage;
     }
 
+    /**
+     * Accept a message sent over WebSocket.
+     * Validation and permission checks happen here, once; the message gets its
+     * id and timestamp from the server and is persisted asynchronously by
+     * ChatMessageWriter, which delivers it to the participants once the write
+     * succeeds (or tells the sender it was dropped).
+     *
+     * @param chatId          the chat ID
+     * @param sender          the message sender
+     * @param content         the message content
+     * @param clientMessageId the sender's optimistic id, echoed back (may be null)
+     */
+    @Transactional(readOnly = true)
+    public void acceptRealtimeMessage(UUID chatId, User sender, String content, String clientMessageId) {
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("Message content is required");
+        }
+        if (content.length() > MAX_MESSAGE_LENGTH) {
+            throw new IllegalArgumentException("Message must be less than " + MAX_MESSAGE_LENGTH + " characters");
+        }
+
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new IllegalArgumentException("Chat not found"));
+
+        if (!permissionService.canSendMessage(sender, chat)) {
+            throw new AccessDeniedException("You cannot send messages in this chat");
+        }
+
+        User investor = chat.getInvestor();
+        User owner = chat.getStartup().getOwner();
+        boolean fromInvestor = investor.getId().equals(sender.getId());
+
+        UUID messageId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.now();
+        MessageResponse message = new MessageResponse(
+                messageId,
+                chatId,
+                sender.getId(),
+                sender.getDisplayName() != null ? sender.getDisplayName() : sender.getEmail(),
+                sender.getAvatarUrl(),
+                content,
+                false,
+                false,
+                createdAt,
+                null);
+        RealtimeMessage delivery = new RealtimeMessage(message, clientMessageId, sender.getUsername(),
+                List.of(investor.getUsername(), owner.getUsername()));
+
+        chatMessageWriter.enqueue(new ChatMessageWriter.PendingMessage(
+                messageId, chatId, sender.getId(), fromInvestor, content, createdAt, delivery, System.nanoTime()));
+    }
+
+    /**
+     * Principal names of a chat's participants, for user-queue delivery.
+     *
+     * @param chatId    the chat ID
+     * @param requester the user asking (must be a participant)
+     * @return investor and startup owner principal names
+     */
+    @Transactional(readOnly = true)
+    public List<String> getParticipantNames(UUID chatId, User requester) {
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new IllegalArgumentException("Chat not found"));
+
+        User investor = chat.getInvestor();
+        User owner = chat.getStartup().getOwner();
+        if (!investor.getId().equals(requester.getId()) && !owner.getId().equals(requester.getId())) {
+            throw new AccessDeniedException("You are not a participant in this chat");
+        }
+        return List.of(investor.getUsername(), owner.getUsername());
+    }
+
     /**
      * Get the chat list for a user.
      *
@@ -250,6 +335,62 @@ public class ChatService {
         return chatRepository.findAllChatsForUser(user);
     }
 
+    /**
+     * Get the chat list for a user with unread counts, in a single query.
+     *
+     * @param user the user
+     * @return chat responses, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<ChatResponse> getChatListResponses(User user) {
+        return chatRepository.findChatListForUser(user.getId());
+    }
+
+    /**
+     * Get a page of the user's inbox in a single query: counterpart, startup,
+     * last message preview and unread count per chat, keyset-paginated by
+     * last message time.
+     *
+     * @param user   the user
+     * @param before position of the last chat already loaded, or null for the first page
+     * @param size   page size
+     * @return inbox rows, most recent conversation first
+     */
+    @Transactional(readOnly = true)
+    public List<ChatInboxItem> getInbox(User user, InboxCursor before, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_INBOX_PAGE_SIZE));
+        List<Object[]> rows = before == null
+                ? chatRepository.findInbox(user.getId(), INBOX_PREVIEW_LENGTH, limit)
+                : chatRepository.findInboxBefore(user.getId(), before.lastMessageAt(), before.chatId(),
+                        INBOX_PREVIEW_LENGTH, limit);
+        return rows.stream().map(ChatService::toInboxItem).toList();
+    }
+
+    private static ChatInboxItem toInboxItem(Object[] row) {
+        return new ChatInboxItem(
+                (UUID) row[0],
+                ChatStatus.valueOf((String) row[1]),
+                (UUID) row[2],
+                (String) row[3],
+                (String) row[4],
+                (UUID) row[5],
+                (String) row[6],
+                (String) row[7],
+                (UUID) row[8],
+                (UUID) row[9],
+                (String) row[10],
+                toLocalDateTime(row[11]),
+                ((Number) row[12]).longValue(),
+                toLocalDateTime(row[13]));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
     /**
      * Get messages for a chat (paginated).
      *
@@ -276,6 +417,37 @@ public class ChatService {
         return chatMessageRepository.findByChatOrderByCreatedAtDesc(chat, pageable);
     }
 
+    /**
+     * Get messages for a chat using keyset pagination (newest first).
+     * Unlike getChatMessages this runs no count query and no OFFSET scan, so
+     * page cost stays flat however far back the user scrolls.
+     *
+     * @param chatId    the chat ID
+     * @param requester the user requesting (must be a participant)
+     * @param before    cursor of the oldest message already loaded, or null for the newest page
+     * @param size      page size
+     * @return messages older than the cursor
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponse> getChatMessagesBefore(UUID chatId, User requester, MessageCursor before, int size) {
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new IllegalArgumentException("Chat not found"));
+
+        // Verify requester is a participant
+        boolean isParticipant = chat.getInvestor().getId().equals(requester.getId()) ||
+                chat.getStartup().getOwner().getId().equals(requester.getId());
+
+        if (!isParticipant) {
+            throw new AccessDeniedException("You are not a participant in this chat");
+        }
+
+        Pageable limit = PageRequest.of(0, Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE)));
+        if (before == null) {
+            return chatMessageRepository.findLatestMessages(chatId, limit);
+        }
+        return chatMessageRepository.findMessagesBefore(chatId, before.createdAt(), before.id(), limit);
+    }
+
     /**
      * Mark all messages in a chat as read by the recipient.
      *
@@ -287,21 +459,64 @@ public class ChatService {
         Chat chat = chatRepository.findById(chatId)
                 .orElseThrow(() -> new IllegalArgumentException("Chat not found"));
 
-        // Get all unread messages not sent by the reader
-        Pageable pageable = PageRequest.of(0, 1000); // Get a large batch
-        Page<ChatMessage> messages = chatMessageRepository.findByChatOrderByCreatedAtDesc(chat, pageable);
+        boolean isInvestor = chat.getInvestor().getId().equals(reader.getId());
+        if (!isInvestor && !chat.getStartup().getOwner().getId().equals(reader.getId())) {
+            throw new AccessDeniedException("You are not a participant in this chat");
+        }
 
-        LocalDateTime now = LocalDateTime.now();
-        messages.getContent().stream()
-                .filter(m -> !m.getSender().getId().equals(reader.getId()))
-                .filter(m -> !m.getIsRead())
-                .filter(m -> !m.getIsDeleted())
-                .forEach(m -> {
-                    m.setIsRead(true);
-                    m.setReadAt(now);
-                });
+        // One UPDATE for all unread messages not sent by the reader
+        int marked = chatMessageRepository.markAllAsRead(chatId, reader.getId(), LocalDateTime.now());
+
+        // Subtract what was marked rather than zeroing, so messages that arrive
+        // concurrently stay counted
+        if (marked > 0) {
+            if (isInvestor) {
+                chatRepository.adjustInvestorUnreadCount(chatId, -marked);
+            } else {
+                chatRepository.adjustStartupUnreadCount(chatId, -marked);
+            }
+        }
+    }
+
+    /**
+     * Soft delete a message (moderation), keeping unread counters in step.
+     *
+     * @param message the message to delete
+     */
+    @Transactional
+    public void softDeleteMessage(ChatMessage message) {
+        if (Boolean.TRUE.equals(message.getIsDeleted())) {
+            return;
+        }
+        message.setIsDeleted(true);
+        chatMessageRepository.save(message);
+
+        if (!Boolean.TRUE.equals(message.getIsRead())) {
+            adjustUnreadCount(message.getChat(), message.getSender().getId(), -1);
+        }
+    }
 
-        chatMessageRepository.saveAll(messages.getContent());
+    /**
+     * Adjust the unread counter of the participant who did not send the message.
+     */
+    private void adjustUnreadCount(Chat chat, UUID senderId, long delta) {
+        if (chat.getInvestor().getId().equals(senderId)) {
+            chatRepository.adjustStartupUnreadCount(chat.getId(), delta);
+        } else {
+            chatRepository.adjustInvestorUnreadCount(chat.getId(), delta);
+        }
+    }
+
+    /**
+     * Fill unread counters of chats that predate them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillUnreadCounts() {
+        int updated = chatRepository.backfillUnreadCounts();
+        if (updated > 0) {
+            log.info("Backfilled unread counters for {} chats", updated);
+        }
     }
 
     /**
@@ -1,30 +1,43 @@
 package com.unicorn.backend.chat;
 
+import com.unicorn.backend.user.User;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * WebSocket controller for real-time chat messaging.
  * Handles incoming WebSocket messages and broadcasts them to recipients.
  */
+@Slf4j
 @Controller
 @RequiredArgsConstructor
 public class ChatWebSocketController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatService chatService;
+    private final TypingIndicatorService typingIndicatorService;
 
     /**
-     * Handle incoming chat messages via WebSocket.
-     * Messages are sent to /app/chat.send and broadcast to /topic/chat/{chatId}
+     * Handle incoming chat messages via WebSocket (primary send path).
+     * Messages are sent to /app/chat.send and checked and queued through
+     * ChatService. Once persisted, the server-assigned message is delivered to
+     * each participant's /user/queue/chat; a message that cannot be saved is
+     * reported on the sender's /user/queue/errors instead. The client's
+     * messageId is echoed back as clientMessageId in both cases so the sender
+     * can match its optimistic copy.
      *
-     * @param message        the message payload
+     * @param message        the message payload (only chatId, content and messageId are used)
      * @param headerAccessor WebSocket headers
      * @param principal      authenticated user
      */
@@ -33,32 +46,48 @@ public class ChatWebSocketController {
             @Payload WebSocketChatMessage message,
             SimpMessageHeaderAccessor headerAccessor,
             Principal principal) {
-        // Broadcast message to all subscribers of this chat
-        messagingTemplate.convertAndSend(
-                "/topic/chat/" + message.chatId(),
-                message);
+        User sender = resolveUser(principal);
+        chatService.acceptRealtimeMessage(message.chatId(), sender, message.content(),
+                message.messageId() != null ? message.messageId().toString() : null);
+    }
+
+    /**
+     * Report failed sends to the sender only.
+     */
+    @MessageExceptionHandler({ IllegalArgumentException.class, AccessDeniedException.class })
+    @SendToUser("/queue/errors")
+    public Map<String, String> handleSendError(Exception e) {
+        log.debug("Rejected WebSocket chat message: {}", e.getMessage());
+        return Map.of("error", e.getMessage());
+    }
+
+    private User resolveUser(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        throw new AccessDeniedException("Not authenticated");
     }
 
     /**
      * Handle typing indicator.
-     * Messages are sent to /app/chat.typing and broadcast to
-     * /topic/chat/{chatId}/typing
+     * Events are sent to /app/chat.typing (as often as the client likes) and
+     * coalesced by TypingIndicatorService; the other participant receives only
+     * started/stopped transitions on /user/queue/typing.
      *
-     * @param typing    the typing indicator payload
+     * @param typing    the typing indicator payload (only chatId and isTyping are used)
      * @param principal authenticated user
      */
     @MessageMapping("/chat.typing")
     public void handleTyping(
             @Payload TypingIndicator typing,
             Principal principal) {
-        // Broadcast typing indicator to all subscribers
-        messagingTemplate.convertAndSend(
-                "/topic/chat/" + typing.chatId() + "/typing",
-                typing);
+        typingIndicatorService.onTyping(typing.chatId(), resolveUser(principal), typing.isTyping());
     }
 
     /**
      * WebSocket message payload for chat messages.
+     * Sender and timestamp fields are ignored; the server assigns them.
      */
     public record WebSocketChatMessage(
             UUID chatId,
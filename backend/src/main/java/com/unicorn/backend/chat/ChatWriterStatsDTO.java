@@ -0,0 +1,17 @@
+package com.unicorn.backend.chat;
+
+/**
+ * DTO for the chat message writer metrics.
+ */
+public record ChatWriterStatsDTO(
+        // Waiting to be persisted
+        int queueDepth,
+        long written,
+        long failed,
+        long delivered,
+        // Average since startup
+        double messagesPerSecond,
+        // Accept to WebSocket delivery
+        double avgDeliveryLatencyMs,
+        double maxDeliveryLatencyMs) {
+}
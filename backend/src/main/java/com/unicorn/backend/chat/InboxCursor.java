@@ -0,0 +1,25 @@
+package com.unicorn.backend.chat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Keyset position in a user's chat inbox, written as "lastMessageAt,chatId"
+ * like MessageCursor.
+ */
+public record InboxCursor(LocalDateTime lastMessageAt, UUID chatId) {
+
+    public static InboxCursor of(ChatInboxItem item) {
+        return new InboxCursor(item.lastMessageAt(), item.chatId());
+    }
+
+    public static InboxCursor parse(String value) {
+        MessageCursor cursor = MessageCursor.parse(value);
+        return new InboxCursor(cursor.createdAt(), cursor.id());
+    }
+
+    @Override
+    public String toString() {
+        return lastMessageAt + "," + chatId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.unicorn.backend.chat;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * Keyset position in a chat's message history, written as "createdAt,id"
+ * (e.g. 2026-01-31T10:15:30.123456,3f2c...).
+ */
+public record MessageCursor(LocalDateTime createdAt, UUID id) {
+
+    public static MessageCursor of(MessageResponse message) {
+        return new MessageCursor(message.createdAt(), message.id());
+    }
+
+    public static MessageCursor parse(String value) {
+        int separator = value.lastIndexOf(',');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor, expected <createdAt,id>");
+        }
+        try {
+            return new MessageCursor(
+                    LocalDateTime.parse(value.substring(0, separator).trim()),
+                    UUID.fromString(value.substring(separator + 1).trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor, expected <createdAt,id>");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return createdAt + "," + id;
+    }
+}
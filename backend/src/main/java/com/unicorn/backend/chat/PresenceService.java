@@ -0,0 +1,38 @@
+package com.unicorn.backend.chat;
+
+import com.unicorn.backend.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Online presence from live STOMP sessions, as tracked by the
+ * SimpUserRegistry.
+ */
+@Service
+@RequiredArgsConstructor
+public class PresenceService {
+
+    private final SimpUserRegistry simpUserRegistry;
+
+    /**
+     * Users with an open session. With the broker relay the user registry is
+     * shared between nodes, so this covers the whole cluster; in the default
+     * simple-broker mode it only counts the sessions of this node.
+     */
+    public long getOnlineUserCount() {
+        return simpUserRegistry.getUserCount();
+    }
+
+    static UUID userId(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.unicorn.backend.chat;
+
+import java.util.List;
+
+/**
+ * A message accepted on the WebSocket path, with what is needed to deliver
+ * it once it is persisted.
+ *
+ * @param clientMessageId  the sender's optimistic id, echoed back (may be null)
+ * @param senderName       principal name of the sender, told if the message is dropped
+ * @param participantNames principal names of the chat participants
+ */
+public record RealtimeMessage(
+        MessageResponse message,
+        String clientMessageId,
+        String senderName,
+        List<String> participantNames) {
+}
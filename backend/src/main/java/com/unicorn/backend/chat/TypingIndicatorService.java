@@ -0,0 +1,117 @@
+package com.unicorn.backend.chat;
+
+import com.unicorn.backend.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces typing indicators per (chat, user).
+ * Clients may report every keystroke; only the transitions are delivered:
+ * "started" on the first event and "stopped" when the client says so, the
+ * user disconnects, or no event arrived within the timeout.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TypingIndicatorService {
+
+    private final ChatService chatService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${chat.typing.timeout:5000}")
+    private long timeoutMs;
+
+    private record Key(UUID chatId, UUID userId) {
+    }
+
+    private static final class Typing {
+        final String userName;
+        final List<String> participantNames;
+        volatile long lastSeenAt;
+
+        Typing(String userName, List<String> participantNames, long lastSeenAt) {
+            this.userName = userName;
+            this.participantNames = participantNames;
+            this.lastSeenAt = lastSeenAt;
+        }
+    }
+
+    private final Map<Key, Typing> typing = new ConcurrentHashMap<>();
+
+    /**
+     * Record a typing event from a participant.
+     */
+    public void onTyping(UUID chatId, User user, boolean isTyping) {
+        Key key = new Key(chatId, user.getId());
+        long now = System.currentTimeMillis();
+
+        if (!isTyping) {
+            Typing removed = typing.remove(key);
+            if (removed != null) {
+                publish(key, removed, false);
+            }
+            return;
+        }
+
+        Typing current = typing.get(key);
+        if (current != null) {
+            current.lastSeenAt = now;
+            return;
+        }
+
+        // Participants are resolved (and permission checked) once per transition
+        List<String> participants = chatService.getParticipantNames(chatId, user).stream()
+                .filter(name -> !name.equals(user.getUsername()))
+                .toList();
+        String userName = user.getDisplayName() != null ? user.getDisplayName() : user.getEmail();
+        Typing started = new Typing(userName, participants, now);
+        if (typing.putIfAbsent(key, started) == null) {
+            publish(key, started, true);
+        }
+    }
+
+    /**
+     * Stop indicators that have not been refreshed within the timeout.
+     */
+    @Scheduled(fixedDelayString = "${chat.typing.sweep-interval:1000}")
+    public void expireStale() {
+        long cutoff = System.currentTimeMillis() - timeoutMs;
+        typing.forEach((key, state) -> {
+            if (state.lastSeenAt < cutoff && typing.remove(key, state)) {
+                publish(key, state, false);
+            }
+        });
+    }
+
+    @EventListener
+    public void onDisconnected(SessionDisconnectEvent event) {
+        UUID userId = PresenceService.userId(event.getUser());
+        if (userId == null) {
+            return;
+        }
+        typing.forEach((key, state) -> {
+            if (key.userId().equals(userId) && typing.remove(key, state)) {
+                publish(key, state, false);
+            }
+        });
+    }
+
+    private void publish(Key key, Typing state, boolean isTyping) {
+        ChatWebSocketController.TypingIndicator indicator = new ChatWebSocketController.TypingIndicator(
+                key.chatId(), key.userId(), state.userName, isTyping);
+        for (String participant : state.participantNames) {
+            messagingTemplate.convertAndSendToUser(participant, "/queue/typing", indicator);
+        }
+    }
+}
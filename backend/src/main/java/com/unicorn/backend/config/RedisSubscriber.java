@@ -0,0 +1,169 @@
+package com.unicorn.backend.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Shared Redis pub/sub subscriptions for the Redis-backed stores and buses.
+ * All channels share one listener container and one health check; after a
+ * (re)connect each subscription resynchronizes, since messages published
+ * while this node was not listening are lost. Does nothing until something
+ * subscribes, so nodes without Redis never touch it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisSubscriber {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+
+    private static final class Subscription {
+        private final String channel;
+        private final Consumer<String> handler;
+        private final BooleanSupplier resync;
+        private volatile boolean synced = false;
+
+        private Subscription(String channel, Consumer<String> handler, BooleanSupplier resync) {
+            this.channel = channel;
+            this.handler = handler;
+            this.resync = resync;
+        }
+    }
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean connected = false;
+    private RedisMessageListenerContainer container;
+
+    /**
+     * Deliver the messages of a channel to a handler. The resync callback
+     * runs once listening starts and again after every reconnect; returning
+     * false retries it on the next health check.
+     */
+    public void subscribe(String channel, Consumer<String> handler, BooleanSupplier resync) {
+        Subscription subscription = new Subscription(channel, handler, resync);
+        synchronized (this) {
+            subscriptions.add(subscription);
+            if (container != null && container.isRunning()) {
+                addListener(container, subscription);
+            } else if (!startListening()) {
+                return;
+            }
+        }
+        subscription.synced = resync.getAsBoolean();
+        connected = true;
+    }
+
+    /**
+     * Whether Redis was reachable at the last check and the channels are
+     * being listened to.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Report a failed Redis write: every subscription resynchronizes once the
+     * health check reaches Redis again.
+     */
+    public void markDisconnected() {
+        connected = false;
+        subscriptions.forEach(subscription -> subscription.synced = false);
+    }
+
+    private synchronized boolean startListening() {
+        if (container != null && container.isRunning()) {
+            return true;
+        }
+        try {
+            shutdown();
+            container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            for (Subscription subscription : subscriptions) {
+                addListener(container, subscription);
+            }
+            container.afterPropertiesSet();
+            container.start();
+            return true;
+        } catch (Exception e) {
+            container = null;
+            log.warn("Could not subscribe to Redis, cross-node updates are off until it is reachable: {}",
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private void addListener(RedisMessageListenerContainer target, Subscription subscription) {
+        target.addMessageListener((message, pattern) -> {
+            try {
+                subscription.handler.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                log.error("Failed to handle message on {}: {}", subscription.channel, e.getMessage());
+            }
+        }, new ChannelTopic(subscription.channel));
+    }
+
+    /**
+     * Track Redis reachability, restart listening and resynchronize after
+     * reconnecting.
+     */
+    @Scheduled(fixedDelayString = "${redis.subscriber.health-interval:15000}")
+    public void checkConnection() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        boolean reachable;
+        try {
+            redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+            reachable = true;
+        } catch (Exception e) {
+            reachable = false;
+        }
+
+        if (!reachable) {
+            if (connected) {
+                markDisconnected();
+                log.warn("Redis subscriptions disconnected, cross-node updates are off until it is back");
+            }
+            return;
+        }
+        if (!startListening()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.synced) {
+                subscription.synced = subscription.resync.getAsBoolean();
+            }
+        }
+        if (!connected) {
+            connected = true;
+            log.info("Redis subscriptions connected");
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (container != null) {
+            try {
+                container.destroy();
+            } catch (Exception e) {
+                log.debug("Error stopping Redis listener container: {}", e.getMessage());
+            }
+        }
+    }
+}
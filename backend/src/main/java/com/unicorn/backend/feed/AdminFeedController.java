@@ -16,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for admin dashboard feed management.
@@ -29,6 +28,7 @@ import java.util.stream.Collectors;
 public class AdminFeedController {
 
     private final FeedService feedService;
+    private final com.unicorn.backend.admin.DashboardStatsService dashboardStatsService;
 
     // ==================== Feed Retrieval ====================
 
@@ -73,9 +73,7 @@ public class AdminFeedController {
         Page<Post> posts = feedService.getPostsForAdmin(postStatus, search, pageable);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("content", posts.getContent().stream()
-                .map(p -> feedService.toPostResponse(p, null))
-                .collect(Collectors.toList()));
+        response.put("content", feedService.toPostResponses(posts.getContent(), null));
         response.put("totalElements", posts.getTotalElements());
         response.put("totalPages", posts.getTotalPages());
         response.put("currentPage", posts.getNumber());
@@ -84,11 +82,11 @@ public class AdminFeedController {
     }
 
     /**
-     * Get feed statistics for KPI cards.
+     * Get feed statistics for KPI cards, from the dashboard stats snapshot.
      */
     @GetMapping("/stats")
     public ResponseEntity<FeedStatsResponse> getFeedStats() {
-        return ResponseEntity.ok(feedService.getFeedStats());
+        return ResponseEntity.ok(dashboardStatsService.getSnapshot().getFeed());
     }
 
     /**
@@ -191,6 +189,32 @@ public class AdminFeedController {
         return ResponseEntity.ok(Map.of("message", "Score recalculation triggered"));
     }
 
+    /**
+     * Get progress metrics of the score recalculation job.
+     */
+    @GetMapping("/recalculate-scores/stats")
+    public ResponseEntity<ScoreRecalculationStats> getScoreRecalculationStats() {
+        return ResponseEntity.ok(feedService.getScoreRecalculationStats());
+    }
+
+    /**
+     * Get ranked feed index metrics (size, hit rate, warm-up state).
+     */
+    @GetMapping("/index/stats")
+    public ResponseEntity<FeedIndexStats> getFeedIndexStats() {
+        return ResponseEntity.ok(feedService.getFeedIndexStats());
+    }
+
+    /**
+     * Rebuild the ranked feed index from the database.
+     */
+    @PostMapping("/index/rebuild")
+    public ResponseEntity<Map<String, String>> rebuildFeedIndex(@AuthenticationPrincipal User admin) {
+        log.info("Admin {} triggered feed index rebuild", admin.getId());
+        feedService.rebuildFeedIndex();
+        return ResponseEntity.ok(Map.of("message", "Feed index rebuilt"));
+    }
+
     // ==================== Post Engagement Details ====================
 
     /**
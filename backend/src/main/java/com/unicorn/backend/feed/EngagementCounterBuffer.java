@@ -0,0 +1,332 @@
+package com.unicorn.backend.feed;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind buffer for post engagement counters.
+ * Likes, comments and shares are accumulated as in-memory deltas per post and
+ * flushed to the posts table in one JDBC batch every few hundred
+ * milliseconds, so a viral post is no longer a hot-row lock inside every
+ * request transaction. Scores of flushed posts are recalculated once per flush.
+ * Flushes run on a dedicated thread, so long scheduled jobs cannot hold
+ * them up.
+ *
+ * Deltas not yet flushed are lost if the process dies. Posts flushed since
+ * the last run are therefore recounted from post_likes, post_comments and
+ * post_shares every reconcile interval, and at startup every post with
+ * engagement in the last startup-window-minutes is recounted. The remaining
+ * loss is an unlike or comment deletion that was still pending when the
+ * process died, on a post with no engagement in that window.
+ *
+ * Recounts run under a cluster-wide advisory lock, one node at a time. They
+ * can still overshoot: a row committed while its delta is pending on any
+ * node is in the recount, and the delta is added again when it is flushed.
+ * That node's next reconcile recounts the post, so the excess lasts at most
+ * one reconcile interval.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EngagementCounterBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostScoreRecalculationEngine scoreRecalculationEngine;
+
+    private static final String FLUSH_SQL = "UPDATE posts SET " +
+            "like_count = GREATEST(0, COALESCE(like_count, 0) + ?), " +
+            "comment_count = GREATEST(0, COALESCE(comment_count, 0) + ?), " +
+            "share_count = GREATEST(0, COALESCE(share_count, 0) + ?) " +
+            "WHERE id = ?";
+
+    private static final String RECOUNT_SQL = "UPDATE posts p SET " +
+            "like_count = (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.id), " +
+            "comment_count = (SELECT COUNT(*) FROM post_comments c WHERE c.post_id = p.id " +
+            "AND (c.is_deleted IS NULL OR c.is_deleted = false)), " +
+            "share_count = (SELECT COUNT(*) FROM post_shares s WHERE s.post_id = p.id) " +
+            "WHERE p.id = ?";
+
+    /**
+     * Held for the duration of a recount transaction, so nodes do not recount
+     * concurrently.
+     */
+    private static final String RECONCILE_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    private static final long RECONCILE_LOCK_KEY = 0x656E676167656D65L; // "engageme"
+
+    private static final String RECENTLY_ENGAGED_SQL = "SELECT post_id FROM post_likes WHERE created_at > ? " +
+            "UNION SELECT post_id FROM post_comments WHERE created_at > ? " +
+            "UNION SELECT post_id FROM post_shares WHERE created_at > ?";
+
+    @Value("${feed.engagement.reconcile.startup-window-minutes:60}")
+    private long startupWindowMinutes;
+
+    @Value("${feed.engagement.flush.interval:250}")
+    private long flushIntervalMs;
+
+    private ScheduledExecutorService flusher;
+
+    /**
+     * Pending (not yet flushed) counter changes of a post.
+     */
+    public record PendingEngagement(long likes, long comments, long shares) {
+        public static final PendingEngagement NONE = new PendingEngagement(0, 0, 0);
+    }
+
+    private static final class Deltas {
+        final LongAdder likes = new LongAdder();
+        final LongAdder comments = new LongAdder();
+        final LongAdder shares = new LongAdder();
+
+        boolean isEmpty() {
+            return likes.sum() == 0 && comments.sum() == 0 && shares.sum() == 0;
+        }
+    }
+
+    private final Map<UUID, Deltas> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Posts flushed since the last reconciliation.
+     */
+    private final Set<UUID> flushedSinceReconcile = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "engagement-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // An exception would cancel the periodic task
+            log.error("Engagement counter flush failed: {}", e.getMessage());
+        }
+    }
+
+    // ==================== Recording ====================
+
+    public void recordLike(UUID postId, long delta) {
+        afterCommit(() -> apply(postId, d -> d.likes.add(delta)));
+    }
+
+    public void recordComment(UUID postId, long delta) {
+        afterCommit(() -> apply(postId, d -> d.comments.add(delta)));
+    }
+
+    public void recordShare(UUID postId, long delta) {
+        afterCommit(() -> apply(postId, d -> d.shares.add(delta)));
+    }
+
+    /**
+     * Update the deltas of a post inside compute(), so the change cannot race
+     * with the flush dropping an idle entry.
+     */
+    private void apply(UUID postId, Consumer<Deltas> change) {
+        pending.compute(postId, (id, deltas) -> {
+            Deltas target = deltas != null ? deltas : new Deltas();
+            change.accept(target);
+            return target;
+        });
+    }
+
+    /**
+     * Apply the change only once the engagement row (like, comment, share) is
+     * committed, so rolled-back requests never move the counters.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * Deltas not yet written to the database, to be merged into responses.
+     */
+    public PendingEngagement getPending(UUID postId) {
+        Deltas deltas = pending.get(postId);
+        if (deltas == null) {
+            return PendingEngagement.NONE;
+        }
+        return new PendingEngagement(deltas.likes.sum(), deltas.comments.sum(), deltas.shares.sum());
+    }
+
+    // ==================== Flush ====================
+
+    /**
+     * Flush pending deltas in one batch and recalculate affected scores.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<UUID> postIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<UUID, Deltas> entry : pending.entrySet()) {
+            Deltas deltas = entry.getValue();
+            long likes = deltas.likes.sum();
+            long comments = deltas.comments.sum();
+            long shares = deltas.shares.sum();
+            if (likes == 0 && comments == 0 && shares == 0) {
+                // Drop idle entries; serialized against apply() by the map
+                pending.computeIfPresent(entry.getKey(), (id, d) -> d.isEmpty() ? null : d);
+                continue;
+            }
+
+            // Subtract exactly what is flushed; increments racing with the flush stay pending
+            deltas.likes.add(-likes);
+            deltas.comments.add(-comments);
+            deltas.shares.add(-shares);
+
+            postIds.add(entry.getKey());
+            batch.add(new Object[] { likes, comments, shares, entry.getKey() });
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+        } catch (Exception e) {
+            log.error("Failed to flush engagement counters for {} posts, will retry: {}",
+                    batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                apply((UUID) row[3], d -> {
+                    d.likes.add((Long) row[0]);
+                    d.comments.add((Long) row[1]);
+                    d.shares.add((Long) row[2]);
+                });
+            }
+            return;
+        }
+
+        flushedSinceReconcile.addAll(postIds);
+        try {
+            scoreRecalculationEngine.recalculate(postIds);
+        } catch (Exception e) {
+            // Counters are persisted; the decay job will pick the scores up
+            log.error("Failed to recalculate scores after engagement flush: {}", e.getMessage());
+        }
+
+        log.debug("Flushed engagement counters for {} posts", batch.size());
+    }
+
+    // ==================== Reconciliation ====================
+
+    /**
+     * Recount the counters of recently flushed posts from the source tables.
+     * Posts with deltas pending on this node are left for the next run, since
+     * their recount would include rows whose delta is not written yet; deltas
+     * pending on other nodes cannot be seen (see the class comment). Skipped
+     * while another node is recounting.
+     */
+    @Scheduled(fixedDelayString = "${feed.engagement.reconcile.interval:300000}",
+            initialDelayString = "${feed.engagement.reconcile.interval:300000}")
+    public synchronized void reconcile() {
+        flush();
+
+        List<UUID> postIds = new ArrayList<>();
+        for (UUID postId : flushedSinceReconcile) {
+            flushedSinceReconcile.remove(postId);
+            Deltas deltas = pending.get(postId);
+            if (deltas != null && !deltas.isEmpty()) {
+                flushedSinceReconcile.add(postId);
+            } else {
+                postIds.add(postId);
+            }
+        }
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            Boolean recounted = transactionTemplate.execute(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(RECONCILE_LOCK_SQL, Boolean.class,
+                        RECONCILE_LOCK_KEY))) {
+                    return false;
+                }
+                jdbcTemplate.batchUpdate(RECOUNT_SQL, postIds.stream().map(id -> new Object[] { id }).toList());
+                return true;
+            });
+            if (!Boolean.TRUE.equals(recounted)) {
+                flushedSinceReconcile.addAll(postIds);
+                log.debug("Engagement reconcile running on another node, retrying next interval");
+                return;
+            }
+            scoreRecalculationEngine.recalculate(postIds);
+            log.debug("Reconciled engagement counters of {} posts", postIds.size());
+        } catch (Exception e) {
+            flushedSinceReconcile.addAll(postIds);
+            log.error("Failed to reconcile engagement counters of {} posts, will retry: {}",
+                    postIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Recount posts engaged with shortly before startup, whose deltas may
+     * have been lost when the previous process stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileAfterStartup() {
+        Timestamp since = Timestamp.valueOf(LocalDateTime.now().minusMinutes(startupWindowMinutes));
+        try {
+            flushedSinceReconcile.addAll(
+                    jdbcTemplate.queryForList(RECENTLY_ENGAGED_SQL, UUID.class, since, since, since));
+            reconcile();
+        } catch (Exception e) {
+            log.error("Failed to reconcile engagement counters after startup: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
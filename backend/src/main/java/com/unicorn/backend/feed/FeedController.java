@@ -44,9 +44,7 @@ public class FeedController {
         UUID currentUserId = currentUser != null ? currentUser.getId() : null;
 
         Map<String, Object> response = new HashMap<>();
-        response.put("content", posts.getContent().stream()
-                .map(p -> feedService.toPostResponse(p, currentUserId))
-                .collect(Collectors.toList()));
+        response.put("content", feedService.toPostResponses(posts.getContent(), currentUserId));
         response.put("totalElements", posts.getTotalElements());
         response.put("totalPages", posts.getTotalPages());
         response.put("currentPage", posts.getNumber());
@@ -69,9 +67,7 @@ public class FeedController {
         UUID currentUserId = currentUser != null ? currentUser.getId() : null;
 
         Map<String, Object> response = new HashMap<>();
-        response.put("content", posts.stream()
-                .map(p -> feedService.toPostResponse(p, currentUserId))
-                .collect(Collectors.toList()));
+        response.put("content", feedService.toPostResponses(posts, currentUserId));
 
         // Include cursor for next page
         if (!posts.isEmpty()) {
@@ -101,9 +97,7 @@ public class FeedController {
         UUID currentUserId = currentUser != null ? currentUser.getId() : null;
 
         Map<String, Object> response = new HashMap<>();
-        response.put("content", posts.getContent().stream()
-                .map(p -> feedService.toPostResponse(p, currentUserId))
-                .collect(Collectors.toList()));
+        response.put("content", feedService.toPostResponses(posts.getContent(), currentUserId));
         response.put("totalElements", posts.getTotalElements());
         response.put("totalPages", posts.getTotalPages());
         response.put("currentPage", posts.getNumber());
@@ -127,9 +121,7 @@ public class FeedController {
         UUID currentUserId = currentUser != null ? currentUser.getId() : null;
 
         Map<String, Object> response = new HashMap<>();
-        response.put("content", posts.getContent().stream()
-                .map(p -> feedService.toPostResponse(p, currentUserId))
-                .collect(Collectors.toList()));
+        response.put("content", feedService.toPostResponses(posts.getContent(), currentUserId));
         response.put("totalElements", posts.getTotalElements());
         response.put("totalPages", posts.getTotalPages());
         response.put("currentPage", posts.getNumber());
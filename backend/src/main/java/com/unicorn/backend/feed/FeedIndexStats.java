@@ -0,0 +1,41 @@
+package com.unicorn.backend.feed;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the in-memory ranked feed index health.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedIndexStats {
+
+    /**
+     * False while the index is warming (feed falls back to SQL).
+     */
+    private boolean ready;
+
+    private long size;
+    private long featuredSize;
+
+    /**
+     * Feed requests served from the index.
+     */
+    private long hits;
+
+    /**
+     * Feed requests that fell back to repository queries.
+     */
+    private long misses;
+
+    private double hitRate;
+
+    private LocalDateTime builtAt;
+    private long buildDurationMs;
+}
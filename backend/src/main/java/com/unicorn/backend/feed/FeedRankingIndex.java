@@ -0,0 +1,560 @@
+package com.unicorn.backend.feed;
+
+import com.unicorn.backend.appconfig.ConfigChangeBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-process ranked index of ACTIVE posts.
+ * Serves feed ordering (featured first, then ranking score) without running
+ * an ORDER BY over the posts table. Built at startup and kept current by
+ * FeedService writes and the score decay job. Until the initial build
+ * completes, {@link #isReady()} is false and callers fall back to SQL.
+ *
+ * Every node holds its own index. Writes and score recalculations are
+ * applied after their transaction commits and announced on the
+ * ConfigChangeBus (one message per recalculated batch), so other nodes reload
+ * the posts; a periodic resync against the posts table covers missed events.
+ *
+ * Ordering ties are broken by id using unsigned comparison so that cursor
+ * continuations match the Postgres uuid ordering of the cursor query.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedRankingIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfigChangeBus configChangeBus;
+
+    private static final String CACHE_NAME = "feed-index";
+
+    @Value("${feed.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feed.index.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    /**
+     * Index entry. Post and author ids are held as primitive longs.
+     */
+    private static final class Entry {
+        final long idMsb;
+        final long idLsb;
+        final long authorMsb;
+        final long authorLsb;
+        final double score;
+        final long createdAt;
+        final boolean featured;
+        final long featuredAt;
+
+        Entry(UUID id, UUID authorId, double score, long createdAt, boolean featured, long featuredAt) {
+            this.idMsb = id.getMostSignificantBits();
+            this.idLsb = id.getLeastSignificantBits();
+            this.authorMsb = authorId != null ? authorId.getMostSignificantBits() : 0L;
+            this.authorLsb = authorId != null ? authorId.getLeastSignificantBits() : 0L;
+            this.score = score;
+            this.createdAt = createdAt;
+            this.featured = featured;
+            this.featuredAt = featuredAt;
+        }
+
+        UUID id() {
+            return new UUID(idMsb, idLsb);
+        }
+
+        boolean isAuthoredBy(UUID authorId) {
+            return authorId != null
+                    && authorMsb == authorId.getMostSignificantBits()
+                    && authorLsb == authorId.getLeastSignificantBits();
+        }
+
+        int compareIdDesc(Entry other) {
+            int cmp = Long.compareUnsigned(other.idMsb, idMsb);
+            return cmp != 0 ? cmp : Long.compareUnsigned(other.idLsb, idLsb);
+        }
+    }
+
+    /**
+     * Regular posts: ranking score DESC, id DESC (same as the cursor query).
+     */
+    private static final Comparator<Entry> RANKED_ORDER = (a, b) -> {
+        int cmp = Double.compare(b.score, a.score);
+        return cmp != 0 ? cmp : a.compareIdDesc(b);
+    };
+
+    /**
+     * Featured posts: featuredAt DESC, id DESC.
+     */
+    private static final Comparator<Entry> FEATURED_ORDER = (a, b) -> {
+        int cmp = Long.compare(b.featuredAt, a.featuredAt);
+        return cmp != 0 ? cmp : a.compareIdDesc(b);
+    };
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(RANKED_ORDER);
+    private final ConcurrentSkipListSet<Entry> featured = new ConcurrentSkipListSet<>(FEATURED_ORDER);
+    private final Map<UUID, LongAdder> postsPerAuthor = new ConcurrentHashMap<>();
+
+    /**
+     * Ids changed while a build or resync is running, so the loader does not
+     * overwrite them with (or resurrect them from) an older snapshot.
+     */
+    private final Set<UUID> touchedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean building = new AtomicBoolean(false);
+    private volatile boolean ready = false;
+    private volatile LocalDateTime builtAt;
+    private volatile long buildDurationMs;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private static final String LOAD_SQL = "SELECT id, author_id, ranking_score, created_at, is_featured, featured_at " +
+            "FROM posts WHERE status = 'ACTIVE' AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String LOAD_MANY_SQL = "SELECT id, author_id, ranking_score, created_at, is_featured, " +
+            "featured_at FROM posts WHERE status = 'ACTIVE' AND id = ANY (?)";
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> new Entry(
+            rs.getObject("id", UUID.class),
+            rs.getObject("author_id", UUID.class),
+            rs.getDouble("ranking_score"),
+            toEpochMillis(rs.getTimestamp("created_at")),
+            rs.getBoolean("is_featured"),
+            toEpochMillis(rs.getTimestamp("featured_at")));
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    // ==================== Build ====================
+
+    @PostConstruct
+    public void subscribe() {
+        // Keys are comma-separated post ids
+        configChangeBus.subscribeInvalidations(CACHE_NAME, key -> {
+            if (key == null) {
+                resync();
+            } else {
+                reload(Arrays.stream(key.split(",")).map(UUID::fromString).toList());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    /**
+     * (Re)build the index from the posts table.
+     * Feed requests fall back to SQL while the build is running.
+     */
+    public void rebuild() {
+        if (!building.compareAndSet(false, true)) {
+            log.warn("Feed index build already running, skipping");
+            return;
+        }
+
+        ready = false;
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            clear();
+
+            UUID cursor = MIN_UUID;
+            while (true) {
+                List<Entry> rows = jdbcTemplate.query(LOAD_SQL, ENTRY_MAPPER, cursor, loadBatchSize);
+
+                for (Entry entry : rows) {
+                    UUID id = entry.id();
+                    if (!touchedWhileLoading.contains(id)) {
+                        // Live updates that arrived during the build win over the snapshot
+                        byId.computeIfAbsent(id, k -> {
+                            add(entry);
+                            return entry;
+                        });
+                    }
+                }
+
+                if (rows.size() < loadBatchSize) {
+                    break;
+                }
+                cursor = rows.get(rows.size() - 1).id();
+            }
+
+            builtAt = LocalDateTime.now();
+            buildDurationMs = Duration.between(startedAt, builtAt).toMillis();
+            ready = true;
+            log.info("Feed index built with {} posts ({} featured) in {} ms",
+                    byId.size(), featured.size(), buildDurationMs);
+        } catch (Exception e) {
+            log.error("Failed to build feed index, feed will use database queries: {}", e.getMessage());
+        } finally {
+            touchedWhileLoading.clear();
+            building.set(false);
+        }
+    }
+
+    private void clear() {
+        byId.clear();
+        ranked.clear();
+        featured.clear();
+        postsPerAuthor.clear();
+        touchedWhileLoading.clear();
+    }
+
+    /**
+     * Bring a ready index in line with the posts table without taking it
+     * offline: changed posts are replaced and posts no longer ACTIVE dropped.
+     * Catches up on changes made by other nodes whose events were missed.
+     */
+    @Scheduled(fixedDelayString = "${feed.index.resync-interval:600000}",
+            initialDelayString = "${feed.index.resync-interval:600000}")
+    public void resync() {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            rebuild();
+            return;
+        }
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Set<UUID> seen = new HashSet<>();
+        int dropped = 0;
+        try {
+            UUID cursor = MIN_UUID;
+            while (true) {
+                List<Entry> rows = jdbcTemplate.query(LOAD_SQL, ENTRY_MAPPER, cursor, loadBatchSize);
+                for (Entry entry : rows) {
+                    seen.add(entry.id());
+                    if (!touchedWhileLoading.contains(entry.id())) {
+                        put(entry);
+                    }
+                }
+                if (rows.size() < loadBatchSize) {
+                    break;
+                }
+                cursor = rows.get(rows.size() - 1).id();
+            }
+
+            for (UUID id : byId.keySet()) {
+                if (!seen.contains(id) && !touchedWhileLoading.contains(id)) {
+                    drop(id);
+                    dropped++;
+                }
+            }
+            log.debug("Feed index resynced: {} posts, {} dropped in {} ms", seen.size(), dropped,
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to resync feed index: {}", e.getMessage());
+        } finally {
+            touchedWhileLoading.clear();
+            building.set(false);
+        }
+    }
+
+    /**
+     * Re-read one post after another node changed it.
+     */
+    private void reload(List<UUID> postIds) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<Entry> rows = jdbcTemplate.query(LOAD_MANY_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", postIds.toArray())),
+                    ENTRY_MAPPER);
+            Set<UUID> active = new HashSet<>();
+            for (Entry entry : rows) {
+                touch(entry.id());
+                put(entry);
+                active.add(entry.id());
+            }
+            for (UUID postId : postIds) {
+                if (!active.contains(postId)) {
+                    touch(postId);
+                    drop(postId);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reload {} posts into feed index: {}", postIds.size(), e.getMessage());
+        }
+    }
+
+    // ==================== Incremental Updates ====================
+
+    /**
+     * Insert or reposition a post once the current transaction commits.
+     * Non-ACTIVE posts are removed.
+     */
+    public void upsert(Post post) {
+        if (!enabled || post.getId() == null) {
+            return;
+        }
+        if (post.getStatus() != PostStatus.ACTIVE) {
+            remove(post.getId());
+            return;
+        }
+
+        Entry entry = new Entry(
+                post.getId(),
+                post.getAuthorId(),
+                post.getRankingScore() != null ? post.getRankingScore() : 0.0,
+                toEpochMillis(post.getCreatedAt()),
+                Boolean.TRUE.equals(post.getIsFeatured()),
+                toEpochMillis(post.getFeaturedAt()));
+
+        afterCommit(() -> {
+            touch(entry.id());
+            put(entry);
+            configChangeBus.publishInvalidation(CACHE_NAME, entry.id().toString());
+        });
+    }
+
+    /**
+     * Update the scores of indexed posts (recalculation engine) and announce
+     * the batch to the other nodes once the current transaction commits.
+     */
+    public void updateScores(List<UUID> postIds, double[] scores) {
+        if (!enabled || postIds.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (int i = 0; i < postIds.size(); i++) {
+                double score = scores[i];
+                touch(postIds.get(i));
+                byId.computeIfPresent(postIds.get(i), (id, old) -> {
+                    discard(old);
+                    Entry entry = new Entry(id, authorOf(old), score, old.createdAt, old.featured, old.featuredAt);
+                    add(entry);
+                    return entry;
+                });
+            }
+            configChangeBus.publishInvalidation(CACHE_NAME,
+                    postIds.stream().map(UUID::toString).collect(Collectors.joining(",")));
+        });
+    }
+
+    /**
+     * Remove a post (hidden or deleted) once the current transaction commits.
+     */
+    public void remove(UUID postId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            touch(postId);
+            drop(postId);
+            configChangeBus.publishInvalidation(CACHE_NAME, postId.toString());
+        });
+    }
+
+    private void put(Entry entry) {
+        byId.compute(entry.id(), (id, old) -> {
+            if (old != null) {
+                discard(old);
+            }
+            add(entry);
+            return entry;
+        });
+    }
+
+    private void drop(UUID postId) {
+        byId.computeIfPresent(postId, (id, old) -> {
+            discard(old);
+            return null;
+        });
+    }
+
+    private void touch(UUID postId) {
+        if (building.get()) {
+            touchedWhileLoading.add(postId);
+        }
+    }
+
+    /**
+     * Run an index change after commit, so a rolled back write never shows
+     * up in the feed.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void add(Entry entry) {
+        (entry.featured ? featured : ranked).add(entry);
+        postsPerAuthor.computeIfAbsent(authorOf(entry), k -> new LongAdder()).increment();
+    }
+
+    private void discard(Entry entry) {
+        (entry.featured ? featured : ranked).remove(entry);
+        LongAdder count = postsPerAuthor.get(authorOf(entry));
+        if (count != null) {
+            count.decrement();
+        }
+    }
+
+    private static UUID authorOf(Entry entry) {
+        return new UUID(entry.authorMsb, entry.authorLsb);
+    }
+
+    // ==================== Reads ====================
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Post ids for an offset page: featured first, then by ranking score.
+     *
+     * @param excludeAuthorId Optional author whose posts are skipped (discover feed)
+     */
+    public List<UUID> page(long offset, int size, UUID excludeAuthorId) {
+        List<UUID> ids = new ArrayList<>(size);
+        long skipped = 0;
+
+        Iterable<Entry> featuredOrder = excludeAuthorId == null ? featured : featuredByScore();
+        for (Iterable<Entry> source : List.of(featuredOrder, ranked)) {
+            for (Entry entry : source) {
+                if (entry.isAuthoredBy(excludeAuthorId)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                ids.add(entry.id());
+                if (ids.size() >= size) {
+                    return ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * The discover query orders featured posts by score rather than featuredAt.
+     */
+    private List<Entry> featuredByScore() {
+        List<Entry> entries = new ArrayList<>(featured);
+        entries.sort(Comparator.comparingDouble((Entry e) -> e.score).reversed()
+                .thenComparing(Comparator.comparingLong((Entry e) -> e.createdAt).reversed()));
+        return entries;
+    }
+
+    /**
+     * Most recently featured post ids.
+     */
+    public List<UUID> featured(int limit) {
+        List<UUID> ids = new ArrayList<>(limit);
+        for (Entry entry : featured) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(entry.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Non-featured post ids strictly after the cursor in ranking order.
+     * A null cursor starts from the top.
+     */
+    public List<UUID> after(Double cursorScore, UUID cursorId, int limit) {
+        NavigableSet<Entry> tail = ranked;
+        if (cursorScore != null && cursorId != null) {
+            Entry probe = new Entry(cursorId, null, cursorScore, 0L, false, 0L);
+            tail = ranked.tailSet(probe, false);
+        }
+
+        List<UUID> ids = new ArrayList<>(limit);
+        for (Entry entry : tail) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(entry.id());
+        }
+        return ids;
+    }
+
+    public long size() {
+        return byId.size();
+    }
+
+    /**
+     * Number of indexed posts not written by the given author.
+     */
+    public long sizeExcludingAuthor(UUID authorId) {
+        LongAdder own = postsPerAuthor.get(authorId);
+        return byId.size() - (own != null ? own.sum() : 0);
+    }
+
+    // ==================== Metrics ====================
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public FeedIndexStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return FeedIndexStats.builder()
+                .ready(isReady())
+                .size(byId.size())
+                .featuredSize(featured.size())
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(total > 0 ? (double) hitCount / total : 0.0)
+                .builtAt(builtAt)
+                .buildDurationMs(buildDurationMs)
+                .build();
+    }
+
+    private static long toEpochMillis(Timestamp timestamp) {
+        return timestamp != null ? toEpochMillis(timestamp.toLocalDateTime()) : 0L;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+}
@@ -1,6 +1,8 @@
 package com.unicorn.backend.feed;
 
 import com.unicorn.backend.appconfig.AppConfigService;
+import com.unicorn.backend.appconfig.ConfigSnapshot;
+import com.unicorn.backend.investor.InvestorProfileRepository;
 import com.unicorn.backend.startup.Startup;
 import com.unicorn.backend.startup.StartupMember;
 import com.unicorn.backend.startup.StartupRepository;
@@ -9,9 +11,12 @@ import com.unicorn.backend.subscription.SubscriptionPlan;
 import com.unicorn.backend.subscription.SubscriptionService;
 import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserRepository;
+import com.unicorn.backend.user.UserSummary;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -19,7 +24,6 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -40,20 +44,41 @@ public class FeedService {
     private final UserRepository userRepository;
     private final SubscriptionService subscriptionService;
     private final StartupRepository startupRepository;
+    private final InvestorProfileRepository investorProfileRepository;
     private final AppConfigService appConfigService;
+    private final PostScoreRecalculationEngine scoreRecalculationEngine;
+    private final FeedRankingIndex feedRankingIndex;
+    private final EngagementCounterBuffer engagementCounterBuffer;
 
     // ==================== Algorithm Config Keys ====================
-    private static final String CONFIG_DECAY_GRAVITY = "feed.decay.gravity";
-    private static final String CONFIG_LIKE_POINTS = "feed.like.points";
-    private static final String CONFIG_COMMENT_POINTS = "feed.comment.points";
-    private static final String CONFIG_SHARE_POINTS = "feed.share.points";
-    private static final String CONFIG_EDIT_PENALTY = "feed.edit.penalty";
     private static final String CONFIG_BOOST_FREE = "feed.boost.free";
     private static final String CONFIG_BOOST_PRO = "feed.boost.pro";
     private static final String CONFIG_BOOST_ELITE = "feed.boost.elite";
     private static final String CONFIG_MEDIA_EDIT_HOURS = "feed.media.edit.hours";
-    private static final String CONFIG_BASE_FRESHNESS = "feed.base.freshness";
-    private static final int BATCH_RECALC_SIZE = 500;
+
+    /**
+     * Feed settings pre-resolved from the config snapshot.
+     */
+    private record FeedSettings(int maxPostLength, int maxCommentLength, int mediaEditHours,
+            double boostFree, double boostPro, double boostElite) {
+
+        static FeedSettings from(ConfigSnapshot config) {
+            return new FeedSettings(
+                    config.getInt("max_post_length", 2000),
+                    config.getInt("max_comment_length", 1000),
+                    config.getInt(CONFIG_MEDIA_EDIT_HOURS, 2),
+                    config.getDouble(CONFIG_BOOST_FREE, 1.0),
+                    config.getDouble(CONFIG_BOOST_PRO, 1.5),
+                    config.getDouble(CONFIG_BOOST_ELITE, 2.0));
+        }
+    }
+
+    private volatile FeedSettings settings;
+
+    @PostConstruct
+    public void init() {
+        appConfigService.addListener(config -> settings = FeedSettings.from(config));
+    }
 
     // ==================== Post Creation ====================
 
@@ -67,7 +92,7 @@ public class FeedService {
         }
 
         // Validate content length
-        int maxPostLength = appConfigService.getIntValue("max_post_length", 2000);
+        int maxPostLength = settings.maxPostLength();
         if (request.getContent() != null && request.getContent().length() > maxPostLength) {
             throw new IllegalArgumentException("Post content must not exceed " + maxPostLength + " characters");
         }
@@ -139,13 +164,13 @@ public class FeedService {
     private double getSubscriptionMultiplier(UUID userId) {
         Subscription subscription = subscriptionService.getActiveSubscription(userId);
         if (subscription == null) {
-            return getConfigDouble(CONFIG_BOOST_FREE, 1.0);
+            return settings.boostFree();
         }
 
         return switch (subscription.getPlanType()) {
-            case PRO -> getConfigDouble(CONFIG_BOOST_PRO, 1.5);
-            case ELITE -> getConfigDouble(CONFIG_BOOST_ELITE, 2.0);
-            default -> getConfigDouble(CONFIG_BOOST_FREE, 1.0);
+            case PRO -> settings.boostPro();
+            case ELITE -> settings.boostElite();
+            default -> settings.boostFree();
         };
     }
 
@@ -166,7 +191,7 @@ public class FeedService {
 
         // Validate content length if changing
         if (request.getContent() != null) {
-            int maxPostLength = appConfigService.getIntValue("max_post_length", 2000);
+            int maxPostLength = settings.maxPostLength();
             if (request.getContent().length() > maxPostLength) {
                 throw new IllegalArgumentException("Post content must not exceed " + maxPostLength + " characters");
             }
@@ -223,7 +248,7 @@ public class FeedService {
             return true; // No media yet, can add
         }
 
-        int allowedHours = appConfigService.getIntValue(CONFIG_MEDIA_EDIT_HOURS, 2);
+        int allowedHours = settings.mediaEditHours();
         LocalDateTime deadline = post.getCreatedAt().plusHours(allowedHours);
         return LocalDateTime.now().isBefore(deadline);
     }
@@ -232,91 +257,48 @@ public class FeedService {
 
     /**
      * Calculate and update the ranking score for a post.
-     * Formula: ((BaseFreshness + EngagementScore) * SubscriptionMultiplier) / (Age
-     * + 1)^G - EditPenalty
-     * 
-     * BaseFreshness: New posts start with 10 points so they're visible in feed.
-     * EngagementScore: Points from likes, comments, shares.
-     * Time Decay: Score decreases as post ages.
+     * See {@link RankingWeights#score} for the formula.
      */
     @Transactional
     public void recalculatePostScore(Post post) {
-        // Get algorithm config
-        double likePoints = getConfigDouble(CONFIG_LIKE_POINTS, 1.0);
-        double commentPoints = getConfigDouble(CONFIG_COMMENT_POINTS, 3.0);
-        double sharePoints = getConfigDouble(CONFIG_SHARE_POINTS, 5.0);
-        double gravity = getConfigDouble(CONFIG_DECAY_GRAVITY, 1.5);
-        double editPenalty = getConfigDouble(CONFIG_EDIT_PENALTY, 0.1);
-
-        // Base freshness score - new posts start with visibility (configurable from
-        // dashboard)
-        double baseFreshness = getConfigDouble(CONFIG_BASE_FRESHNESS, 10.0);
-
-        // Calculate engagement score
-        int likes = post.getLikeCount() != null ? post.getLikeCount() : 0;
-        int comments = post.getCommentCount() != null ? post.getCommentCount() : 0;
-        int shares = post.getShareCount() != null ? post.getShareCount() : 0;
-
-        double engagementScore = (likes * likePoints) + (comments * commentPoints) + (shares * sharePoints);
-
-        // Total base score = freshness + engagement
-        double baseScore = baseFreshness + engagementScore;
-
-        // Apply subscription boost (frozen at creation time)
-        double multiplier = post.getSubscriptionMultiplier() != null ? post.getSubscriptionMultiplier() : 1.0;
-        double boostedScore = baseScore * multiplier;
-
-        // Apply time decay
-        LocalDateTime createdAt = post.getCreatedAt();
-        long hoursAge = 0;
-        if (createdAt != null) {
-            hoursAge = Duration.between(createdAt, LocalDateTime.now()).toHours();
-        }
-        double decayedScore = boostedScore / Math.pow(hoursAge + 1, gravity);
-
-        // Apply edit penalty
-        int editCount = post.getEditCount() != null ? post.getEditCount() : 0;
-        double penalty = Boolean.TRUE.equals(post.getIsEdited()) ? (editCount * editPenalty) : 0;
-
-        double finalScore = Math.max(0, decayedScore - penalty);
-
-        post.setRankingScore(finalScore);
-        post.setScoreCalculatedAt(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        post.setRankingScore(scoreRecalculationEngine.getRankingWeights().score(post, now));
+        post.setScoreCalculatedAt(now);
         postRepository.save(post);
+        feedRankingIndex.upsert(post);
     }
 
     /**
-     * Batch recalculate scores for active posts (scheduled job).
-     * Processes in batches of 500 to prevent memory issues at scale.
+     * Recalculate time decay for all stale active posts (scheduled job).
+     * Delegates to the set-based recalculation engine, which streams every
+     * stale post instead of a single capped batch.
      */
     @Scheduled(fixedDelayString = "${feed.score.recalc.interval:900000}") // Default 15 minutes
-    @Transactional
     public void recalculateAllScores() {
         log.info("Starting batch score recalculation...");
+        scoreRecalculationEngine.recalculateStaleScores();
+    }
 
-        LocalDateTime threshold = LocalDateTime.now().minusMinutes(15);
-        Pageable batchPage = PageRequest.of(0, BATCH_RECALC_SIZE);
-        List<Post> postsToUpdate = postRepository.findPostsNeedingScoreRecalculation(threshold, batchPage);
-
-        int count = 0;
-        for (Post post : postsToUpdate) {
-            try {
-                recalculatePostScore(post);
-                count++;
-            } catch (Exception e) {
-                log.error("Failed to recalculate score for post {}: {}", post.getId(), e.getMessage());
-            }
-        }
-
-        log.info("Batch score recalculation complete. Updated {} of {} stale posts.", count, postsToUpdate.size());
+    /**
+     * Get progress metrics of the score recalculation job.
+     */
+    public ScoreRecalculationStats getScoreRecalculationStats() {
+        return scoreRecalculationEngine.getStats();
     }
 
     // ==================== Feed Retrieval ====================
 
     /**
      * Get ranked feed for mobile app.
+     * Served from the in-memory ranking index once it is warm.
      */
     public Page<Post> getFeed(Pageable pageable) {
+        if (feedRankingIndex.isReady()) {
+            feedRankingIndex.recordHit();
+            List<UUID> ids = feedRankingIndex.page(pageable.getOffset(), pageable.getPageSize(), null);
+            return new PageImpl<>(loadInRankOrder(ids), pageable, feedRankingIndex.size());
+        }
+        feedRankingIndex.recordMiss();
         return postRepository.findActiveFeedPosts(pageable);
     }
 
@@ -324,6 +306,13 @@ public class FeedService {
      * Get ranked feed excluding current user's posts.
      */
     public Page<Post> getDiscoverFeed(UUID excludeUserId, Pageable pageable) {
+        if (feedRankingIndex.isReady()) {
+            feedRankingIndex.recordHit();
+            List<UUID> ids = feedRankingIndex.page(pageable.getOffset(), pageable.getPageSize(), excludeUserId);
+            return new PageImpl<>(loadInRankOrder(ids), pageable,
+                    feedRankingIndex.sizeExcludingAuthor(excludeUserId));
+        }
+        feedRankingIndex.recordMiss();
         return postRepository.findActiveFeedPostsExcludingAuthor(excludeUserId, pageable);
     }
 
@@ -345,6 +334,17 @@ public class FeedService {
      * @return List of posts after the cursor
      */
     public List<Post> getFeedWithCursor(Double cursorScore, UUID cursorId, int limit) {
+        if (feedRankingIndex.isReady()) {
+            feedRankingIndex.recordHit();
+            List<UUID> ids = new ArrayList<>();
+            if (cursorScore == null || cursorId == null) {
+                ids.addAll(feedRankingIndex.featured(5));
+            }
+            ids.addAll(feedRankingIndex.after(cursorScore, cursorId, limit));
+            return loadInRankOrder(ids);
+        }
+        feedRankingIndex.recordMiss();
+
         Pageable pageable = PageRequest.of(0, limit);
 
         // If no cursor, get first page including featured
@@ -358,6 +358,43 @@ public class FeedService {
         return postRepository.findFeedPostsAfterCursor(cursorScore, cursorId, pageable);
     }
 
+    /**
+     * Load posts by id, preserving the index order.
+     * Posts that are no longer active are dropped from the result and the index.
+     */
+    private List<Post> loadInRankOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, Post> postsById = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, p -> p));
+
+        List<Post> ordered = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Post post = postsById.get(id);
+            if (post != null && post.getStatus() == PostStatus.ACTIVE) {
+                ordered.add(post);
+            } else {
+                feedRankingIndex.remove(id);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Get ranked feed index metrics.
+     */
+    public FeedIndexStats getFeedIndexStats() {
+        return feedRankingIndex.getStats();
+    }
+
+    /**
+     * Rebuild the ranked feed index from the database.
+     */
+    public void rebuildFeedIndex() {
+        feedRankingIndex.rebuild();
+    }
+
     // ==================== Engagement ====================
 
     /**
@@ -369,8 +406,9 @@ public class FeedService {
             throw new RuntimeException("Already liked this post");
         }
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found: " + postId));
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found: " + postId);
+        }
 
         PostLike like = PostLike.builder()
                 .postId(postId)
@@ -378,8 +416,8 @@ public class FeedService {
                 .build();
         likeRepository.save(like);
 
-        post.incrementLikes();
-        recalculatePostScore(post);
+        // Counter and score are written behind, outside this transaction
+        engagementCounterBuffer.recordLike(postId, 1);
 
         log.info("User {} liked post {}", userId, postId);
     }
@@ -393,12 +431,8 @@ public class FeedService {
             throw new RuntimeException("Post not liked");
         }
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found: " + postId));
-
         likeRepository.deleteByPostIdAndUserId(postId, userId);
-        post.decrementLikes();
-        recalculatePostScore(post);
+        engagementCounterBuffer.recordLike(postId, -1);
 
         log.info("User {} unliked post {}", userId, postId);
     }
@@ -416,8 +450,9 @@ public class FeedService {
      */
     @Transactional
     public String sharePost(UUID postId, UUID userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found: " + postId));
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found: " + postId);
+        }
 
         // Generate deep link
         String deepLink = "unicorn://post/" + postId;
@@ -435,8 +470,7 @@ public class FeedService {
                 .build();
         shareRepository.save(share);
 
-        post.incrementShares();
-        recalculatePostScore(post);
+        engagementCounterBuffer.recordShare(postId, 1);
 
         log.info("User {} shared post {} (first time)", userId, postId);
         return deepLink;
@@ -449,11 +483,12 @@ public class FeedService {
      */
     @Transactional
     public Comment addComment(UUID postId, UUID authorId, CreateCommentRequest request) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found: " + postId));
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found: " + postId);
+        }
 
         // Validate content length
-        int maxCommentLength = appConfigService.getIntValue("max_comment_length", 1000);
+        int maxCommentLength = settings.maxCommentLength();
         if (request.getContent() != null && request.getContent().length() > maxCommentLength) {
             throw new IllegalArgumentException("Comment content must not exceed " + maxCommentLength + " characters");
         }
@@ -474,9 +509,8 @@ public class FeedService {
 
         comment = commentRepository.save(comment);
 
-        // Update post comment count
-        post.incrementComments();
-        recalculatePostScore(post);
+        // Update post comment count (written behind)
+        engagementCounterBuffer.recordComment(postId, 1);
 
         log.info("User {} commented on post {}", authorId, postId);
         return comment;
@@ -502,12 +536,8 @@ public class FeedService {
         comment.setIsDeleted(true);
         commentRepository.save(comment);
 
-        // Update post comment count
-        Post post = postRepository.findById(comment.getPostId()).orElse(null);
-        if (post != null) {
-            post.decrementComments();
-            recalculatePostScore(post);
-        }
+        // Update post comment count (written behind)
+        engagementCounterBuffer.recordComment(comment.getPostId(), -1);
 
         log.info("User {} deleted comment {}", userId, commentId);
     }
@@ -543,6 +573,7 @@ public class FeedService {
 
         post.setStatus(PostStatus.DELETED);
         postRepository.save(post);
+        feedRankingIndex.remove(postId);
 
         log.info("User {} deleted post {}", userId, postId);
     }
@@ -604,6 +635,7 @@ public class FeedService {
         post.setModerationReason(reason);
         post.setModeratedAt(LocalDateTime.now());
         postRepository.save(post);
+        feedRankingIndex.remove(postId);
 
         log.info("Admin {} hid post {} for reason: {}", adminId, postId, reason);
     }
@@ -622,6 +654,7 @@ public class FeedService {
 
         post.setStatus(PostStatus.ACTIVE);
         postRepository.save(post);
+        feedRankingIndex.upsert(post);
 
         log.info("Admin {} restored post {}", adminId, postId);
     }
@@ -639,6 +672,7 @@ public class FeedService {
         post.setModerationReason(reason);
         post.setModeratedAt(LocalDateTime.now());
         postRepository.save(post);
+        feedRankingIndex.remove(postId);
 
         log.info("Admin {} deleted post {} for reason: {}", adminId, postId, reason);
     }
@@ -657,6 +691,7 @@ public class FeedService {
 
         post.feature(adminId, durationHours);
         postRepository.save(post);
+        feedRankingIndex.upsert(post);
 
         if (durationHours != null) {
             log.info("Admin {} featured post {} for {} hours", adminId, postId, durationHours);
@@ -675,6 +710,7 @@ public class FeedService {
 
         post.unfeature();
         postRepository.save(post);
+        feedRankingIndex.upsert(post);
 
         log.info("Admin {} unfeatured post {}", adminId, postId);
     }
@@ -685,56 +721,86 @@ public class FeedService {
      * Convert Post entity to PostResponse DTO with author info.
      */
     public PostResponse toPostResponse(Post post, UUID currentUserId) {
-        User author = userRepository.findById(post.getAuthorId()).orElse(null);
-
-        PostResponse.PostResponseBuilder builder = PostResponse.builder()
-                .id(post.getId())
-                .content(post.getContent())
-                .mediaUrl(post.getMediaUrl())
-                .contextualTitle(post.getContextualTitle())
-                .authorId(post.getAuthorId())
-                .status(post.getStatus().name())
-                .isFeatured(post.isCurrentlyFeatured()) // Use computed method to check expiry
-                .featuredAt(post.getFeaturedAt())
-                .featuredUntil(post.getFeaturedUntil())
-                .featuredBy(post.getFeaturedBy())
-                .isEdited(post.getIsEdited())
-                .editCount(post.getEditCount())
-                .likeCount(post.getLikeCount())
-                .commentCount(post.getCommentCount())
-                .shareCount(post.getShareCount())
-                .rankingScore(post.getRankingScore())
-                .subscriptionMultiplier(post.getSubscriptionMultiplier())
-                .scoreCalculatedAt(post.getScoreCalculatedAt())
-                .createdAt(post.getCreatedAt())
-                .updatedAt(post.getUpdatedAt())
-                .lastEditedAt(post.getLastEditedAt())
-                .moderatedBy(post.getModeratedBy())
-                .moderationReason(post.getModerationReason())
-                .moderatedAt(post.getModeratedAt());
-
-        if (author != null) {
-            builder.authorName(author.getDisplayName() != null ? author.getDisplayName()
-                    : (author.getFirstName() + " " + author.getLastName()))
-                    .authorUsername(author.getUsername())
-                    .authorAvatarUrl(author.getAvatarUrl())
-                    .authorRole(author.getRole());
-
-            // Get author's current plan
-            Subscription subscription = subscriptionService.getActiveSubscription(author.getId());
-            builder.authorPlan(subscription != null ? subscription.getPlanType().name() : "FREE");
+        return toPostResponses(List.of(post), currentUserId).get(0);
+    }
 
-            // Check if user is a verified investor
-            builder.authorIsVerified(author.getInvestorProfile() != null &&
-                    author.getInvestorProfile().getIsVerified());
+    /**
+     * Convert a page of posts to PostResponse DTOs.
+     * Authors, active plans, investor verification and the viewer's likes are
+     * loaded for the whole page with one IN (...) query each.
+     */
+    public List<PostResponse> toPostResponses(List<Post> posts, UUID currentUserId) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // Check if current user liked this post
+        Set<UUID> authorIds = posts.stream().map(Post::getAuthorId).collect(Collectors.toSet());
+        Map<UUID, UserSummary> authors = userRepository.findByIdIn(authorIds).stream()
+                .collect(Collectors.toMap(UserSummary::getId, u -> u));
+        Map<UUID, SubscriptionPlan> plans = subscriptionService.getActivePlans(authors.keySet());
+        Set<UUID> verifiedAuthors = authors.isEmpty() ? Set.of()
+                : new HashSet<>(investorProfileRepository.findVerifiedUserIds(authors.keySet()));
+
+        Set<UUID> likedPostIds = Set.of();
         if (currentUserId != null) {
-            builder.isLikedByCurrentUser(hasUserLikedPost(post.getId(), currentUserId));
-        }
+            List<UUID> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
+            likedPostIds = new HashSet<>(likeRepository.findLikedPostIds(currentUserId, postIds));
+        }
+
+        List<PostResponse> responses = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            // Merge counter changes not yet flushed so users see their own engagement
+            EngagementCounterBuffer.PendingEngagement pending = engagementCounterBuffer.getPending(post.getId());
+            PostResponse.PostResponseBuilder builder = PostResponse.builder()
+                    .id(post.getId())
+                    .content(post.getContent())
+                    .mediaUrl(post.getMediaUrl())
+                    .contextualTitle(post.getContextualTitle())
+                    .authorId(post.getAuthorId())
+                    .status(post.getStatus().name())
+                    .isFeatured(post.isCurrentlyFeatured()) // Use computed method to check expiry
+                    .featuredAt(post.getFeaturedAt())
+                    .featuredUntil(post.getFeaturedUntil())
+                    .featuredBy(post.getFeaturedBy())
+                    .isEdited(post.getIsEdited())
+                    .editCount(post.getEditCount())
+                    .likeCount(mergeCount(post.getLikeCount(), pending.likes()))
+                    .commentCount(mergeCount(post.getCommentCount(), pending.comments()))
+                    .shareCount(mergeCount(post.getShareCount(), pending.shares()))
+                    .rankingScore(post.getRankingScore())
+                    .subscriptionMultiplier(post.getSubscriptionMultiplier())
+                    .scoreCalculatedAt(post.getScoreCalculatedAt())
+                    .createdAt(post.getCreatedAt())
+                    .updatedAt(post.getUpdatedAt())
+                    .lastEditedAt(post.getLastEditedAt())
+                    .moderatedBy(post.getModeratedBy())
+                    .moderationReason(post.getModerationReason())
+                    .moderatedAt(post.getModeratedAt());
+
+            UserSummary author = authors.get(post.getAuthorId());
+            if (author != null) {
+                builder.authorName(author.getDisplayName() != null ? author.getDisplayName()
+                        : (author.getFirstName() + " " + author.getLastName()))
+                        .authorUsername(author.getUsername())
+                        .authorAvatarUrl(author.getAvatarUrl())
+                        .authorRole(author.getRole());
+
+                // Get author's current plan
+                SubscriptionPlan plan = plans.get(author.getId());
+                builder.authorPlan(plan != null ? plan.name() : "FREE");
+
+                // Check if user is a verified investor
+                builder.authorIsVerified(verifiedAuthors.contains(author.getId()));
+            }
 
-        return builder.build();
+            // Check if current user liked this post
+            if (currentUserId != null) {
+                builder.isLikedByCurrentUser(likedPostIds.contains(post.getId()));
+            }
+
+            responses.add(builder.build());
+        }
+        return responses;
     }
 
     /**
@@ -776,12 +842,8 @@ public class FeedService {
 
     // ==================== Helper Methods ====================
 
-    private double getConfigDouble(String key, double defaultValue) {
-        try {
-            return Double.parseDouble(appConfigService.getValue(key, String.valueOf(defaultValue)));
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+    private static int mergeCount(Integer persisted, long pending) {
+        return (int) Math.max(0, (persisted != null ? persisted : 0) + pending);
     }
 
     // ==================== Post Engagement Details (Admin) ====================
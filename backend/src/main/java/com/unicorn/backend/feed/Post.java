@@ -27,6 +27,7 @@ import java.util.UUID;
         @Index(name = "idx_post_featured", columnList = "is_featured"),
         @Index(name = "idx_post_created_at", columnList = "created_at")
 })
+@EntityListeners(com.unicorn.backend.admin.DashboardStatsEntityListener.class)
 public class Post {
 
     @Id
@@ -125,17 +126,18 @@ public class Post {
     private LocalDateTime lastEditedAt;
 
     // ==================== Engagement Counters ====================
-    // Denormalized for performance - updated via triggers/service
+    // Denormalized for performance - owned by EngagementCounterBuffer, which
+    // writes them with relative UPDATEs. Entity saves never overwrite them.
 
-    @Column(name = "like_count")
+    @Column(name = "like_count", updatable = false)
     @Builder.Default
     private Integer likeCount = 0;
 
-    @Column(name = "comment_count")
+    @Column(name = "comment_count", updatable = false)
     @Builder.Default
     private Integer commentCount = 0;
 
-    @Column(name = "share_count")
+    @Column(name = "share_count", updatable = false)
     @Builder.Default
     private Integer shareCount = 0;
 
@@ -177,29 +179,6 @@ public class Post {
 
     // ==================== Helper Methods ====================
 
-    /**
-     * Increment like count and trigger score recalculation marker.
-     */
-    public void incrementLikes() {
-        this.likeCount = (this.likeCount == null ? 0 : this.likeCount) + 1;
-    }
-
-    public void decrementLikes() {
-        this.likeCount = Math.max(0, (this.likeCount == null ? 0 : this.likeCount) - 1);
-    }
-
-    public void incrementComments() {
-        this.commentCount = (this.commentCount == null ? 0 : this.commentCount) + 1;
-    }
-
-    public void decrementComments() {
-        this.commentCount = Math.max(0, (this.commentCount == null ? 0 : this.commentCount) - 1);
-    }
-
-    public void incrementShares() {
-        this.shareCount = (this.shareCount == null ? 0 : this.shareCount) + 1;
-    }
-
     /**
      * Mark post as edited and apply penalty tracking.
      */
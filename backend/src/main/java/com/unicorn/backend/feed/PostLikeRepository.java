@@ -3,8 +3,12 @@ package com.unicorn.backend.feed;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,6 +23,12 @@ public interface PostLikeRepository extends JpaRepository<PostLike, UUID> {
      */
     boolean existsByPostIdAndUserId(UUID postId, UUID userId);
 
+    /**
+     * Of the given posts, return the ids the user has liked.
+     */
+    @Query("SELECT l.postId FROM PostLike l WHERE l.userId = :userId AND l.postId IN :postIds")
+    List<UUID> findLikedPostIds(@Param("userId") UUID userId, @Param("postIds") Collection<UUID> postIds);
+
     /**
      * Find a specific like.
      */
@@ -85,32 +85,6 @@ public interface PostRepository extends JpaRepository<Post, UUID>, JpaSpecificat
         @Query("SELECT COALESCE(AVG(p.likeCount + p.commentCount + p.shareCount), 0) FROM Post p WHERE p.status = 'ACTIVE'")
         Double getAverageEngagement();
 
-        // ==================== Batch Operations (WITH LIMITS) ====================
-
-        /**
-         * Find posts needing score recalculation (LIMITED to prevent memory issues).
-         * Processes 500 posts per batch, prioritizing recent posts.
-         */
-        @Query(value = "SELECT p FROM Post p WHERE p.status = 'ACTIVE' " +
-                        "AND (p.scoreCalculatedAt IS NULL OR p.scoreCalculatedAt < :threshold) " +
-                        "ORDER BY p.createdAt DESC")
-        List<Post> findPostsNeedingScoreRecalculation(@Param("threshold") LocalDateTime threshold, Pageable pageable);
-
-        /**
-         * Find stale posts needing score recalculation (no limit version for manual
-         * trigger).
-         */
-        @Query("SELECT p FROM Post p WHERE p.status = 'ACTIVE' " +
-                        "AND (p.scoreCalculatedAt IS NULL OR p.scoreCalculatedAt < :threshold)")
-        List<Post> findPostsNeedingScoreRecalculation(@Param("threshold") LocalDateTime threshold);
-
-        /**
-         * Batch update ranking scores (for scheduled job).
-         */
-        @Modifying
-        @Query("UPDATE Post p SET p.rankingScore = :score, p.scoreCalculatedAt = :now WHERE p.id = :id")
-        void updateRankingScore(@Param("id") UUID id, @Param("score") Double score, @Param("now") LocalDateTime now);
-
         // ==================== Contextual Title Cleanup ====================
 
         /**
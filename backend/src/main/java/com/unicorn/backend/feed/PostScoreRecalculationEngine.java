@@ -0,0 +1,233 @@
+package com.unicorn.backend.feed;
+
+import com.unicorn.backend.appconfig.AppConfigService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Time-decay engine for post ranking scores.
+ * Streams every stale ACTIVE post with keyset pagination on id, scores
+ * projection rows without hydrating entities, and writes each chunk back
+ * with a single set-based UPDATE ... FROM (VALUES ...) statement.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostScoreRecalculationEngine {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppConfigService appConfigService;
+    private final FeedRankingIndex feedRankingIndex;
+
+    @Value("${feed.score.recalc.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Scores older than this are considered stale (matches the job interval).
+     */
+    @Value("${feed.score.recalc.sla-minutes:15}")
+    private int slaMinutes;
+
+    /**
+     * Weights resolved from the latest config snapshot.
+     */
+    private volatile RankingWeights rankingWeights;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile ScoreRecalculationStats lastRun = ScoreRecalculationStats.builder().build();
+
+    private static final String SELECT_COLUMNS = "SELECT id, like_count, comment_count, share_count, " +
+            "subscription_multiplier, created_at, is_edited, edit_count, score_calculated_at FROM posts ";
+
+    private static final String SELECT_STALE_SQL = SELECT_COLUMNS + "WHERE status = 'ACTIVE' " +
+            "AND (score_calculated_at IS NULL OR score_calculated_at < ?) " +
+            "AND id > ? ORDER BY id LIMIT ?";
+
+    private static final RowMapper<ScoreRow> SCORE_ROW_MAPPER = (rs, rowNum) -> new ScoreRow(
+            rs.getObject("id", UUID.class),
+            rs.getInt("like_count"),
+            rs.getInt("comment_count"),
+            rs.getInt("share_count"),
+            rs.getObject("subscription_multiplier") != null ? rs.getDouble("subscription_multiplier") : 1.0,
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            rs.getBoolean("is_edited"),
+            rs.getInt("edit_count"),
+            toLocalDateTime(rs.getTimestamp("score_calculated_at")));
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    /**
+     * Projection row of the columns the ranking formula needs.
+     */
+    private record ScoreRow(UUID id, int likes, int comments, int shares, double multiplier,
+            LocalDateTime createdAt, boolean edited, int editCount, LocalDateTime scoreCalculatedAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        appConfigService.addListener(config -> rankingWeights = RankingWeights.fromConfig(config));
+    }
+
+    /**
+     * Ranking weights of the current config.
+     */
+    public RankingWeights getRankingWeights() {
+        return rankingWeights;
+    }
+
+    /**
+     * Recalculate all stale ACTIVE posts.
+     * Returns the number of posts updated, or -1 if a run is already in progress.
+     */
+    public long recalculateStaleScores() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Score recalculation already running, skipping");
+            return -1;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime threshold = startedAt.minusMinutes(slaMinutes);
+        RankingWeights weights = rankingWeights;
+
+        long updated = 0;
+        long batches = 0;
+        LocalDateTime stalest = null;
+        UUID cursor = MIN_UUID;
+        try {
+            while (true) {
+                List<ScoreRow> rows = jdbcTemplate.query(SELECT_STALE_SQL, SCORE_ROW_MAPPER,
+                        Timestamp.valueOf(threshold), cursor, batchSize);
+
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                LocalDateTime now = LocalDateTime.now();
+                writeScores(rows, weights, now);
+
+                for (ScoreRow row : rows) {
+                    LocalDateTime since = row.scoreCalculatedAt() != null ? row.scoreCalculatedAt() : row.createdAt();
+                    if (since != null && (stalest == null || since.isBefore(stalest))) {
+                        stalest = since;
+                    }
+                }
+
+                updated += rows.size();
+                batches++;
+                cursor = rows.get(rows.size() - 1).id();
+
+                if (rows.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Score recalculation failed after {} posts: {}", updated, e.getMessage());
+        } finally {
+            recordRun(startedAt, stalest, updated, batches);
+            running.set(false);
+        }
+
+        return updated;
+    }
+
+    /**
+     * Recalculate the scores of specific ACTIVE posts in one read and one write
+     * (used to coalesce score updates after engagement counters are flushed).
+     */
+    public void recalculate(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        RankingWeights weights = rankingWeights;
+        List<UUID> ids = new ArrayList<>(postIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            List<ScoreRow> rows = jdbcTemplate.query(
+                    SELECT_COLUMNS + "WHERE status = 'ACTIVE' AND id IN (" + placeholders + ")",
+                    SCORE_ROW_MAPPER, chunk.toArray());
+            if (!rows.isEmpty()) {
+                writeScores(rows, weights, LocalDateTime.now());
+            }
+        }
+    }
+
+    /**
+     * Write a chunk of scores back in one statement.
+     */
+    private void writeScores(List<ScoreRow> rows, RankingWeights weights, LocalDateTime now) {
+        StringBuilder sql = new StringBuilder("UPDATE posts SET ranking_score = v.score, score_calculated_at = ? " +
+                "FROM (VALUES ");
+        List<Object> params = new ArrayList<>(rows.size() * 2 + 1);
+        params.add(Timestamp.valueOf(now));
+
+        double[] scores = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ScoreRow row = rows.get(i);
+            scores[i] = weights.score(row.likes(), row.comments(), row.shares(), row.multiplier(),
+                    row.createdAt(), row.edited(), row.editCount(), now);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(? AS uuid), CAST(? AS double precision))");
+            params.add(row.id());
+            params.add(scores[i]);
+        }
+        sql.append(") AS v(id, score) WHERE posts.id = v.id");
+
+        jdbcTemplate.update(sql.toString(), params.toArray());
+
+        feedRankingIndex.updateScores(rows.stream().map(ScoreRow::id).toList(), scores);
+    }
+
+    private void recordRun(LocalDateTime startedAt, LocalDateTime stalest, long updated, long batches) {
+        LocalDateTime finishedAt = LocalDateTime.now();
+        long durationMs = Math.max(1, Duration.between(startedAt, finishedAt).toMillis());
+        long slaLagSeconds = stalest == null ? 0
+                : Math.max(0, Duration.between(stalest, finishedAt).minusMinutes(slaMinutes).toSeconds());
+
+        ScoreRecalculationStats previous = lastRun;
+        lastRun = ScoreRecalculationStats.builder()
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .postsUpdated(updated)
+                .batches(batches)
+                .durationMs(durationMs)
+                .postsPerSecond(updated * 1000.0 / durationMs)
+                .slaLagSeconds(slaLagSeconds)
+                .totalRuns(previous.getTotalRuns() + 1)
+                .totalPostsUpdated(previous.getTotalPostsUpdated() + updated)
+                .build();
+
+        log.info("Score recalculation complete. Updated {} posts in {} batches ({} ms, {} posts/sec, SLA lag {}s)",
+                updated, batches, durationMs, String.format("%.1f", lastRun.getPostsPerSecond()), slaLagSeconds);
+    }
+
+    /**
+     * Progress metrics of the last run, as a copy (lastRun is shared).
+     */
+    public ScoreRecalculationStats getStats() {
+        return lastRun.toBuilder()
+                .running(running.get())
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
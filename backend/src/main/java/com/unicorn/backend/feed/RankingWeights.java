@@ -0,0 +1,93 @@
+package com.unicorn.backend.feed;
+
+import com.unicorn.backend.appconfig.ConfigSnapshot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Resolved weights of the Unicorn Ranking Algorithm.
+ * Resolved once per config snapshot and reused for every post scored, so
+ * scoring never re-reads or re-parses config.
+ */
+public final class RankingWeights {
+
+    // ==================== Algorithm Config Keys ====================
+    static final String CONFIG_DECAY_GRAVITY = "feed.decay.gravity";
+    static final String CONFIG_LIKE_POINTS = "feed.like.points";
+    static final String CONFIG_COMMENT_POINTS = "feed.comment.points";
+    static final String CONFIG_SHARE_POINTS = "feed.share.points";
+    static final String CONFIG_EDIT_PENALTY = "feed.edit.penalty";
+    static final String CONFIG_BASE_FRESHNESS = "feed.base.freshness";
+
+    private final double likePoints;
+    private final double commentPoints;
+    private final double sharePoints;
+    private final double gravity;
+    private final double editPenalty;
+    private final double baseFreshness;
+
+    public RankingWeights(double likePoints, double commentPoints, double sharePoints,
+            double gravity, double editPenalty, double baseFreshness) {
+        this.likePoints = likePoints;
+        this.commentPoints = commentPoints;
+        this.sharePoints = sharePoints;
+        this.gravity = gravity;
+        this.editPenalty = editPenalty;
+        this.baseFreshness = baseFreshness;
+    }
+
+    /**
+     * Resolve the weights from a config snapshot.
+     */
+    public static RankingWeights fromConfig(ConfigSnapshot config) {
+        return new RankingWeights(
+                config.getDouble(CONFIG_LIKE_POINTS, 1.0),
+                config.getDouble(CONFIG_COMMENT_POINTS, 3.0),
+                config.getDouble(CONFIG_SHARE_POINTS, 5.0),
+                config.getDouble(CONFIG_DECAY_GRAVITY, 1.5),
+                config.getDouble(CONFIG_EDIT_PENALTY, 0.1),
+                config.getDouble(CONFIG_BASE_FRESHNESS, 10.0));
+    }
+
+    /**
+     * Calculate a ranking score.
+     * Formula: ((BaseFreshness + EngagementScore) * SubscriptionMultiplier) / (Age
+     * + 1)^G - EditPenalty
+     *
+     * BaseFreshness: New posts start with visibility (configurable from dashboard).
+     * EngagementScore: Points from likes, comments, shares.
+     * Time Decay: Score decreases as post ages.
+     */
+    public double score(int likes, int comments, int shares, double multiplier,
+            LocalDateTime createdAt, boolean edited, int editCount, LocalDateTime now) {
+        double engagementScore = (likes * likePoints) + (comments * commentPoints) + (shares * sharePoints);
+
+        // Apply subscription boost (frozen at creation time)
+        double boostedScore = (baseFreshness + engagementScore) * multiplier;
+
+        // Apply time decay
+        long hoursAge = createdAt != null ? Duration.between(createdAt, now).toHours() : 0;
+        double decayedScore = boostedScore / Math.pow(hoursAge + 1, gravity);
+
+        // Apply edit penalty
+        double penalty = edited ? (editCount * editPenalty) : 0;
+
+        return Math.max(0, decayedScore - penalty);
+    }
+
+    /**
+     * Calculate the ranking score of a post entity.
+     */
+    public double score(Post post, LocalDateTime now) {
+        return score(
+                post.getLikeCount() != null ? post.getLikeCount() : 0,
+                post.getCommentCount() != null ? post.getCommentCount() : 0,
+                post.getShareCount() != null ? post.getShareCount() : 0,
+                post.getSubscriptionMultiplier() != null ? post.getSubscriptionMultiplier() : 1.0,
+                post.getCreatedAt(),
+                Boolean.TRUE.equals(post.getIsEdited()),
+                post.getEditCount() != null ? post.getEditCount() : 0,
+                now);
+    }
+}
@@ -0,0 +1,40 @@
+package com.unicorn.backend.feed;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO describing the last run of the score decay job.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreRecalculationStats {
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Whether a run is currently in progress.
+     */
+    private boolean running;
+
+    private long postsUpdated;
+    private long batches;
+    private long durationMs;
+    private double postsPerSecond;
+
+    /**
+     * How far the stalest post processed in the run was behind the
+     * recalculation SLA (0 when the job is keeping up).
+     */
+    private long slaLagSeconds;
+
+    private long totalRuns;
+    private long totalPostsUpdated;
+}
@@ -23,6 +23,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "investor_profiles")
+@EntityListeners(com.unicorn.backend.chat.ChatPermissionCacheListener.class)
 public class InvestorProfile {
 
     @Id
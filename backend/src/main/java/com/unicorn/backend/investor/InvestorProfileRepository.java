@@ -48,6 +48,21 @@ public interface InvestorProfileRepository extends JpaRepository<InvestorProfile
         @org.springframework.data.jpa.repository.Query("SELECT i FROM InvestorProfile i WHERE i.isVerified = true")
         java.util.List<InvestorProfile> findVerifiedInvestors();
 
+        /**
+         * Batch lookup of which of the given users are verified investors.
+         */
+        @org.springframework.data.jpa.repository.Query("SELECT i.user.id FROM InvestorProfile i WHERE i.user.id IN :userIds AND i.isVerified = true")
+        java.util.List<UUID> findVerifiedUserIds(
+                        @org.springframework.data.repository.query.Param("userIds") java.util.Collection<UUID> userIds);
+
+        /**
+         * Batch lookup of the investor profiles of the given users: rows of
+         * (userId, isVerified).
+         */
+        @org.springframework.data.jpa.repository.Query("SELECT i.user.id, i.isVerified FROM InvestorProfile i WHERE i.user.id IN :userIds")
+        java.util.List<Object[]> findVerificationByUserIds(
+                        @org.springframework.data.repository.query.Param("userIds") java.util.Collection<UUID> userIds);
+
         /**
          * Count investors with isVerified = true.
          */
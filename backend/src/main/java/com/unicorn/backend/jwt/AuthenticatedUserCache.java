@@ -0,0 +1,146 @@
+package com.unicorn.backend.jwt;
+
+import com.unicorn.backend.appconfig.ConfigChangeBus;
+import com.unicorn.backend.user.User;
+import com.unicorn.backend.user.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, expiring cache of authenticated users keyed by userId, so a warm
+ * access token authenticates without a database query.
+ * Entries are evicted on suspension, role or password change and logout (see
+ * TokenBlacklistService and AuthenticatedUserCacheEvictionListener), on this
+ * node and, over the ConfigChangeBus, on the others; the TTL bounds staleness
+ * for anything else and while the bus is not connected.
+ */
+@Service
+public class AuthenticatedUserCache {
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticatedUserCache.class);
+
+    private static final String CACHE_NAME = "authenticated-users";
+
+    private final UserRepository userRepository;
+    private final ConfigChangeBus configChangeBus;
+
+    @Value("${jwt.principal-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private record Entry(User user, long expiresAt) {
+    }
+
+    private final Map<UUID, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every eviction; a load that raced with an eviction is not cached.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AuthenticatedUserCache(UserRepository userRepository, ConfigChangeBus configChangeBus) {
+        this.userRepository = userRepository;
+        this.configChangeBus = configChangeBus;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        configChangeBus.subscribeInvalidations(CACHE_NAME, key -> {
+            if (key == null) {
+                evictAll();
+            } else {
+                evict(UUID.fromString(key));
+            }
+        });
+    }
+
+    /**
+     * Resolve a user, loading it on a miss. Returns a private copy that the
+     * caller may use (and mutate) as its principal.
+     */
+    public Optional<User> getUser(UUID userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(userId);
+        if (entry != null && entry.expiresAt() > now) {
+            return Optional.of(entry.user().copy());
+        }
+
+        long generation = evictions.get();
+        Optional<User> loaded = userRepository.findById(userId);
+        if (loaded.isEmpty()) {
+            cache.remove(userId);
+            return Optional.empty();
+        }
+
+        User user = loaded.get();
+        if (evictions.get() == generation) {
+            makeRoom(now);
+            cache.put(userId, new Entry(user.copy(), now + ttlMs));
+        }
+        return Optional.of(user);
+    }
+
+    /**
+     * Evict a user now and again after the current transaction commits, so a
+     * load that read the old row in the meantime is not kept. Other nodes
+     * evict it once the change is committed.
+     */
+    public void evictAfterCommit(UUID userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                    configChangeBus.publishInvalidation(CACHE_NAME, userId.toString());
+                }
+            });
+        } else {
+            configChangeBus.publishInvalidation(CACHE_NAME, userId.toString());
+        }
+    }
+
+    public void evict(UUID userId) {
+        evictions.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Keep the cache within its bound: drop expired entries first, then
+     * arbitrary ones.
+     */
+    private void makeRoom(long now) {
+        if (cache.size() < maxSize) {
+            return;
+        }
+        cache.values().removeIf(entry -> entry.expiresAt() <= now);
+        Iterator<UUID> iterator = cache.keySet().iterator();
+        while (cache.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        logger.debug("Authenticated user cache trimmed to {} entries", cache.size());
+    }
+}
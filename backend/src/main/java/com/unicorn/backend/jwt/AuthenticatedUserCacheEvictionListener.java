@@ -0,0 +1,31 @@
+package com.unicorn.backend.jwt;
+
+import com.unicorn.backend.user.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts a user from the AuthenticatedUserCache whenever the users row is
+ * updated or deleted (status, role, password, ...). Eviction happens again
+ * after commit, on every node, so a concurrent request cannot re-cache the
+ * old row.
+ */
+@Component
+public class AuthenticatedUserCacheEvictionListener {
+
+    private final AuthenticatedUserCache authenticatedUserCache;
+
+    public AuthenticatedUserCacheEvictionListener(AuthenticatedUserCache authenticatedUserCache) {
+        this.authenticatedUserCache = authenticatedUserCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        authenticatedUserCache.evictAfterCommit(user.getId());
+    }
+}
@@ -0,0 +1,63 @@
+package com.unicorn.backend.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over token fingerprints. A negative answer is definite, so the
+ * common "not blacklisted" check needs no digest and no map lookup.
+ * Bloom filters cannot delete; TokenBlacklistIndex rebuilds it after sweeps.
+ */
+class BlacklistBloomFilter {
+
+    private static final int HASHES = 7;
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int capacity;
+    private int count;
+
+    /**
+     * Sized for about 1% false positives at the given capacity.
+     */
+    BlacklistBloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, 1024);
+        long wanted = (long) Math.ceil(this.capacity * 9.6);
+        int words = (int) ((wanted + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.numBits = words * 64L;
+    }
+
+    /**
+     * Callers serialize adds; reads may run concurrently.
+     */
+    void add(long fingerprint) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            bits.set(word, bits.get(word) | (1L << bit));
+        }
+        count++;
+    }
+
+    boolean mightContain(long fingerprint) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isSaturated() {
+        return count > capacity;
+    }
+
+    private long index(int combined) {
+        return (combined & 0x7fffffffL) % numBits;
+    }
+}
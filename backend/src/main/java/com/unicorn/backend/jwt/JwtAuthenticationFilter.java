@@ -19,6 +19,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 
 import java.io.IOException;
@@ -33,12 +34,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
-            TokenBlacklistService tokenBlacklistService) {
+            TokenBlacklistService tokenBlacklistService, AuthenticatedUserCache authenticatedUserCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     @Override
@@ -48,7 +51,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -64,9 +66,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
+            // Parse and verify the token once; every claim is read from the result
+            Claims claims = jwtService.extractAllClaims(jwt);
+
             // Check if user is revoked/banned via Redis check (immediate effect)
-            String userId = jwtService.extractUserId(jwt);
-            java.util.Date issuedAt = jwtService.extractIssuedAt(jwt);
+            String userId = claims.get("userId", String.class);
+            java.util.Date issuedAt = claims.getIssuedAt();
 
             if (userId != null && issuedAt != null &&
                     tokenBlacklistService.isUserRevoked(userId, issuedAt.getTime())) {
@@ -76,10 +81,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            userEmail = jwtService.extractEmail(jwt);
+            String userEmail = claims.getSubject();
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                UserDetails userDetails = resolveUser(userId, userEmail);
+                if (userDetails instanceof User user ? jwtService.isTokenValid(claims, user)
+                        : jwtService.isTokenValid(jwt, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -101,4 +107,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Resolve the principal from the user cache; tokens without a userId claim
+     * fall back to a lookup by email.
+     */
+    private UserDetails resolveUser(String userId, String userEmail) {
+        if (userId != null) {
+            Optional<User> user = authenticatedUserCache.getUser(UUID.fromString(userId));
+            if (user.isPresent()) {
+                return user.get();
+            }
+        }
+        return this.userDetailsService.loadUserByUsername(userEmail);
+    }
 }
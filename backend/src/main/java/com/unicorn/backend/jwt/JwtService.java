@@ -3,9 +3,11 @@ package com.unicorn.backend.jwt;
 import com.unicorn.backend.config.JwtConfigService;
 import com.unicorn.backend.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -24,10 +26,22 @@ public class JwtService {
 
     private final JwtConfigService jwtConfigService;
 
+    // Built once; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
     public JwtService(JwtConfigService jwtConfigService) {
         this.jwtConfigService = jwtConfigService;
     }
 
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     public String generateAccessToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", user.getId());
@@ -56,6 +70,14 @@ public class JwtService {
         return (email.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
 
+    /**
+     * Validate already parsed (and therefore signature-checked) claims.
+     */
+    public boolean isTokenValid(Claims claims, User user) {
+        return claims.getSubject() != null && claims.getSubject().equals(user.getEmail())
+                && (claims.getExpiration() == null || claims.getExpiration().after(new Date()));
+    }
+
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
@@ -70,9 +92,7 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return parser
                 .parseClaimsJws(token) // Note: parseSignedClaims in newer jjwt, parseClaimsJws in older. I used 0.11.5
                                        // in pom.
                 .getBody();
@@ -92,7 +112,6 @@ public class JwtService {
     }
 
     private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 }
@@ -0,0 +1,35 @@
+package com.unicorn.backend.jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Single-node TokenBlacklistStore (default, jwt.blacklist.store=memory).
+ * The local index is the only copy, so blacklisting only affects this node.
+ */
+@Service
+@ConditionalOnProperty(name = "jwt.blacklist.store", havingValue = "memory", matchIfMissing = true)
+public class LocalTokenBlacklistStore implements TokenBlacklistStore {
+    private static final Logger logger = LoggerFactory.getLogger(LocalTokenBlacklistStore.class);
+
+    public LocalTokenBlacklistStore() {
+        logger.info("Initialized In-Memory token blacklist store");
+    }
+
+    @Override
+    public void saveToken(TokenDigest digest, long fingerprint, long expiresAt) {
+        // Already in the local index
+    }
+
+    @Override
+    public void saveUserRevocation(String userId, long revokedAt, long expiresAt) {
+        // Already in the local index
+    }
+
+    @Override
+    public void replicateInto(TokenBlacklistIndex index) {
+        // No other nodes to replicate from
+    }
+}
@@ -0,0 +1,149 @@
+package com.unicorn.backend.jwt;
+
+import com.unicorn.backend.config.RedisSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis-backed TokenBlacklistStore (jwt.blacklist.store=redis).
+ * Entries are stored as keys that expire with the token, and announced on a
+ * pub/sub channel so every node's local index picks them up immediately.
+ * The subscription goes through RedisSubscriber; on (re)connect the node
+ * loads all live entries, covering anything published while it was not
+ * listening.
+ */
+@Service
+@ConditionalOnProperty(name = "jwt.blacklist.store", havingValue = "redis")
+public class RedisTokenBlacklistStore implements TokenBlacklistStore {
+    private static final Logger logger = LoggerFactory.getLogger(RedisTokenBlacklistStore.class);
+
+    private static final String KEY_PREFIX = "unicorn:blacklist:";
+    private static final String TOKEN_PREFIX = KEY_PREFIX + "token:";
+    private static final String USER_PREFIX = KEY_PREFIX + "user:";
+    private static final String CHANNEL = "unicorn:blacklist:events";
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final RedisSubscriber redisSubscriber;
+    private final StringRedisTemplate redisTemplate;
+
+    private volatile TokenBlacklistIndex index;
+
+    public RedisTokenBlacklistStore(RedisSubscriber redisSubscriber, StringRedisTemplate redisTemplate) {
+        this.redisSubscriber = redisSubscriber;
+        this.redisTemplate = redisTemplate;
+    }
+
+    // ==================== Writes ====================
+
+    @Override
+    public void saveToken(TokenDigest digest, long fingerprint, long expiresAt) {
+        save(TOKEN_PREFIX + digest.toKey(), fingerprint + ":" + expiresAt, expiresAt);
+    }
+
+    @Override
+    public void saveUserRevocation(String userId, long revokedAt, long expiresAt) {
+        save(USER_PREFIX + userId, revokedAt + ":" + expiresAt, expiresAt);
+    }
+
+    private void save(String key, String value, long expiresAt) {
+        long ttlMs = expiresAt - System.currentTimeMillis();
+        if (ttlMs <= 0) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, value, Duration.ofMillis(ttlMs));
+            redisTemplate.convertAndSend(CHANNEL, key + " " + value);
+        } catch (Exception e) {
+            redisSubscriber.markDisconnected();
+            logger.error("Failed to store blacklist entry, it only applies on this node until Redis is back: {}",
+                    e.getMessage());
+        }
+    }
+
+    // ==================== Replication ====================
+
+    @Override
+    public void replicateInto(TokenBlacklistIndex index) {
+        this.index = index;
+        redisSubscriber.subscribe(CHANNEL, this::handle, this::loadAll);
+    }
+
+    private void handle(String message) {
+        int separator = message.indexOf(' ');
+        if (separator > 0) {
+            apply(message.substring(0, separator), message.substring(separator + 1));
+        }
+    }
+
+    /**
+     * Load every live entry into the local index.
+     */
+    private boolean loadAll() {
+        try {
+            List<String> keys = new ArrayList<>();
+            int loaded = 0;
+            try (Cursor<String> cursor = redisTemplate.scan(
+                    ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(LOAD_BATCH_SIZE).build())) {
+                while (cursor.hasNext()) {
+                    keys.add(cursor.next());
+                    if (keys.size() == LOAD_BATCH_SIZE) {
+                        loaded += loadBatch(keys);
+                        keys.clear();
+                    }
+                }
+            }
+            loaded += loadBatch(keys);
+            logger.info("Loaded {} token blacklist entries from Redis", loaded);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to load token blacklist from Redis: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private int loadBatch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        int loaded = 0;
+        for (int i = 0; values != null && i < keys.size(); i++) {
+            if (values.get(i) != null) {
+                apply(keys.get(i), values.get(i));
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Apply a stored entry ("&lt;a&gt;:&lt;expiresAt&gt;") to the local index.
+     */
+    private void apply(String key, String value) {
+        TokenBlacklistIndex target = index;
+        int separator = value.indexOf(':');
+        if (target == null || separator < 0) {
+            return;
+        }
+        try {
+            long first = Long.parseLong(value.substring(0, separator));
+            long expiresAt = Long.parseLong(value.substring(separator + 1));
+            if (key.startsWith(TOKEN_PREFIX)) {
+                target.addToken(TokenDigest.fromKey(key.substring(TOKEN_PREFIX.length())), first, expiresAt);
+            } else if (key.startsWith(USER_PREFIX)) {
+                target.revokeUser(key.substring(USER_PREFIX.length()), first, expiresAt);
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring malformed blacklist entry {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.unicorn.backend.jwt;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Node-local view of the blacklist that every request is checked against.
+ * Token digests are indexed by expiry in fixed-width time buckets, so a sweep
+ * drops whole expired buckets instead of scanning every entry. Revoked users
+ * are kept only as long as a token issued before the revocation can live.
+ */
+class TokenBlacklistIndex {
+
+    private record TokenEntry(long fingerprint, long expiresAt) {
+    }
+
+    private record Revocation(long revokedAt, long expiresAt) {
+    }
+
+    private final long bucketMs;
+    private final int bloomCapacity;
+
+    private final Map<TokenDigest, TokenEntry> tokens = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Set<TokenDigest>> buckets = new ConcurrentSkipListMap<>();
+    private final Map<String, Revocation> revokedUsers = new ConcurrentHashMap<>();
+
+    /**
+     * Null when the Bloom filter is disabled.
+     */
+    private volatile BlacklistBloomFilter bloom;
+
+    TokenBlacklistIndex(long bucketMs, boolean bloomEnabled, int bloomCapacity) {
+        this.bucketMs = Math.max(bucketMs, 1000);
+        this.bloomCapacity = bloomCapacity;
+        this.bloom = bloomEnabled ? new BlacklistBloomFilter(bloomCapacity) : null;
+    }
+
+    // ==================== Tokens ====================
+
+    synchronized void addToken(TokenDigest digest, long fingerprint, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        tokens.merge(digest, new TokenEntry(fingerprint, expiresAt),
+                (current, added) -> added.expiresAt() > current.expiresAt() ? added : current);
+        buckets.computeIfAbsent(expiresAt / bucketMs, bucket -> ConcurrentHashMap.newKeySet()).add(digest);
+
+        BlacklistBloomFilter filter = bloom;
+        if (filter != null) {
+            filter.add(fingerprint);
+            if (filter.isSaturated()) {
+                rebuildBloom();
+            }
+        }
+    }
+
+    boolean containsToken(String token) {
+        BlacklistBloomFilter filter = bloom;
+        if (filter != null && !filter.mightContain(TokenDigest.fingerprint(token))) {
+            return false;
+        }
+        TokenEntry entry = tokens.get(TokenDigest.of(token));
+        return entry != null && entry.expiresAt() > System.currentTimeMillis();
+    }
+
+    int tokenCount() {
+        return tokens.size();
+    }
+
+    // ==================== Users ====================
+
+    void revokeUser(String userId, long revokedAt, long expiresAt) {
+        revokedUsers.merge(userId, new Revocation(revokedAt, expiresAt),
+                (current, added) -> added.revokedAt() >= current.revokedAt() ? added : current);
+    }
+
+    /**
+     * Revocation time of a user, or null if none is in effect.
+     */
+    Long getRevokedAt(String userId) {
+        Revocation revocation = revokedUsers.get(userId);
+        if (revocation == null || revocation.expiresAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return revocation.revokedAt();
+    }
+
+    // ==================== Expiry ====================
+
+    /**
+     * Drop every bucket that lies entirely in the past and expired revocations.
+     *
+     * @return number of token digests removed
+     */
+    synchronized int sweep(long now) {
+        int removed = 0;
+        NavigableMap<Long, Set<TokenDigest>> expired = buckets.headMap(now / bucketMs, false);
+        for (Set<TokenDigest> digests : expired.values()) {
+            for (TokenDigest digest : digests) {
+                // A digest re-added with a later expiry also sits in a later bucket
+                TokenEntry entry = tokens.get(digest);
+                if (entry != null && entry.expiresAt() <= now && tokens.remove(digest, entry)) {
+                    removed++;
+                }
+            }
+        }
+        expired.clear();
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAt() <= now);
+
+        if (removed > 0 && bloom != null) {
+            rebuildBloom();
+        }
+        return removed;
+    }
+
+    private void rebuildBloom() {
+        BlacklistBloomFilter filter = new BlacklistBloomFilter(Math.max(bloomCapacity, tokens.size() * 2));
+        tokens.values().forEach(entry -> filter.add(entry.fingerprint()));
+        bloom = filter;
+    }
+}
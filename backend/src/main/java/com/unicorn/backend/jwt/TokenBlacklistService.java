@@ -1,29 +1,67 @@
 package com.unicorn.backend.jwt;
 
+import com.unicorn.backend.config.JwtConfigService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import jakarta.annotation.PostConstruct;
+import java.util.UUID;
 
+/**
+ * Token blacklist and user revocation checks.
+ * Lookups go to a bounded, node-local index (Bloom filter, then 128-bit token
+ * digests) that is swept on a schedule; writes are shared with other nodes
+ * through the configured TokenBlacklistStore.
+ */
 @Service
 public class TokenBlacklistService {
     private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
 
-    // In-memory replacement for Redis
-    private final Map<String, Long> tokenBlacklist = new ConcurrentHashMap<>();
-    private final Map<String, Long> userRevocationList = new ConcurrentHashMap<>();
+    /**
+     * Covers the second-level precision of the JWT issued-at claim.
+     */
+    private static final long REVOCATION_SKEW_MS = 60_000;
 
-    public TokenBlacklistService() {
-        logger.info("Initialized In-Memory TokenBlacklistService");
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final TokenBlacklistStore tokenBlacklistStore;
+    private final JwtConfigService jwtConfigService;
+
+    @Value("${jwt.blacklist.bucket-ms:60000}")
+    private long bucketMs;
+
+    @Value("${jwt.blacklist.bloom.enabled:true}")
+    private boolean bloomEnabled;
+
+    @Value("${jwt.blacklist.bloom.expected-entries:100000}")
+    private int bloomExpectedEntries;
+
+    private TokenBlacklistIndex index;
+
+    public TokenBlacklistService(AuthenticatedUserCache authenticatedUserCache,
+            TokenBlacklistStore tokenBlacklistStore, JwtConfigService jwtConfigService) {
+        this.authenticatedUserCache = authenticatedUserCache;
+        this.tokenBlacklistStore = tokenBlacklistStore;
+        this.jwtConfigService = jwtConfigService;
+    }
+
+    @PostConstruct
+    public void init() {
+        index = new TokenBlacklistIndex(bucketMs, bloomEnabled, bloomExpectedEntries);
+        tokenBlacklistStore.replicateInto(index);
+        logger.info("Initialized TokenBlacklistService ({})", tokenBlacklistStore.getClass().getSimpleName());
     }
 
     public void blacklistToken(String token, long expirationSeconds) {
         try {
             // Store absolute expiry time in millis
             long expiryTime = System.currentTimeMillis() + (expirationSeconds * 1000);
-            tokenBlacklist.put(token, expiryTime);
+            TokenDigest digest = TokenDigest.of(token);
+            long fingerprint = TokenDigest.fingerprint(token);
+            index.addToken(digest, fingerprint, expiryTime);
+            tokenBlacklistStore.saveToken(digest, fingerprint, expiryTime);
         } catch (Exception e) {
             logger.error("Unexpected error while blacklisting token", e);
         }
@@ -31,16 +69,7 @@ public class TokenBlacklistService {
 
     public boolean isTokenBlacklisted(String token) {
         try {
-            Long expiry = tokenBlacklist.get(token);
-            if (expiry == null) {
-                return false;
-            }
-            // Check if expired
-            if (System.currentTimeMillis() > expiry) {
-                tokenBlacklist.remove(token); // Lazy cleanup
-                return false;
-            }
-            return true;
+            return index.containsToken(token);
         } catch (Exception e) {
             logger.error("Unexpected error while checking token blacklist", e);
             return false;
@@ -50,16 +79,21 @@ public class TokenBlacklistService {
     // Revoke user access (e.g. on logout all)
     public void revokeUserAccess(String userId) {
         try {
-            // Store current timestamp as revocation time
-            userRevocationList.put(userId, System.currentTimeMillis());
+            // Store current timestamp as revocation time; it only matters while
+            // tokens issued before it can still be valid
+            long now = System.currentTimeMillis();
+            long expiresAt = now + jwtConfigService.getAccessTokenDurationMs() + REVOCATION_SKEW_MS;
+            index.revokeUser(userId, now, expiresAt);
+            tokenBlacklistStore.saveUserRevocation(userId, now, expiresAt);
+            authenticatedUserCache.evictAfterCommit(UUID.fromString(userId));
         } catch (Exception e) {
-            logger.error("Error revoking user access in memory", e);
+            logger.error("Error revoking user access", e);
         }
     }
 
     public boolean isUserRevoked(String userId, long tokenIssuedAt) {
         try {
-            Long revocationTime = userRevocationList.get(userId);
+            Long revocationTime = index.getRevokedAt(userId);
             if (revocationTime != null) {
                 // If token was issued BEFORE the revocation timestamp, it is invalid
                 // Note: Ensure tokenIssuedAt is in Milliseconds to match
@@ -68,12 +102,23 @@ public class TokenBlacklistService {
             }
             return false;
         } catch (Exception e) {
-            logger.error("Error checking user revocation in memory", e);
+            logger.error("Error checking user revocation", e);
             return false;
         }
     }
 
     public long getBlacklistedTokenCount() {
-        return tokenBlacklist.size();
+        return index.tokenCount();
+    }
+
+    /**
+     * Drop expired buckets so the blacklist stays bounded by live tokens.
+     */
+    @Scheduled(fixedDelayString = "${jwt.blacklist.sweep-interval:60000}")
+    public void sweepExpired() {
+        int removed = index.sweep(System.currentTimeMillis());
+        if (removed > 0) {
+            logger.debug("Swept {} expired blacklist entries", removed);
+        }
     }
 }
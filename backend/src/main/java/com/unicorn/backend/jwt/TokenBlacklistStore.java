@@ -0,0 +1,24 @@
+package com.unicorn.backend.jwt;
+
+/**
+ * Shared storage behind the token blacklist.
+ * Reads are always served from the node-local TokenBlacklistIndex; a store
+ * persists writes and feeds entries written on other nodes into that index.
+ */
+public interface TokenBlacklistStore {
+
+    /**
+     * Persist a blacklisted token until it expires.
+     */
+    void saveToken(TokenDigest digest, long fingerprint, long expiresAt);
+
+    /**
+     * Persist a user revocation until the last token issued before it expires.
+     */
+    void saveUserRevocation(String userId, long revokedAt, long expiresAt);
+
+    /**
+     * Start delivering entries from other nodes (existing and future) into the index.
+     */
+    void replicateInto(TokenBlacklistIndex index);
+}
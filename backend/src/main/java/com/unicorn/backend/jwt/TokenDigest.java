@@ -0,0 +1,52 @@
+package com.unicorn.backend.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Fixed-size (128-bit, truncated SHA-256) identity of a token, so the
+ * blacklist never keeps raw JWT strings.
+ */
+public record TokenDigest(long high, long low) {
+
+    public static TokenDigest of(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new TokenDigest(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Parse the form produced by toKey().
+     */
+    public static TokenDigest fromKey(String key) {
+        return new TokenDigest(
+                Long.parseUnsignedLong(key.substring(0, 16), 16),
+                Long.parseUnsignedLong(key.substring(16, 32), 16));
+    }
+
+    public String toKey() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    /**
+     * Cheap, allocation-free 64-bit hash of a token (FNV-1a with a final mix),
+     * used for the Bloom filter in front of the digest lookup.
+     */
+    public static long fingerprint(String token) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,7 +1,10 @@
 package com.unicorn.backend.notification;
 
+import com.unicorn.backend.admin.DashboardStatsService;
 import com.unicorn.backend.user.User;
+import com.unicorn.backend.user.UserAutocompleteIndex;
 import com.unicorn.backend.user.UserRepository;
+import com.unicorn.backend.user.UserSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -11,10 +14,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -33,30 +37,30 @@ public class AdminNotificationController {
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationDeliveryPipeline deliveryPipeline;
+    private final BroadcastNotificationService broadcastNotificationService;
+    private final NotificationRetentionService retentionService;
+    private final DashboardStatsService dashboardStatsService;
+    private final UserAutocompleteIndex userAutocompleteIndex;
+    private final UserSearchService userSearchService;
+
+    private static final int AUTOCOMPLETE_LIMIT = 10;
 
     /**
-     * Get notification statistics for the dashboard.
+     * Get notification statistics for the dashboard, from the dashboard stats
+     * snapshot.
      */
     @GetMapping("/stats")
     public ResponseEntity<NotificationStatsDTO> getStats() {
-        long total = notificationRepository.count();
-        long unread = notificationRepository.countByReadFalse();
-
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        long todayCount = notificationRepository.countCreatedAfter(startOfDay);
-
-        // Find top notification type
-        List<Object[]> topTypes = notificationRepository.findTopNotificationTypes();
-        String topType = "NONE";
-        long topTypeCount = 0;
-        if (!topTypes.isEmpty()) {
-            Object[] top = topTypes.get(0);
-            topType = ((NotificationType) top[0]).name();
-            topTypeCount = (Long) top[1];
-        }
+        return ResponseEntity.ok(dashboardStatsService.getSnapshot().getNotifications());
+    }
 
-        NotificationStatsDTO stats = NotificationStatsDTO.of(total, unread, todayCount, topType, topTypeCount);
-        return ResponseEntity.ok(stats);
+    /**
+     * Get delivery pipeline metrics: queue depth, latency and failures.
+     */
+    @GetMapping("/pipeline/stats")
+    public ResponseEntity<NotificationPipelineStatsDTO> getPipelineStats() {
+        return ResponseEntity.ok(deliveryPipeline.getStats());
     }
 
     /**
@@ -155,17 +159,13 @@ public class AdminNotificationController {
             default -> "ALL_USERS";
         };
 
-        // Create single broadcast notification
-        Notification broadcast = Notification.builder()
-                .type(NotificationType.SYSTEM_ANNOUNCEMENT)
-                .title(request.title())
-                .message(request.message())
-                .data("{\"isAnnouncement\":true}")
-                .broadcast(true)
-                .targetAudience(targetAudienceStr)
-                .build();
-
-        notificationRepository.save(broadcast);
+        // Create single broadcast notification, pushed to connected users of the audience
+        broadcastNotificationService.createBroadcast(
+                NotificationType.SYSTEM_ANNOUNCEMENT,
+                request.title(),
+                request.message(),
+                "{\"isAnnouncement\":true}",
+                targetAudienceStr);
 
         // Count target users for response
         long targetCount = switch (request.targetAudience()) {
@@ -186,20 +186,31 @@ public class AdminNotificationController {
     }
 
     /**
-     * Delete old read notifications.
+     * Start deleting old read notifications, in throttled chunks. The purge
+     * runs in the background; progress and results are at /retention/stats.
      */
     @DeleteMapping("/cleanup")
-    @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<Map<String, Object>> cleanupOldNotifications(
             @RequestParam(defaultValue = "30") int daysOld) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
-        int deletedCount = notificationRepository.deleteOldReadNotifications(cutoffDate);
+        if (!retentionService.startPurgeReadBefore(cutoffDate)) {
+            return ResponseEntity.status(org.springframework.http.HttpStatus.CONFLICT).body(Map.of(
+                    "success", false,
+                    "message", "A notification cleanup is already running"));
+        }
 
-        log.info("Cleaned up {} old read notifications (older than {} days)", deletedCount, daysOld);
-        return ResponseEntity.ok(Map.of(
+        log.info("Started cleanup of read notifications older than {} days", daysOld);
+        return ResponseEntity.status(org.springframework.http.HttpStatus.ACCEPTED).body(Map.of(
                 "success", true,
-                "message", "Old notifications cleaned up",
-                "deletedCount", deletedCount));
+                "message", "Notification cleanup started, see /retention/stats for progress"));
+    }
+
+    /**
+     * Get retention metrics: rows reclaimed by the last run and in total.
+     */
+    @GetMapping("/retention/stats")
+    public ResponseEntity<NotificationRetentionStatsDTO> getRetentionStats() {
+        return ResponseEntity.ok(retentionService.getStats());
     }
 
     /**
@@ -235,10 +246,17 @@ public class AdminNotificationController {
             return ResponseEntity.ok(List.of());
         }
 
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<User> users = userRepository.searchUsers(q.trim(), pageable);
+        List<User> users;
+        if (userAutocompleteIndex.isReady()) {
+            List<UUID> ids = userAutocompleteIndex.suggest(q, AUTOCOMPLETE_LIMIT);
+            Map<UUID, User> byId = new HashMap<>();
+            userRepository.findAllById(ids).forEach(user -> byId.put(user.getId(), user));
+            users = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        } else {
+            users = userSearchService.search(q, PageRequest.of(0, AUTOCOMPLETE_LIMIT)).getContent();
+        }
 
-        List<Map<String, Object>> results = users.getContent().stream()
+        List<Map<String, Object>> results = users.stream()
                 .map(u -> {
                     String name = u.getDisplayName();
                     if (name == null || name.isBlank()) {
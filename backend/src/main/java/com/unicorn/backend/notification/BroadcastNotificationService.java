@@ -0,0 +1,166 @@
+package com.unicorn.backend.notification;
+
+import com.unicorn.backend.user.User;
+import com.unicorn.backend.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadcast notifications: one row per announcement, per-user read state kept
+ * as a watermark plus dismissal bitmap (see BroadcastReadState), and realtime
+ * delivery to every connected session of the target audience.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastNotificationService {
+
+    public static final String ALL_USERS = "ALL_USERS";
+
+    private static final String WEBSOCKET_DESTINATION = "/queue/notifications";
+    private static final int ROLE_LOOKUP_BATCH_SIZE = 1000;
+
+    private final NotificationRepository notificationRepository;
+    private final BroadcastReadStateRepository readStateRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry simpUserRegistry;
+    private final UserRepository userRepository;
+    private final UnreadNotificationCounter unreadCounter;
+
+    /**
+     * Create the broadcast sequence and number broadcasts that predate it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initBroadcastSequence() {
+        notificationRepository.createBroadcastSequence();
+        int numbered = notificationRepository.backfillBroadcastSeq();
+        if (numbered > 0) {
+            log.info("Assigned sequence numbers to {} broadcasts", numbered);
+        }
+    }
+
+    /**
+     * Create a broadcast and push it to connected users of the audience once
+     * committed.
+     *
+     * @param targetAudience ALL_USERS or a user role
+     */
+    @Transactional
+    public Notification createBroadcast(NotificationType type, String title, String message, String dataJson,
+            String targetAudience) {
+        Notification broadcast = notificationRepository.save(Notification.builder()
+                .type(type)
+                .title(title)
+                .message(message)
+                .data(dataJson)
+                .broadcast(true)
+                .targetAudience(targetAudience)
+                .broadcastSeq(notificationRepository.nextBroadcastSeq())
+                .build());
+
+        NotificationDTO dto = NotificationDTO.from(broadcast, Map.of("isAnnouncement", true));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                unreadCounter.onBroadcastCreated();
+                pushToAudience(dto, targetAudience);
+            }
+        });
+        return broadcast;
+    }
+
+    /**
+     * Send a broadcast to every connected user of the audience. With the broker
+     * relay the user registry covers all nodes.
+     *
+     * @return number of users it was sent to
+     */
+    public int pushToAudience(NotificationDTO dto, String targetAudience) {
+        List<String> online = new ArrayList<>(simpUserRegistry.getUserCount());
+        for (SimpUser user : simpUserRegistry.getUsers()) {
+            online.add(user.getName());
+        }
+
+        int sent = 0;
+        for (int from = 0; from < online.size(); from += ROLE_LOOKUP_BATCH_SIZE) {
+            List<String> names = online.subList(from, Math.min(from + ROLE_LOOKUP_BATCH_SIZE, online.size()));
+            List<String> recipients = ALL_USERS.equals(targetAudience)
+                    ? names
+                    : userRepository.findPrincipalNamesWithRole(targetAudience, names);
+            for (String name : recipients) {
+                try {
+                    messagingTemplate.convertAndSendToUser(name, WEBSOCKET_DESTINATION, dto);
+                    sent++;
+                } catch (Exception e) {
+                    log.warn("Failed to push broadcast {} to {}: {}", dto.id(), name, e.getMessage());
+                }
+            }
+        }
+        log.debug("Broadcast {} pushed to {} connected users", dto.id(), sent);
+        return sent;
+    }
+
+    // ==================== Read State ====================
+
+    /**
+     * Current broadcast state of a user, created on first access.
+     */
+    @Transactional
+    public BroadcastReadState getState(User user) {
+        return readStateRepository.findById(user.getId()).orElseGet(() -> {
+            readStateRepository.insertIfMissing(user.getId(), joinedAt(user));
+            return readStateRepository.findById(user.getId()).orElseThrow();
+        });
+    }
+
+    /**
+     * Broadcasts are read in order: reading one also reads every earlier one.
+     */
+    @Transactional
+    public void markRead(User user, Notification broadcast) {
+        getState(user);
+        readStateRepository.raiseWatermark(user.getId(), broadcast.getBroadcastSeq());
+    }
+
+    @Transactional
+    public void markAllRead(User user) {
+        getState(user);
+        readStateRepository.raiseWatermark(user.getId(), notificationRepository.findMaxBroadcastSeq());
+    }
+
+    @Transactional
+    public void dismiss(User user, Notification broadcast) {
+        readStateRepository.insertIfMissing(user.getId(), joinedAt(user));
+        BroadcastReadState state = readStateRepository.findForUpdate(user.getId()).orElseThrow();
+        state.dismiss(broadcast.getBroadcastSeq());
+        readStateRepository.save(state);
+    }
+
+    /**
+     * Whether a broadcast is addressed to a user.
+     */
+    public boolean isAddressedTo(Notification broadcast, User user) {
+        return broadcast.isBroadcast() && broadcast.getBroadcastSeq() != null
+                && (ALL_USERS.equals(broadcast.getTargetAudience())
+                        || broadcast.getTargetAudience().equals(user.getRole()));
+    }
+
+    private static LocalDateTime joinedAt(User user) {
+        return user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.now();
+    }
+}
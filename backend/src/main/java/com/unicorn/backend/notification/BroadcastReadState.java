@@ -0,0 +1,58 @@
+package com.unicorn.backend.notification;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Per-user state of broadcast notifications, one row per user instead of one
+ * row per (user, broadcast).
+ * Broadcasts with a sequence number up to the read watermark are read;
+ * dismissed broadcasts are bits in a bitmap indexed by sequence number. The
+ * bitmap uses BitSet byte order, which matches PostgreSQL get_bit on bytea.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "broadcast_read_states")
+public class BroadcastReadState {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "read_watermark", nullable = false)
+    @Builder.Default
+    private long readWatermark = 0;
+
+    @Column(name = "dismissed_bitmap", nullable = false, columnDefinition = "bytea")
+    @Builder.Default
+    private byte[] dismissedBitmap = new byte[0];
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public boolean isRead(long broadcastSeq) {
+        return broadcastSeq <= readWatermark;
+    }
+
+    public boolean isDismissed(long broadcastSeq) {
+        return BitSet.valueOf(dismissedBitmap).get(Math.toIntExact(broadcastSeq));
+    }
+
+    public void dismiss(long broadcastSeq) {
+        BitSet bitmap = BitSet.valueOf(dismissedBitmap);
+        bitmap.set(Math.toIntExact(broadcastSeq));
+        dismissedBitmap = bitmap.toByteArray();
+    }
+}
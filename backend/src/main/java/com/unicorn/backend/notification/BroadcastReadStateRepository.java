@@ -0,0 +1,43 @@
+package com.unicorn.backend.notification;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for per-user broadcast read state.
+ */
+@Repository
+public interface BroadcastReadStateRepository extends JpaRepository<BroadcastReadState, UUID> {
+
+    /**
+     * Create the state of a user if missing. Broadcasts sent before the user
+     * joined start out read.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_read_states (user_id, read_watermark, dismissed_bitmap, updated_at) " +
+            "SELECT :userId, COALESCE(MAX(n.broadcast_seq), 0), CAST('' AS bytea), now() FROM notifications n " +
+            "WHERE n.is_broadcast = true AND n.created_at < :joinedAt " +
+            "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfMissing(@Param("userId") UUID userId, @Param("joinedAt") LocalDateTime joinedAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BroadcastReadState s WHERE s.userId = :userId")
+    Optional<BroadcastReadState> findForUpdate(@Param("userId") UUID userId);
+
+    /**
+     * Raise the watermark, never lowering it.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BroadcastReadState s SET s.readWatermark = :watermark, s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.userId = :userId AND s.readWatermark < :watermark")
+    int raiseWatermark(@Param("userId") UUID userId, @Param("watermark") long watermark);
+}
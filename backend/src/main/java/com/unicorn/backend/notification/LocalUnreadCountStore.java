@@ -0,0 +1,68 @@
+package com.unicorn.backend.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-node UnreadCountStore (default, notification.unread.store=memory).
+ */
+@Service
+@ConditionalOnProperty(name = "notification.unread.store", havingValue = "memory", matchIfMissing = true)
+public class LocalUnreadCountStore implements UnreadCountStore {
+
+    @Value("${notification.unread.max-entries:100000}")
+    private int maxEntries;
+
+    private final Map<UUID, CachedCount> counts = new ConcurrentHashMap<>();
+    private final AtomicLong broadcastVersion = new AtomicLong();
+
+    @Override
+    public CachedCount get(UUID userId) {
+        return counts.get(userId);
+    }
+
+    @Override
+    public void put(UUID userId, CachedCount count) {
+        if (counts.size() >= maxEntries && !counts.containsKey(userId)) {
+            // Make room by dropping an arbitrary entry, it is reloaded on demand
+            Iterator<UUID> iterator = counts.keySet().iterator();
+            if (iterator.hasNext()) {
+                counts.remove(iterator.next());
+            }
+        }
+        counts.put(userId, count);
+    }
+
+    @Override
+    public boolean replace(UUID userId, CachedCount expected, CachedCount updated) {
+        return counts.replace(userId, expected, updated);
+    }
+
+    @Override
+    public CachedCount addIndividual(UUID userId, long delta) {
+        return counts.computeIfPresent(userId, (id, count) -> new CachedCount(
+                Math.max(0, count.individual() + delta), count.broadcast(), count.broadcastVersion()));
+    }
+
+    @Override
+    public void evict(UUID userId) {
+        counts.remove(userId);
+    }
+
+    @Override
+    public long getBroadcastVersion() {
+        return broadcastVersion.get();
+    }
+
+    @Override
+    public void bumpBroadcastVersion() {
+        broadcastVersion.incrementAndGet();
+    }
+}
@@ -23,8 +23,10 @@ import java.util.UUID;
 @Table(name = "notifications", indexes = {
         @Index(name = "idx_notification_recipient", columnList = "recipient_id"),
         @Index(name = "idx_notification_recipient_read", columnList = "recipient_id, is_read"),
+        @Index(name = "idx_notification_recipient_created", columnList = "recipient_id, created_at DESC"),
         @Index(name = "idx_notification_created_at", columnList = "created_at DESC"),
-        @Index(name = "idx_notification_broadcast", columnList = "is_broadcast, target_audience")
+        @Index(name = "idx_notification_broadcast", columnList = "is_broadcast, target_audience"),
+        @Index(name = "idx_notification_broadcast_seq", columnList = "broadcast_seq", unique = true)
 })
 public class Notification {
 
@@ -92,4 +94,11 @@ public class Notification {
      */
     @Column(name = "target_audience", length = 30)
     private String targetAudience;
+
+    /**
+     * Position of a broadcast in the broadcast sequence, used by each user's
+     * read watermark and dismissal bitmap. NULL for individual notifications.
+     */
+    @Column(name = "broadcast_seq")
+    private Long broadcastSeq;
 }
@@ -35,7 +35,7 @@ public class NotificationController {
             @AuthenticationPrincipal User user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
-        Page<NotificationDTO> notifications = notificationService.getUserNotifications(user.getId(), page, size);
+        Page<NotificationDTO> notifications = notificationService.getUserNotifications(user, page, size);
         return ResponseEntity.ok(notifications);
     }
 
@@ -44,7 +44,7 @@ public class NotificationController {
      */
     @GetMapping("/unread-count")
     public ResponseEntity<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal User user) {
-        long count = notificationService.getUnreadCount(user.getId());
+        long count = notificationService.getUnreadCount(user);
         return ResponseEntity.ok(Map.of("count", count));
     }
 
@@ -53,7 +53,7 @@ public class NotificationController {
      */
     @GetMapping("/unread")
     public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(@AuthenticationPrincipal User user) {
-        List<NotificationDTO> notifications = notificationService.getUnreadNotifications(user.getId());
+        List<NotificationDTO> notifications = notificationService.getUnreadNotifications(user);
         return ResponseEntity.ok(notifications);
     }
 
@@ -68,7 +68,7 @@ public class NotificationController {
     public ResponseEntity<Map<String, Object>> markAsRead(
             @AuthenticationPrincipal User user,
             @PathVariable UUID notificationId) {
-        boolean success = notificationService.markAsRead(notificationId, user.getId());
+        boolean success = notificationService.markAsRead(notificationId, user);
         if (success) {
             return ResponseEntity.ok(Map.of("success", true, "message", "Notification marked as read"));
         } else {
@@ -77,6 +77,20 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Dismiss a broadcast notification so it no longer appears for the user.
+     */
+    @PostMapping("/{notificationId}/dismiss")
+    public ResponseEntity<Map<String, Object>> dismissBroadcast(
+            @AuthenticationPrincipal User user,
+            @PathVariable UUID notificationId) {
+        if (notificationService.dismissBroadcast(notificationId, user)) {
+            return ResponseEntity.ok(Map.of("success", true, "message", "Notification dismissed"));
+        }
+        return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", "Broadcast not found or access denied"));
+    }
+
     /**
      * Mark all notifications as read for the authenticated user.
      *
@@ -85,7 +99,7 @@ public class NotificationController {
      */
     @PostMapping("/read-all")
     public ResponseEntity<Map<String, Object>> markAllAsRead(@AuthenticationPrincipal User user) {
-        int count = notificationService.markAllAsRead(user.getId());
+        int count = notificationService.markAllAsRead(user);
         return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "All notifications marked as read",
@@ -60,4 +60,12 @@ public record NotificationDTO(
                 recipientEmail,
                 recipientName);
     }
+
+    /**
+     * Copy with a different read status (broadcast read state is per user).
+     */
+    public NotificationDTO withRead(boolean read) {
+        return new NotificationDTO(id, type, title, message, data, read, createdAt, actorId, actorName,
+                actorAvatarUrl, isBroadcast, targetAudience, recipientId, recipientEmail, recipientName);
+    }
 }
@@ -0,0 +1,65 @@
+package com.unicorn.backend.notification;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A notification delivery that failed permanently (persistence or push after
+ * all retries), kept for inspection and manual replay.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_dead_letters", indexes = {
+        @Index(name = "idx_notification_dead_letter_created", columnList = "created_at")
+})
+public class NotificationDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "notification_id")
+    private UUID notificationId;
+
+    @Column(name = "recipient_id")
+    private UUID recipientId;
+
+    /**
+     * Stage that failed: PERSIST or PUSH.
+     */
+    @Column(nullable = false, length = 20)
+    private String stage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private NotificationType type;
+
+    @Column(length = 200)
+    private String title;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(columnDefinition = "TEXT")
+    private String data;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
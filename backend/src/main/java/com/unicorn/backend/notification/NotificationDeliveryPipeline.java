@@ -0,0 +1,374 @@
+package com.unicorn.backend.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous notification delivery.
+ * Notifications are queued after the caller's transaction commits, inserted in
+ * JDBC batches, then delivered over WebSocket and push on a bounded executor.
+ * Push delivery is retried with exponential backoff; notifications that cannot
+ * be persisted or pushed end up in the dead-letter table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationDeliveryPipeline {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PushNotificationService pushNotificationService;
+    private final NotificationDeadLetterRepository deadLetterRepository;
+    private final UnreadNotificationCounter unreadCounter;
+
+    @Value("${notification.pipeline.queue-capacity:50000}")
+    private int queueCapacity;
+
+    @Value("${notification.pipeline.flush-interval:100}")
+    private long flushIntervalMs;
+
+    @Value("${notification.pipeline.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notification.delivery.threads:4}")
+    private int deliveryThreads;
+
+    @Value("${notification.delivery.queue-capacity:10000}")
+    private int deliveryQueueCapacity;
+
+    @Value("${notification.push.max-attempts:5}")
+    private int pushMaxAttempts;
+
+    @Value("${notification.push.initial-backoff-ms:1000}")
+    private long pushInitialBackoffMs;
+
+    private static final String WEBSOCKET_DESTINATION = "/queue/notifications";
+    private static final String STAGE_PERSIST = "PERSIST";
+    private static final String STAGE_PUSH = "PUSH";
+
+    private static final String INSERT_SQL = "INSERT INTO notifications " +
+            "(id, recipient_id, type, title, message, data, is_read, created_at, actor_id, " +
+            "actor_avatar_url, actor_name, is_broadcast, target_audience) " +
+            "VALUES (?, ?, ?, ?, ?, ?, false, ?, ?, ?, ?, false, NULL)";
+
+    /**
+     * A notification waiting to be persisted and delivered.
+     *
+     * The recipient's id, principal name and push token are captured at submit
+     * time: the entity belongs to the caller's persistence context, and may be
+     * an uninitialized proxy by the time the notification is delivered.
+     *
+     * @param notification  entity with its id and creation time already assigned
+     * @param recipientName principal name of the recipient's WebSocket session
+     * @param pushToken     device token, or null if push is not enabled
+     * @param dto           payload sent to the client
+     * @param data          unserialized metadata, for the push payload
+     */
+    public record PendingNotification(Notification notification, UUID recipientId, String recipientName,
+            String pushToken, NotificationDTO dto, Map<String, Object> data, Set<NotificationChannel> channels,
+            long enqueuedAtNanos) {
+    }
+
+    private BlockingQueue<PendingNotification> queue;
+    private TransactionTemplate writeTemplate;
+    private ThreadPoolExecutor deliveryExecutor;
+    private ScheduledExecutorService retryScheduler;
+    private ScheduledExecutorService flusher;
+
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder deliveryFailures = new LongAdder();
+    private final LongAdder pushSent = new LongAdder();
+    private final LongAdder pushRetries = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    @PostConstruct
+    public void init() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        // Synchronous writes can run from an afterCommit callback, where the
+        // caller's transaction is still bound to the thread
+        writeTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger threadCount = new AtomicInteger();
+        // Callers run delivery themselves when the executor is saturated
+        deliveryExecutor = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(deliveryQueueCapacity),
+                runnable -> daemon(runnable, "notification-delivery-" + threadCount.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                runnable -> daemon(runnable, "notification-push-retry"));
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "notification-flush"));
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // An exception would cancel the periodic task
+            log.error("Notification flush failed: {}", e.getMessage());
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Queue a notification once the current transaction (if any) commits, so
+     * nothing is delivered for work that is rolled back.
+     */
+    public void submit(PendingNotification pending) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(pending);
+                }
+            });
+        } else {
+            enqueue(pending);
+        }
+    }
+
+    /**
+     * When the queue is full the caller persists synchronously, which throttles
+     * producers to database speed.
+     */
+    private void enqueue(PendingNotification pending) {
+        if (!queue.offer(pending)) {
+            log.warn("Notification queue full ({}), persisting synchronously", queueCapacity);
+            List<PendingNotification> batch = List.of(pending);
+            try {
+                persist(batch);
+                dispatch(batch);
+            } catch (Exception e) {
+                deadLetter(pending, STAGE_PERSIST, 1, e);
+            }
+        }
+    }
+
+    public NotificationPipelineStatsDTO getStats() {
+        long deliveredCount = delivered.sum();
+        return new NotificationPipelineStatsDTO(
+                queue.size(),
+                deliveryExecutor.getQueue().size(),
+                persisted.sum(),
+                deliveredCount,
+                deliveryFailures.sum(),
+                pushSent.sum(),
+                pushRetries.sum(),
+                deadLettered.sum(),
+                deliveredCount > 0 ? totalLatencyNanos.sum() / 1_000_000.0 / deliveredCount : 0,
+                maxLatencyNanos.get() / 1_000_000.0);
+    }
+
+    // ==================== Persistence ====================
+
+    public synchronized void flush() {
+        List<PendingNotification> batch = new ArrayList<>(Math.min(queue.size(), batchSize));
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                persist(batch);
+                dispatch(batch);
+            } catch (Exception e) {
+                log.warn("Failed to persist {} notifications, retrying one by one: {}", batch.size(), e.getMessage());
+                if (!persistIndividually(batch)) {
+                    // Nothing could be written: database unavailable, try again next round
+                    return;
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Isolate the notifications that make a batch fail and dead-letter them.
+     *
+     * @return false if no notification could be written
+     */
+    private boolean persistIndividually(List<PendingNotification> batch) {
+        List<PendingNotification> written = new ArrayList<>();
+        List<PendingNotification> failures = new ArrayList<>();
+        Exception lastError = null;
+        for (PendingNotification pending : batch) {
+            try {
+                persist(List.of(pending));
+                written.add(pending);
+            } catch (Exception e) {
+                failures.add(pending);
+                lastError = e;
+            }
+        }
+        if (written.isEmpty()) {
+            for (PendingNotification pending : failures) {
+                if (!queue.offer(pending)) {
+                    deadLetter(pending, STAGE_PERSIST, 1, lastError);
+                }
+            }
+            return false;
+        }
+        dispatch(written);
+        for (PendingNotification pending : failures) {
+            deadLetter(pending, STAGE_PERSIST, 1, lastError);
+        }
+        return true;
+    }
+
+    private void persist(List<PendingNotification> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (PendingNotification pending : batch) {
+            Notification notification = pending.notification();
+            rows.add(new Object[] {
+                    notification.getId(),
+                    pending.recipientId(),
+                    notification.getType().name(),
+                    notification.getTitle(),
+                    notification.getMessage(),
+                    notification.getData(),
+                    Timestamp.valueOf(notification.getCreatedAt()),
+                    notification.getActor() != null ? notification.getActor().getId() : null,
+                    notification.getActorAvatarUrl(),
+                    notification.getActorName() });
+        }
+        writeTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+        persisted.add(batch.size());
+    }
+
+    // ==================== Delivery ====================
+
+    private void dispatch(List<PendingNotification> batch) {
+        unreadCounter.onPersisted(batch.stream()
+                .map(pending -> new UnreadNotificationCounter.Recipient(pending.recipientId(), pending.recipientName()))
+                .toList());
+        for (PendingNotification pending : batch) {
+            try {
+                deliveryExecutor.execute(() -> deliver(pending));
+            } catch (RejectedExecutionException e) {
+                // Executor shut down
+                deliver(pending);
+            }
+        }
+    }
+
+    private void deliver(PendingNotification pending) {
+        if (pending.channels().contains(NotificationChannel.IN_APP)) {
+            try {
+                messagingTemplate.convertAndSendToUser(pending.recipientName(), WEBSOCKET_DESTINATION, pending.dto());
+                long latency = System.nanoTime() - pending.enqueuedAtNanos();
+                delivered.increment();
+                totalLatencyNanos.add(latency);
+                maxLatencyNanos.accumulate(latency);
+            } catch (Exception e) {
+                // The notification is persisted; the client sees it on its next fetch
+                deliveryFailures.increment();
+                log.warn("Failed to send WebSocket notification to {}: {}", pending.recipientName(), e.getMessage());
+            }
+        }
+        if (pending.channels().contains(NotificationChannel.PUSH)
+                && pending.pushToken() != null) {
+            push(pending, 1);
+        }
+    }
+
+    private void push(PendingNotification pending, int attempt) {
+        Notification notification = pending.notification();
+        Exception error = null;
+        try {
+            if (pushNotificationService.sendPush(pending.pushToken(), notification.getType(),
+                    notification.getTitle(), notification.getMessage(), pending.data())) {
+                pushSent.increment();
+                return;
+            }
+        } catch (Exception e) {
+            error = e;
+        }
+
+        if (attempt >= pushMaxAttempts) {
+            deliveryFailures.increment();
+            deadLetter(pending, STAGE_PUSH, attempt, error);
+            return;
+        }
+        long backoffMs = pushInitialBackoffMs << Math.min(attempt - 1, 16);
+        pushRetries.increment();
+        try {
+            retryScheduler.schedule(() -> push(pending, attempt + 1), backoffMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            deadLetter(pending, STAGE_PUSH, attempt, error);
+        }
+    }
+
+    private void deadLetter(PendingNotification pending, String stage, int attempts, Exception error) {
+        Notification notification = pending.notification();
+        deadLettered.increment();
+        log.error("Notification {} for user {} failed at {} after {} attempts",
+                notification.getId(), pending.recipientId(), stage, attempts);
+        String lastError = error != null ? String.valueOf(error.getMessage()) : "Delivery rejected";
+        try {
+            NotificationDeadLetter deadLetter = NotificationDeadLetter.builder()
+                    .notificationId(notification.getId())
+                    .recipientId(pending.recipientId())
+                    .stage(stage)
+                    .type(notification.getType())
+                    .title(notification.getTitle())
+                    .message(notification.getMessage())
+                    .data(notification.getData())
+                    .attempts(attempts)
+                    .lastError(lastError.length() > 1000 ? lastError.substring(0, 1000) : lastError)
+                    .build();
+            writeTemplate.executeWithoutResult(status -> deadLetterRepository.save(deadLetter));
+        } catch (Exception e) {
+            log.error("Failed to record dead letter for notification {}: {}", notification.getId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        deliveryExecutor.shutdown();
+        retryScheduler.shutdownNow();
+        try {
+            deliveryExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.unicorn.backend.notification;
+
+/**
+ * DTO for the notification delivery pipeline metrics.
+ */
+public record NotificationPipelineStatsDTO(
+        // Waiting to be persisted
+        int queueDepth,
+        // Persisted, waiting for a delivery thread
+        int deliveryQueueDepth,
+        long persisted,
+        long delivered,
+        long deliveryFailures,
+        long pushSent,
+        long pushRetries,
+        long deadLettered,
+        // Submit to WebSocket delivery
+        double avgDeliveryLatencyMs,
+        double maxDeliveryLatencyMs) {
+}
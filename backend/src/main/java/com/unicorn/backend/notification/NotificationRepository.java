@@ -33,6 +33,13 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
      */
     long countByRecipientIdAndReadFalse(UUID recipientId);
 
+    /**
+     * Count unread notifications for a set of users: rows of (recipientId, count).
+     */
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n WHERE n.recipient.id IN :recipientIds " +
+            "AND n.read = false GROUP BY n.recipient.id")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") java.util.Collection<UUID> recipientIds);
+
     /**
      * Mark all notifications as read for a user.
      */
@@ -48,13 +55,6 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
             NotificationType type,
             Pageable pageable);
 
-    /**
-     * Delete old read notifications (for cleanup jobs).
-     */
-    @Modifying
-    @Query("DELETE FROM Notification n WHERE n.read = true AND n.createdAt < :cutoffDate")
-    int deleteOldReadNotifications(@Param("cutoffDate") LocalDateTime cutoffDate);
-
     // ============== Admin Queries ==============
 
     /**
@@ -102,14 +102,65 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     // ============== Broadcast Queries ==============
 
     /**
-     * Find all broadcast notifications matching user's role.
+     * Broadcasts visible to an audience and not dismissed in the given bitmap.
+     */
+    String VISIBLE_BROADCAST = "n.is_broadcast = true AND n.target_audience IN ('ALL_USERS', :role) " +
+            "AND (CASE WHEN n.broadcast_seq < octet_length(:dismissed) * 8 " +
+            "THEN get_bit(:dismissed, CAST(n.broadcast_seq AS int)) ELSE 0 END) = 0";
+
+    /**
+     * A user's own notifications merged with the broadcasts addressed to them.
      */
-    @Query("SELECT n FROM Notification n WHERE n.broadcast = true AND " +
-            "(n.targetAudience = 'ALL_USERS' OR n.targetAudience = :userRole) " +
-            "AND n.id NOT IN :dismissedIds ORDER BY n.createdAt DESC")
-    List<Notification> findBroadcastsForUser(
-            @Param("userRole") String userRole,
-            @Param("dismissedIds") List<UUID> dismissedIds);
+    @Query(value = "SELECT n.* FROM notifications n WHERE n.recipient_id = :userId OR (" + VISIBLE_BROADCAST + ") " +
+            "ORDER BY n.created_at DESC, n.id DESC",
+            countQuery = "SELECT COUNT(*) FROM notifications n WHERE n.recipient_id = :userId OR ("
+                    + VISIBLE_BROADCAST + ")",
+            nativeQuery = true)
+    Page<Notification> findFeedForUser(
+            @Param("userId") UUID userId,
+            @Param("role") String role,
+            @Param("dismissed") byte[] dismissed,
+            Pageable pageable);
+
+    /**
+     * Unread own notifications merged with unread broadcasts.
+     */
+    @Query(value = "SELECT n.* FROM notifications n " +
+            "WHERE (n.recipient_id = :userId AND n.is_read = false) " +
+            "OR (" + VISIBLE_BROADCAST + " AND n.broadcast_seq > :watermark) " +
+            "ORDER BY n.created_at DESC, n.id DESC", nativeQuery = true)
+    List<Notification> findUnreadFeedForUser(
+            @Param("userId") UUID userId,
+            @Param("role") String role,
+            @Param("dismissed") byte[] dismissed,
+            @Param("watermark") long watermark);
+
+    @Query(value = "SELECT COUNT(*) FROM notifications n WHERE " + VISIBLE_BROADCAST +
+            " AND n.broadcast_seq > :watermark", nativeQuery = true)
+    long countUnreadBroadcasts(
+            @Param("role") String role,
+            @Param("dismissed") byte[] dismissed,
+            @Param("watermark") long watermark);
+
+    @Query("SELECT COALESCE(MAX(n.broadcastSeq), 0) FROM Notification n WHERE n.broadcast = true")
+    long findMaxBroadcastSeq();
+
+    @Query(value = "SELECT nextval('notification_broadcast_seq')", nativeQuery = true)
+    long nextBroadcastSeq();
+
+    @Modifying
+    @Query(value = "CREATE SEQUENCE IF NOT EXISTS notification_broadcast_seq", nativeQuery = true)
+    void createBroadcastSequence();
+
+    /**
+     * Number broadcasts that predate the sequence, oldest first.
+     */
+    @Modifying
+    @Query(value = "UPDATE notifications n SET broadcast_seq = s.seq FROM (" +
+            "SELECT o.id, nextval('notification_broadcast_seq') AS seq FROM (" +
+            "SELECT id FROM notifications WHERE is_broadcast = true AND broadcast_seq IS NULL " +
+            "ORDER BY created_at) o) s WHERE n.id = s.id", nativeQuery = true)
+    int backfillBroadcastSeq();
 
     /**
      * Find all broadcasts (admin view).
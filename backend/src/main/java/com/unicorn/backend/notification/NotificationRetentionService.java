@@ -0,0 +1,231 @@
+package com.unicorn.backend.notification;
+
+import com.unicorn.backend.appconfig.AppConfigService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Retention for read notifications.
+ * Walks the table in primary key order in bounded chunks, deleting read
+ * individual notifications older than the retention of their type, each
+ * chunk in its own short statement and throttled to a target rows/second so
+ * the purge never holds long locks. The scheduled run executes on its own
+ * thread, so its throttling never delays other scheduled jobs.
+ *
+ * Retention days come from AppConfigService:
+ * notification.retention.&lt;TYPE&gt;.days, falling back to
+ * notification.retention.default.days; 0 keeps notifications of that type.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationRetentionService {
+
+    private static final String DEFAULT_DAYS_KEY = "notification.retention.default.days";
+    private static final int DEFAULT_DAYS = 30;
+
+    private static final String SELECT_CANDIDATES_SQL = "SELECT id, type, created_at FROM notifications " +
+            "WHERE id > ? AND is_read = true AND is_broadcast = false AND created_at < ? " +
+            "ORDER BY id LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM notifications WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppConfigService appConfigService;
+
+    @Value("${notification.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notification.retention.max-rows-per-second:5000}")
+    private int maxRowsPerSecond;
+
+    private record Candidate(UUID id, NotificationType type, LocalDateTime createdAt) {
+    }
+
+    private ExecutorService purgeExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong totalDeleted = new AtomicLong();
+    private volatile NotificationRetentionStatsDTO lastRun;
+
+    @PostConstruct
+    public void init() {
+        purgeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupts the throttle sleep; the purge stops after the current chunk
+        purgeExecutor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        submit(this::purgeExpired);
+    }
+
+    /**
+     * Start a purge of read notifications created before the given time,
+     * whatever their type. Progress and results are in getStats().
+     *
+     * @return false if a purge is already running
+     */
+    public boolean startPurgeReadBefore(LocalDateTime cutoff) {
+        return submit(() -> purge(type -> cutoff));
+    }
+
+    /**
+     * Run a purge on the retention thread; purges are throttled with sleeps,
+     * so they never run on a scheduler or request thread.
+     */
+    private boolean submit(Runnable purge) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Notification retention already running, skipping");
+            return false;
+        }
+        try {
+            purgeExecutor.execute(() -> {
+                try {
+                    purge.run();
+                } catch (Exception e) {
+                    log.error("Notification retention failed: {}", e.getMessage());
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            running.set(false);
+            return false;
+        }
+    }
+
+    private void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<NotificationType, LocalDateTime> cutoffs = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values()) {
+            int days = appConfigService.getIntValue("notification.retention." + type.name() + ".days",
+                    appConfigService.getIntValue(DEFAULT_DAYS_KEY, DEFAULT_DAYS));
+            if (days > 0) {
+                cutoffs.put(type, now.minusDays(days));
+            }
+        }
+        purge(cutoffs::get);
+    }
+
+    /**
+     * @param cutoffs creation time before which a read notification of a type
+     *                is deleted; null keeps the type
+     * @return number of notifications deleted
+     */
+    private long purge(Function<NotificationType, LocalDateTime> cutoffs) {
+        LocalDateTime latestCutoff = null;
+        for (NotificationType type : NotificationType.values()) {
+            LocalDateTime cutoff = cutoffs.apply(type);
+            if (cutoff != null && (latestCutoff == null || cutoff.isAfter(latestCutoff))) {
+                latestCutoff = cutoff;
+            }
+        }
+        if (latestCutoff == null) {
+            return 0;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        Map<NotificationType, Long> deletedByType = new EnumMap<>(NotificationType.class);
+        long deleted = 0;
+        try {
+            UUID lastId = new UUID(0, 0);
+            while (true) {
+                List<Candidate> candidates = jdbcTemplate.query(SELECT_CANDIDATES_SQL,
+                        (rs, rowNum) -> new Candidate(rs.getObject("id", UUID.class),
+                                NotificationType.valueOf(rs.getString("type")),
+                                rs.getTimestamp("created_at").toLocalDateTime()),
+                        lastId, Timestamp.valueOf(latestCutoff), chunkSize);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                // Rows come in PostgreSQL uuid order, so the last one is the next lower bound
+                lastId = candidates.get(candidates.size() - 1).id();
+
+                List<UUID> expired = new ArrayList<>();
+                for (Candidate candidate : candidates) {
+                    LocalDateTime cutoff = cutoffs.apply(candidate.type());
+                    if (cutoff != null && candidate.createdAt().isBefore(cutoff)) {
+                        expired.add(candidate.id());
+                        deletedByType.merge(candidate.type(), 1L, Long::sum);
+                    }
+                }
+                if (!expired.isEmpty()) {
+                    int chunkDeleted = jdbcTemplate.update(DELETE_SQL,
+                            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", expired.toArray())));
+                    deleted += chunkDeleted;
+                    // Counted per chunk so getStats() shows the progress of a running purge
+                    totalDeleted.addAndGet(chunkDeleted);
+                    throttle(deleted, startNanos);
+                }
+                if (candidates.size() < chunkSize) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Notification retention interrupted after {} rows", deleted);
+        } finally {
+            long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+            Map<String, Long> byType = new LinkedHashMap<>();
+            deletedByType.forEach((type, count) -> byType.put(type.name(), count));
+            lastRun = new NotificationRetentionStatsDTO(startedAt, durationMs, deleted, byType, totalDeleted.get(),
+                    false);
+            log.info("Notification retention reclaimed {} rows in {} ms {}", deleted, durationMs, byType);
+        }
+        return deleted;
+    }
+
+    /**
+     * Sleep until the run is back under the target rate.
+     */
+    private void throttle(long deleted, long startNanos) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long targetNanos = deleted * 1_000_000_000L / maxRowsPerSecond;
+        long aheadMs = (targetNanos - (System.nanoTime() - startNanos)) / 1_000_000;
+        if (aheadMs > 0) {
+            Thread.sleep(aheadMs);
+        }
+    }
+
+    public NotificationRetentionStatsDTO getStats() {
+        NotificationRetentionStatsDTO last = lastRun;
+        if (last == null) {
+            return new NotificationRetentionStatsDTO(null, 0, 0, Map.of(), totalDeleted.get(), running.get());
+        }
+        return new NotificationRetentionStatsDTO(last.lastRunStartedAt(), last.lastRunDurationMs(),
+                last.lastRunDeleted(), last.lastRunDeletedByType(), last.totalDeleted(), running.get());
+    }
+}
@@ -0,0 +1,17 @@
+package com.unicorn.backend.notification;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for notification retention runs: the last run and the total reclaimed
+ * since startup.
+ */
+public record NotificationRetentionStatsDTO(
+        LocalDateTime lastRunStartedAt,
+        long lastRunDurationMs,
+        long lastRunDeleted,
+        Map<String, Long> lastRunDeletedByType,
+        long totalDeleted,
+        boolean running) {
+}
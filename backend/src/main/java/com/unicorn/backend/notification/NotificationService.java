@@ -9,7 +9,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,8 +17,8 @@ import java.util.*;
 
 /**
  * Central service for managing notifications across the application.
- * Handles notification creation, persistence, retrieval, and real-time
- * delivery.
+ * Handles notification creation and retrieval; persistence and real-time
+ * delivery of new notifications go through the NotificationDeliveryPipeline.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,12 +26,12 @@ import java.util.*;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDeliveryPipeline deliveryPipeline;
     private final PushNotificationService pushNotificationService;
+    private final BroadcastNotificationService broadcastNotificationService;
+    private final UnreadNotificationCounter unreadCounter;
     private final ObjectMapper objectMapper;
 
-    private static final String WEBSOCKET_DESTINATION = "/queue/notifications";
-
     /**
      * Send a notification to a user through specified channels.
      * Default channel is IN_APP only.
@@ -61,7 +60,6 @@ public class NotificationService {
      * @param channels  Delivery channels
      * @return Created notification DTO
      */
-    @Transactional
     public NotificationDTO send(
             User recipient,
             NotificationType type,
@@ -86,39 +84,51 @@ public class NotificationService {
             }
         }
 
-        // Create and save notification entity
+        // Id and creation time are assigned here: the row is written later by
+        // the delivery pipeline
         Notification notification = Notification.builder()
+                .id(UUID.randomUUID())
                 .recipient(recipient)
                 .type(type)
                 .title(title)
                 .message(message)
                 .data(dataJson)
                 .read(false)
+                .createdAt(LocalDateTime.now())
                 .actor(actor)
                 .actorName(actor != null ? buildActorName(actor) : null)
                 .actorAvatarUrl(actor != null ? actor.getAvatarUrl() : null)
                 .build();
 
-        notification = notificationRepository.save(notification);
-        log.debug("Notification saved: {} for user {}", type, recipient.getId());
-
         // Create DTO for response
         NotificationDTO dto = NotificationDTO.from(notification, data != null ? data : Map.of());
 
-        // Deliver through channels
-        if (channels.contains(NotificationChannel.IN_APP)) {
-            sendWebSocket(recipient, dto);
-        }
-
-        if (channels.contains(NotificationChannel.PUSH)) {
-            pushNotificationService.sendPush(recipient, type, title, message, data);
-        }
+        // Persist and deliver asynchronously, after the caller's transaction commits
+        String pushToken = channels.contains(NotificationChannel.PUSH)
+                ? pushNotificationService.getPushToken(recipient)
+                : null;
+        deliveryPipeline.submit(new NotificationDeliveryPipeline.PendingNotification(notification,
+                recipient.getId(), recipient.getUsername(), pushToken, dto, data, channels, System.nanoTime()));
+        log.debug("Notification queued: {} for user {}", type, recipient.getId());
 
         return dto;
     }
 
     /**
-     * Get paginated notifications for a user.
+     * Get paginated notifications for a user: their own notifications merged
+     * with the broadcasts addressed to them that they have not dismissed.
+     */
+    @Transactional
+    public Page<NotificationDTO> getUserNotifications(User user, int page, int size) {
+        Pageable pageable = PageRequest.of(page, Math.min(size, 50)); // Max 50 per page
+        BroadcastReadState state = broadcastNotificationService.getState(user);
+        return notificationRepository
+                .findFeedForUser(user.getId(), user.getRole(), state.getDismissedBitmap(), pageable)
+                .map(notification -> toDTO(notification, state));
+    }
+
+    /**
+     * Get paginated individual notifications of a user (admin view).
      */
     @Transactional(readOnly = true)
     public Page<NotificationDTO> getUserNotifications(UUID userId, int page, int size) {
@@ -128,28 +138,52 @@ public class NotificationService {
     }
 
     /**
-     * Get unread notification count for a user.
+     * Get unread notification count for a user, including unread broadcasts.
+     * Served from the cached counter; the broadcast part is only recounted
+     * after a new broadcast.
      */
-    @Transactional(readOnly = true)
-    public long getUnreadCount(UUID userId) {
-        return notificationRepository.countByRecipientIdAndReadFalse(userId);
+    @Transactional
+    public long getUnreadCount(User user) {
+        long broadcastVersion = unreadCounter.getBroadcastVersion();
+        UnreadCountStore.CachedCount cached = unreadCounter.get(user.getId());
+        if (cached != null && cached.broadcastVersion() == broadcastVersion) {
+            return cached.total();
+        }
+
+        long individual = cached != null
+                ? cached.individual()
+                : notificationRepository.countByRecipientIdAndReadFalse(user.getId());
+        BroadcastReadState state = broadcastNotificationService.getState(user);
+        long broadcast = notificationRepository.countUnreadBroadcasts(user.getRole(), state.getDismissedBitmap(),
+                state.getReadWatermark());
+        unreadCounter.put(user.getId(), new UnreadCountStore.CachedCount(individual, broadcast, broadcastVersion));
+        return individual + broadcast;
     }
 
     /**
      * Mark a single notification as read.
      */
     @Transactional
-    public boolean markAsRead(UUID notificationId, UUID userId) {
+    public boolean markAsRead(UUID notificationId, User user) {
         Optional<Notification> optNotification = notificationRepository.findById(notificationId);
         if (optNotification.isEmpty()) {
             return false;
         }
 
         Notification notification = optNotification.get();
+        if (notification.isBroadcast()) {
+            if (!broadcastNotificationService.isAddressedTo(notification, user)) {
+                return false;
+            }
+            broadcastNotificationService.markRead(user, notification);
+            refreshUnreadCount(user);
+            return true;
+        }
+
         // Security check: ensure the notification belongs to the user
-        if (!notification.getRecipient().getId().equals(userId)) {
+        if (!notification.getRecipient().getId().equals(user.getId())) {
             log.warn("User {} attempted to mark notification {} as read, but it belongs to another user",
-                    userId, notificationId);
+                    user.getId(), notificationId);
             return false;
         }
 
@@ -157,42 +191,72 @@ public class NotificationService {
             notification.setRead(true);
             notification.setReadAt(LocalDateTime.now());
             notificationRepository.save(notification);
+            unreadCounter.adjust(user, -1);
         }
         return true;
     }
 
     /**
-     * Mark all notifications as read for a user.
+     * Mark all notifications as read for a user, broadcasts included.
      */
     @Transactional
-    public int markAllAsRead(UUID userId) {
-        return notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+    public int markAllAsRead(User user) {
+        broadcastNotificationService.markAllRead(user);
+        int updated = notificationRepository.markAllAsRead(user.getId(), LocalDateTime.now());
+        unreadCounter.onAllRead(user);
+        return updated;
     }
 
     /**
-     * Get unread notifications for a user.
+     * Hide a broadcast for a user.
      */
-    @Transactional(readOnly = true)
-    public List<NotificationDTO> getUnreadNotifications(UUID userId) {
-        return notificationRepository.findByRecipientIdAndReadFalseOrderByCreatedAtDesc(userId)
+    @Transactional
+    public boolean dismissBroadcast(UUID notificationId, User user) {
+        Optional<Notification> broadcast = notificationRepository.findById(notificationId)
+                .filter(notification -> broadcastNotificationService.isAddressedTo(notification, user));
+        if (broadcast.isEmpty()) {
+            return false;
+        }
+        broadcastNotificationService.dismiss(user, broadcast.get());
+        refreshUnreadCount(user);
+        return true;
+    }
+
+    /**
+     * Recount after a change of the user's broadcast state commits and push
+     * the result.
+     */
+    private void refreshUnreadCount(User user) {
+        UnreadNotificationCounter.afterCommit(() -> {
+            unreadCounter.onBroadcastStateChanged(user);
+            unreadCounter.push(user, getUnreadCount(user));
+        });
+    }
+
+    /**
+     * Get unread notifications for a user, including unread broadcasts.
+     */
+    @Transactional
+    public List<NotificationDTO> getUnreadNotifications(User user) {
+        BroadcastReadState state = broadcastNotificationService.getState(user);
+        return notificationRepository
+                .findUnreadFeedForUser(user.getId(), user.getRole(), state.getDismissedBitmap(),
+                        state.getReadWatermark())
                 .stream()
-                .map(this::toDTO)
+                .map(notification -> toDTO(notification, state))
                 .toList();
     }
 
     /**
-     * Send notification via WebSocket for real-time delivery.
+     * Convert a feed entry to DTO, taking broadcast read state from the user's
+     * watermark.
      */
-    private void sendWebSocket(User recipient, NotificationDTO dto) {
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    recipient.getUsername(),
-                    WEBSOCKET_DESTINATION,
-                    dto);
-            log.debug("WebSocket notification sent to user: {}", recipient.getUsername());
-        } catch (Exception e) {
-            log.error("Failed to send WebSocket notification to {}: {}", recipient.getUsername(), e.getMessage());
+    private NotificationDTO toDTO(Notification notification, BroadcastReadState state) {
+        NotificationDTO dto = toDTO(notification);
+        if (notification.isBroadcast() && notification.getBroadcastSeq() != null) {
+            return dto.withRead(state.isRead(notification.getBroadcastSeq()));
         }
+        return dto;
     }
 
     /**
@@ -12,19 +12,21 @@ import java.util.Set;
 public interface PushNotificationService {
 
     /**
-     * Send a push notification to a user's device(s).
+     * Send a push notification to a user's device.
      *
-     * @param recipient The target user
+     * @param pushToken The device token, from {@link #getPushToken(User)}
      * @param type      Notification type
      * @param title     Notification title
      * @param message   Notification body
      * @param data      Additional data payload
      * @return true if notification was sent successfully
      */
-    boolean sendPush(User recipient, NotificationType type, String title, String message, Map<String, Object> data);
+    boolean sendPush(String pushToken, NotificationType type, String title, String message, Map<String, Object> data);
 
     /**
-     * Check if push notifications are enabled for a user.
+     * The device token of a user, or null if push notifications are not
+     * enabled. Called when the notification is sent, while the user entity is
+     * still attached.
      */
-    boolean isPushEnabled(User user);
+    String getPushToken(User user);
 }
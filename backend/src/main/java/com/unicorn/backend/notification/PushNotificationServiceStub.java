@@ -15,19 +15,18 @@ import java.util.Map;
 public class PushNotificationServiceStub implements PushNotificationService {
 
     @Override
-    public boolean sendPush(User recipient, NotificationType type, String title, String message,
+    public boolean sendPush(String pushToken, NotificationType type, String title, String message,
             Map<String, Object> data) {
         // TODO: Implement Firebase Cloud Messaging integration
-        // 1. Get user's FCM token(s) from database
-        // 2. Build FCM message with title, body, and data
-        // 3. Send via FirebaseMessaging.getInstance().send()
-        log.debug("Push notification stub: would send '{}' to user {}", title, recipient.getId());
+        // 1. Build FCM message with title, body, and data
+        // 2. Send via FirebaseMessaging.getInstance().send()
+        log.debug("Push notification stub: would send '{}' to device {}", title, pushToken);
         return false; // Return false since push is not actually sent
     }
 
     @Override
-    public boolean isPushEnabled(User user) {
-        // TODO: Check if user has registered FCM token
-        return false;
+    public String getPushToken(User user) {
+        // TODO: Get user's registered FCM token from database
+        return null;
     }
 }
@@ -0,0 +1,150 @@
+package com.unicorn.backend.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Redis-backed UnreadCountStore (notification.unread.store=redis).
+ * Each count is a hash (i = individual, b = broadcast, v = broadcast version)
+ * that expires when unused. When Redis is unreachable counts are treated as
+ * not cached, so callers fall back to the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.unread.store", havingValue = "redis")
+public class RedisUnreadCountStore implements UnreadCountStore {
+
+    private static final String KEY_PREFIX = "unicorn:notifications:unread:";
+    private static final String VERSION_KEY = "unicorn:notifications:broadcast-version";
+
+    /**
+     * Adjust the individual count only if the hash exists, clamped at zero.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADD_INDIVIDUAL = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return nil end " +
+                    "local i = redis.call('hincrby', KEYS[1], 'i', ARGV[1]) " +
+                    "if i < 0 then redis.call('hset', KEYS[1], 'i', 0) i = 0 end " +
+                    "redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                    "return {i, tonumber(redis.call('hget', KEYS[1], 'b')), tonumber(redis.call('hget', KEYS[1], 'v'))}",
+            List.class);
+
+    /**
+     * Overwrite the hash only if it still holds the expected values.
+     */
+    private static final RedisScript<Long> REPLACE = new DefaultRedisScript<>(
+            "local c = redis.call('hmget', KEYS[1], 'i', 'b', 'v') " +
+                    "if c[1] ~= ARGV[1] or c[2] ~= ARGV[2] or c[3] ~= ARGV[3] then return 0 end " +
+                    "redis.call('hset', KEYS[1], 'i', ARGV[4], 'b', ARGV[5], 'v', ARGV[6]) " +
+                    "redis.call('pexpire', KEYS[1], ARGV[7]) " +
+                    "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${notification.unread.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Override
+    public CachedCount get(UUID userId) {
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(KEY_PREFIX + userId, List.of("i", "b", "v"));
+            if (values.stream().anyMatch(value -> value == null)) {
+                return null;
+            }
+            return new CachedCount(Long.parseLong((String) values.get(0)), Long.parseLong((String) values.get(1)),
+                    Long.parseLong((String) values.get(2)));
+        } catch (Exception e) {
+            log.debug("Unread count lookup failed for {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(UUID userId, CachedCount count) {
+        try {
+            String key = KEY_PREFIX + userId;
+            redisTemplate.opsForHash().putAll(key, Map.of(
+                    "i", Long.toString(count.individual()),
+                    "b", Long.toString(count.broadcast()),
+                    "v", Long.toString(count.broadcastVersion())));
+            redisTemplate.expire(key, Duration.ofMillis(ttlMs));
+        } catch (Exception e) {
+            log.debug("Failed to cache unread count for {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean replace(UUID userId, CachedCount expected, CachedCount updated) {
+        try {
+            Long replaced = redisTemplate.execute(REPLACE, List.of(KEY_PREFIX + userId),
+                    Long.toString(expected.individual()), Long.toString(expected.broadcast()),
+                    Long.toString(expected.broadcastVersion()), Long.toString(updated.individual()),
+                    Long.toString(updated.broadcast()), Long.toString(updated.broadcastVersion()),
+                    Long.toString(ttlMs));
+            return replaced != null && replaced == 1;
+        } catch (Exception e) {
+            log.debug("Failed to replace unread count for {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public CachedCount addIndividual(UUID userId, long delta) {
+        try {
+            List<?> result = redisTemplate.execute(ADD_INDIVIDUAL, List.of(KEY_PREFIX + userId),
+                    Long.toString(delta), Long.toString(ttlMs));
+            if (result == null || result.size() < 3 || result.contains(null)) {
+                return null;
+            }
+            return new CachedCount(((Number) result.get(0)).longValue(), ((Number) result.get(1)).longValue(),
+                    ((Number) result.get(2)).longValue());
+        } catch (Exception e) {
+            // The cached value may now be off: drop it
+            log.debug("Failed to adjust unread count for {}: {}", userId, e.getMessage());
+            evict(userId);
+            return null;
+        }
+    }
+
+    @Override
+    public void evict(UUID userId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("Failed to evict unread count for {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public long getBroadcastVersion() {
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY);
+            return version != null ? Long.parseLong(version) : 0;
+        } catch (Exception e) {
+            // Never matches a cached version, forcing a database count
+            return -1;
+        }
+    }
+
+    @Override
+    public void bumpBroadcastVersion() {
+        try {
+            redisTemplate.opsForValue().increment(VERSION_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to invalidate cached broadcast unread counts: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.unicorn.backend.notification;
+
+/**
+ * Badge update sent on /queue/notifications whenever a user's unread count
+ * changes.
+ */
+public record UnreadCountMessage(String type, long count) {
+
+    public static final String TYPE = "UNREAD_COUNT";
+
+    public static UnreadCountMessage of(long count) {
+        return new UnreadCountMessage(TYPE, count);
+    }
+}
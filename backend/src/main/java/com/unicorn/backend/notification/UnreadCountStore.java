@@ -0,0 +1,55 @@
+package com.unicorn.backend.notification;
+
+import java.util.UUID;
+
+/**
+ * Storage for cached unread notification counts.
+ * Implementations: LocalUnreadCountStore (single node) and
+ * RedisUnreadCountStore (shared between nodes).
+ */
+public interface UnreadCountStore {
+
+    /**
+     * Cached unread count of a user.
+     *
+     * @param individual       unread notifications addressed to the user
+     * @param broadcast        unread broadcasts visible to the user
+     * @param broadcastVersion broadcast version the broadcast part was computed
+     *                         at; stale once a new broadcast is sent
+     */
+    record CachedCount(long individual, long broadcast, long broadcastVersion) {
+        public long total() {
+            return individual + broadcast;
+        }
+    }
+
+    /**
+     * @return the cached count, or null if not cached
+     */
+    CachedCount get(UUID userId);
+
+    void put(UUID userId, CachedCount count);
+
+    /**
+     * Replace a cached count only if it still equals expected.
+     *
+     * @return false if the count changed or is no longer cached
+     */
+    boolean replace(UUID userId, CachedCount expected, CachedCount updated);
+
+    /**
+     * Adjust the individual part of a cached count, never below zero.
+     *
+     * @return the updated count, or null if the user has no cached count
+     */
+    CachedCount addIndividual(UUID userId, long delta);
+
+    void evict(UUID userId);
+
+    long getBroadcastVersion();
+
+    /**
+     * Invalidate the broadcast part of every cached count.
+     */
+    void bumpBroadcastVersion();
+}
@@ -0,0 +1,194 @@
+package com.unicorn.backend.notification;
+
+import com.unicorn.backend.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached per-user unread notification counts for the badge.
+ * The individual part is adjusted as notifications are persisted and read;
+ * the broadcast part is recomputed only after a new broadcast or a change of
+ * the user's broadcast state. Every change is pushed to the user, and counts
+ * of recently active users are periodically reconciled with the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private static final String WEBSOCKET_DESTINATION = "/queue/notifications";
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final UnreadCountStore store;
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * Users whose count was read or changed on this node since the last
+     * reconciliation.
+     */
+    private final Set<UUID> activeUsers = ConcurrentHashMap.newKeySet();
+
+    public UnreadCountStore.CachedCount get(UUID userId) {
+        activeUsers.add(userId);
+        return store.get(userId);
+    }
+
+    public void put(UUID userId, UnreadCountStore.CachedCount count) {
+        store.put(userId, count);
+    }
+
+    public long getBroadcastVersion() {
+        return store.getBroadcastVersion();
+    }
+
+    // ==================== Changes ====================
+
+    /**
+     * A recipient as captured when the notification was sent, so the counter
+     * never touches a detached entity.
+     */
+    public record Recipient(UUID id, String principalName) {
+    }
+
+    /**
+     * New notifications were persisted for these recipients.
+     */
+    public void onPersisted(List<Recipient> recipients) {
+        Map<Recipient, Long> added = new HashMap<>();
+        for (Recipient recipient : recipients) {
+            added.merge(recipient, 1L, Long::sum);
+        }
+        added.forEach((recipient, delta) -> adjust(recipient.id(), recipient.principalName(), delta));
+    }
+
+    /**
+     * Add to the individual count and push the new total, if cached, once the
+     * current transaction commits.
+     */
+    public void adjust(User user, long delta) {
+        afterCommit(() -> adjust(user.getId(), user.getUsername(), delta));
+    }
+
+    private void adjust(UUID userId, String principalName, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        UnreadCountStore.CachedCount count = store.addIndividual(userId, delta);
+        if (count != null) {
+            push(principalName, count.total());
+        }
+    }
+
+    /**
+     * Everything is read: the count is known without a query once the
+     * current transaction commits.
+     */
+    public void onAllRead(User user) {
+        afterCommit(() -> {
+            store.put(user.getId(), new UnreadCountStore.CachedCount(0, 0, store.getBroadcastVersion()));
+            push(user, 0);
+        });
+    }
+
+    /**
+     * The user's broadcast read state changed; the count is reloaded on the
+     * next request.
+     */
+    public void onBroadcastStateChanged(User user) {
+        store.evict(user.getId());
+    }
+
+    public void onBroadcastCreated() {
+        store.bumpBroadcastVersion();
+    }
+
+    public void push(User user, long count) {
+        push(user.getUsername(), count);
+    }
+
+    private void push(String principalName, long count) {
+        try {
+            messagingTemplate.convertAndSendToUser(principalName, WEBSOCKET_DESTINATION,
+                    UnreadCountMessage.of(count));
+        } catch (Exception e) {
+            log.debug("Failed to push unread count to {}: {}", principalName, e.getMessage());
+        }
+    }
+
+    /**
+     * Run an action once the current transaction (if any) commits, so a
+     * rolled back change never reaches the cache or the client.
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // ==================== Reconciliation ====================
+
+    /**
+     * Correct drift in the individual counts of users active since the last
+     * run, with one grouped COUNT per batch.
+     */
+    @Scheduled(fixedDelayString = "${notification.unread.reconcile-interval:300000}")
+    public void reconcile() {
+        List<UUID> users = new ArrayList<>(activeUsers);
+        activeUsers.removeAll(users);
+        int corrected = 0;
+        for (int from = 0; from < users.size(); from += RECONCILE_BATCH_SIZE) {
+            List<UUID> batch = users.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, users.size()));
+            // Cached values are read before the counts: a change landing after
+            // this point fails the compare-and-set below instead of being
+            // overwritten, and the user is checked again next run
+            Map<UUID, UnreadCountStore.CachedCount> cached = new HashMap<>();
+            for (UUID userId : batch) {
+                UnreadCountStore.CachedCount count = store.get(userId);
+                if (count != null) {
+                    cached.put(userId, count);
+                }
+            }
+            Map<UUID, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByRecipientIds(batch)) {
+                actual.put((UUID) row[0], (Long) row[1]);
+            }
+            for (Map.Entry<UUID, UnreadCountStore.CachedCount> entry : cached.entrySet()) {
+                UnreadCountStore.CachedCount count = entry.getValue();
+                long individual = actual.getOrDefault(entry.getKey(), 0L);
+                if (count.individual() == individual) {
+                    continue;
+                }
+                if (store.replace(entry.getKey(), count, new UnreadCountStore.CachedCount(individual,
+                        count.broadcast(), count.broadcastVersion()))) {
+                    corrected++;
+                } else {
+                    activeUsers.add(entry.getKey());
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciled unread counts of {} users", corrected);
+        }
+    }
+}
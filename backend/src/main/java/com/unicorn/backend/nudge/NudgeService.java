@@ -1,6 +1,7 @@
 package com.unicorn.backend.nudge;
 
 import com.unicorn.backend.appconfig.AppConfigService;
+import com.unicorn.backend.appconfig.ConfigSnapshot;
 import com.unicorn.backend.notification.NotificationChannel;
 import com.unicorn.backend.notification.NotificationService;
 import com.unicorn.backend.notification.NotificationType;
@@ -11,6 +12,7 @@ import com.unicorn.backend.subscription.SubscriptionPlan;
 import com.unicorn.backend.subscription.SubscriptionService;
 import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -46,6 +48,27 @@ public class NudgeService {
     private static final int DEFAULT_PRO_COOLDOWN_DAYS = 5;
     private static final int DEFAULT_ELITE_COOLDOWN_DAYS = 3;
 
+    /**
+     * Plan limits pre-resolved from the config snapshot.
+     */
+    private record NudgeLimits(int freeMonthly, int proMonthly, int proCooldownDays, int eliteCooldownDays) {
+
+        static NudgeLimits from(ConfigSnapshot config) {
+            return new NudgeLimits(
+                    config.getInt("nudge.limit.free.monthly", DEFAULT_FREE_MONTHLY_LIMIT),
+                    config.getInt("nudge.limit.pro.monthly", DEFAULT_PRO_MONTHLY_LIMIT),
+                    config.getInt("nudge.cooldown.pro.days", DEFAULT_PRO_COOLDOWN_DAYS),
+                    config.getInt("nudge.cooldown.elite.days", DEFAULT_ELITE_COOLDOWN_DAYS));
+        }
+    }
+
+    private volatile NudgeLimits limits;
+
+    @PostConstruct
+    public void init() {
+        appConfigService.addListener(config -> limits = NudgeLimits.from(config));
+    }
+
     /**
      * Check if a sender can nudge a receiver based on plan limits.
      */
@@ -79,8 +102,7 @@ public class NudgeService {
 
             case PRO:
                 // PRO: Cooldown of X days per investor
-                int proCooldownDays = appConfigService.getIntValue("nudge.cooldown.pro.days",
-                        DEFAULT_PRO_COOLDOWN_DAYS);
+                int proCooldownDays = limits.proCooldownDays();
                 Optional<LocalDateTime> proCooldownEnds = checkCooldown(sender, receiver, proCooldownDays);
                 if (proCooldownEnds.isPresent()) {
                     return NudgeAvailabilityResponse.denied(
@@ -92,8 +114,7 @@ public class NudgeService {
 
             case ELITE:
                 // ELITE: Cooldown of X days per investor (no monthly limit)
-                int eliteCooldownDays = appConfigService.getIntValue("nudge.cooldown.elite.days",
-                        DEFAULT_ELITE_COOLDOWN_DAYS);
+                int eliteCooldownDays = limits.eliteCooldownDays();
                 Optional<LocalDateTime> eliteCooldownEnds = checkCooldown(sender, receiver, eliteCooldownDays);
                 if (eliteCooldownEnds.isPresent()) {
                     return NudgeAvailabilityResponse.denied(
@@ -227,8 +248,8 @@ public class NudgeService {
      */
     private int getMonthlyLimit(SubscriptionPlan plan) {
         return switch (plan) {
-            case FREE -> appConfigService.getIntValue("nudge.limit.free.monthly", DEFAULT_FREE_MONTHLY_LIMIT);
-            case PRO -> appConfigService.getIntValue("nudge.limit.pro.monthly", DEFAULT_PRO_MONTHLY_LIMIT);
+            case FREE -> limits.freeMonthly();
+            case PRO -> limits.proMonthly();
             case ELITE -> Integer.MAX_VALUE; // Unlimited
         };
     }
@@ -1,5 +1,6 @@
 package com.unicorn.backend.payment;
 
+import com.unicorn.backend.subscription.SubscriptionPlan;
 import com.unicorn.backend.user.User;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -22,8 +23,10 @@ import java.time.LocalDateTime;
 @Table(name = "payments", indexes = {
         @Index(name = "idx_payment_user_id", columnList = "user_id"),
         @Index(name = "idx_payment_status", columnList = "status"),
-        @Index(name = "idx_payment_timestamp", columnList = "timestamp")
+        @Index(name = "idx_payment_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_payment_status_timestamp", columnList = "status, timestamp")
 })
+@EntityListeners(com.unicorn.backend.admin.RevenueSeriesCacheListener.class)
 public class Payment {
 
     @Id
@@ -52,6 +55,13 @@ public class Payment {
     @Column(length = 50)
     private String paymentMethod;
 
+    /**
+     * Plan bought with this payment, null for non-subscription payments.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "plan_type", length = 20)
+    private SubscriptionPlan planType;
+
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
@@ -22,10 +22,12 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
 import java.time.ZoneId;
+import java.time.format.TextStyle;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing payment transactions and Google Play subscription
@@ -41,6 +43,7 @@ public class PaymentService {
     private final AppConfigService appConfigService;
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionService subscriptionService;
+    private final RevenueRollupService revenueRollupService;
     private final InvestorProfileRepository investorProfileRepository;
     private final AndroidPublisher androidPublisher;
     private final GooglePlayConfig googlePlayConfig;
@@ -105,6 +108,12 @@ public class PaymentService {
                 return GooglePlayPurchaseResponse.failure("Failed to verify purchase with Google Play");
             }
 
+            // A replayed purchase must not create a second subscription or payment
+            if (isAlreadyRecorded(purchase.getOrderId())) {
+                log.warn("Google Play order already processed: {}", purchase.getOrderId());
+                return GooglePlayPurchaseResponse.failure("Purchase already processed");
+            }
+
             // Validate purchase state (0 = Purchased, 1 = Canceled, 2 = Pending)
             Integer paymentState = purchase.getPaymentState();
             if (paymentState == null || paymentState != 1) {
@@ -152,6 +161,7 @@ public class PaymentService {
             // Create a payment record
             Payment payment = createPaymentRecord(
                     user,
+                    plan,
                     amount,
                     "Google Play Subscription: " + request.getSubscriptionId(),
                     "GOOGLE_PLAY",
@@ -244,6 +254,11 @@ public class PaymentService {
                 return VerificationPurchaseResponse.failure("Failed to verify purchase with Google Play");
             }
 
+            if (isAlreadyRecorded(purchase.getOrderId())) {
+                log.warn("Google Play order already processed: {}", purchase.getOrderId());
+                return VerificationPurchaseResponse.failure("Purchase already processed");
+            }
+
             // Validate purchase state (0 = Purchased, 1 = Canceled, 2 = Pending)
             Integer purchaseState = purchase.getPurchaseState();
             if (purchaseState == null || purchaseState != 0) {
@@ -340,7 +355,7 @@ public class PaymentService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        return paymentRepository.save(payment);
+        return savePayment(payment, null);
     }
 
     /**
@@ -358,6 +373,7 @@ public class PaymentService {
             existing.setStatus(SubscriptionStatus.CANCELLED);
             existing.setEndDate(LocalDateTime.now());
             subscriptionRepository.save(existing);
+            revenueRollupService.recordSubscription(existing, SubscriptionStatus.ACTIVE);
         });
 
         // Create new subscription
@@ -372,7 +388,9 @@ public class PaymentService {
                 .googlePlayPurchaseToken(purchaseToken)
                 .build();
 
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        revenueRollupService.recordSubscription(saved, null);
+        return saved;
     }
 
     /**
@@ -380,6 +398,7 @@ public class PaymentService {
      */
     private Payment createPaymentRecord(
             User user,
+            SubscriptionPlan plan,
             BigDecimal amount,
             String description,
             String paymentMethod,
@@ -395,10 +414,11 @@ public class PaymentService {
                 .status(PaymentStatus.COMPLETED)
                 .description(description)
                 .paymentMethod(paymentMethod)
+                .planType(plan)
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        return paymentRepository.save(payment);
+        return savePayment(payment, null);
     }
 
     /**
@@ -420,7 +440,7 @@ public class PaymentService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        return paymentRepository.save(payment);
+        return savePayment(payment, null);
     }
 
     /**
@@ -430,8 +450,9 @@ public class PaymentService {
     public Payment completePayment(String transactionId) {
         Payment payment = paymentRepository.findById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Payment not found: " + transactionId));
+        PaymentStatus previousStatus = payment.getStatus();
         payment.setStatus(PaymentStatus.COMPLETED);
-        return paymentRepository.save(payment);
+        return savePayment(payment, previousStatus);
     }
 
     /**
@@ -441,8 +462,32 @@ public class PaymentService {
     public Payment failPayment(String transactionId) {
         Payment payment = paymentRepository.findById(transactionId)
                 .orElseThrow(() -> new RuntimeException("Payment not found: " + transactionId));
+        PaymentStatus previousStatus = payment.getStatus();
         payment.setStatus(PaymentStatus.FAILED);
-        return paymentRepository.save(payment);
+        return savePayment(payment, previousStatus);
+    }
+
+    /**
+     * Whether a payment with this transaction id (Google Play order id) exists.
+     */
+    private boolean isAlreadyRecorded(String orderId) {
+        return orderId != null && paymentRepository.existsById(orderId);
+    }
+
+    /**
+     * Save a payment and record it in the revenue rollups.
+     *
+     * @param previousStatus status before this change, null for a new payment
+     */
+    private Payment savePayment(Payment payment, PaymentStatus previousStatus) {
+        // The id may be pre-assigned: save() would merge over an existing row
+        // while the rollups count it as new
+        if (previousStatus == null && isAlreadyRecorded(payment.getTransactionId())) {
+            throw new RuntimeException("Payment already recorded: " + payment.getTransactionId());
+        }
+        Payment saved = paymentRepository.save(payment);
+        revenueRollupService.recordPayment(saved, previousStatus);
+        return saved;
     }
 
     /**
@@ -460,66 +505,30 @@ public class PaymentService {
     }
 
     /**
-     * Get monthly revenue data for charts with USD conversion.
+     * Get monthly revenue data for charts with USD conversion, from the
+     * revenue rollups.
      */
     public List<Map<String, Object>> getMonthlyRevenueData() {
-        LocalDateTime startOfYear = LocalDateTime.now().withMonth(1).withDayOfMonth(1)
-                .withHour(0).withMinute(0).withSecond(0);
-
-        List<Object[]> rawData = paymentRepository.getMonthlyRevenueByCurrency(startOfYear);
+        LocalDate startOfYear = LocalDate.now().withDayOfYear(1);
 
         // Map: MonthNum -> Total Revenue (USD)
-        Map<Integer, BigDecimal> monthlyRevenueMap = new HashMap<>();
-        Map<Integer, String> monthNameMap = new HashMap<>();
-
-        for (Object[] row : rawData) {
-            String monthName = (String) row[0];
-            int monthNum = ((Number) row[1]).intValue();
-            String currency = (String) row[2];
-            BigDecimal amount = (BigDecimal) row[3];
-
-            BigDecimal amountUSD = convertToUSD(amount, currency);
-
-            monthlyRevenueMap.put(monthNum, monthlyRevenueMap.getOrDefault(monthNum, BigDecimal.ZERO).add(amountUSD));
-            monthNameMap.put(monthNum, monthName);
+        Map<Integer, BigDecimal> monthlyRevenueMap = new TreeMap<>();
+        for (Object[] row : revenueRollupService.getDailyRevenueByCurrency(startOfYear, startOfYear.plusYears(1))) {
+            int monthNum = ((LocalDate) row[0]).getMonthValue();
+            BigDecimal amountUSD = convertToUSD((BigDecimal) row[2], (String) row[1]);
+            monthlyRevenueMap.merge(monthNum, amountUSD, BigDecimal::add);
         }
 
         List<Map<String, Object>> result = new ArrayList<>();
-        // Iterate through months to ensure order
         monthlyRevenueMap.forEach((monthNum, totalUSD) -> {
             Map<String, Object> monthData = new HashMap<>();
-            monthData.put("month", monthNameMap.get(monthNum));
+            monthData.put("month", Month.of(monthNum).getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
             monthData.put("revenue", totalUSD);
             result.add(monthData);
         });
-
-        // Create a list ordered by month number if needed, though the map iteration
-        // order isn't guaranteed
-        // Better to sort by monthNum
-        return result.stream()
-                .sorted(Comparator.comparingInt(m -> monthlyRevenueMap.keySet().stream()
-                        .filter(k -> monthlyRevenueMap.get(k).equals(m.get("revenue"))) // This is weak linking, better
-                                                                                        // logic below
-                        .findFirst().orElse(0)))
-                // Actually simpler: just creating list from map entries?
-                // Let's stick to the previous loop style for simplicity and correctness
-                .collect(Collectors.toList());
+        return result;
     }
 
-    // Better implementation replacing the return above:
-    /*
-     * List<Map<String, Object>> sortedResult = new ArrayList<>();
-     * monthlyRevenueMap.entrySet().stream()
-     * .sorted(Map.Entry.comparingByKey())
-     * .forEach(entry -> {
-     * Map<String, Object> monthData = new HashMap<>();
-     * monthData.put("month", monthNameMap.get(entry.getKey()));
-     * monthData.put("revenue", entry.getValue());
-     * sortedResult.add(monthData);
-     * });
-     * return sortedResult;
-     */
-
     private BigDecimal convertToUSD(BigDecimal amount, String currency) {
         if (amount == null)
             return BigDecimal.ZERO;
@@ -545,11 +554,9 @@ public class PaymentService {
      * Get total revenue for current month.
      */
     public BigDecimal getCurrentMonthRevenue() {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1)
-                .withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = startOfMonth.plusMonths(1);
+        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
 
-        BigDecimal revenue = paymentRepository.getTotalRevenueForPeriod(startOfMonth, endOfMonth);
+        BigDecimal revenue = revenueRollupService.getRevenue(startOfMonth, startOfMonth.plusMonths(1));
         return revenue != null ? revenue : BigDecimal.ZERO;
     }
 
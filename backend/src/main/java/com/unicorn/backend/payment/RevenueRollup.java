@@ -0,0 +1,77 @@
+package com.unicorn.backend.payment;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized totals of payments and subscriptions per day, currency, plan
+ * and status, maintained by RevenueRollupService. Payments are bucketed by
+ * their timestamp, subscriptions by their creation time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revenue_rollups")
+@IdClass(RevenueRollup.Key.class)
+public class RevenueRollup {
+
+    public enum Source {
+        PAYMENT,
+        SUBSCRIPTION
+    }
+
+    /**
+     * Plan of payments that are not tied to a subscription plan.
+     */
+    public static final String NO_PLAN = "NONE";
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Source source;
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Column(length = 10)
+    private String currency;
+
+    @Id
+    @Column(length = 20)
+    private String plan;
+
+    @Id
+    @Column(length = 20)
+    private String status;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Source source;
+        private LocalDate day;
+        private String currency;
+        private String plan;
+        private String status;
+    }
+}
@@ -0,0 +1,82 @@
+package com.unicorn.backend.payment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the revenue rollup table.
+ */
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, RevenueRollup.Key> {
+
+        /**
+         * Amount per currency of a source and status in [from, to): rows of
+         * (currency, amount).
+         */
+        @Query("SELECT r.currency, COALESCE(SUM(r.amount), 0) FROM RevenueRollup r " +
+                        "WHERE r.source = :source AND r.status = :status AND r.day >= :from AND r.day < :to " +
+                        "GROUP BY r.currency")
+        List<Object[]> sumByCurrency(
+                        @Param("source") RevenueRollup.Source source,
+                        @Param("status") String status,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        /**
+         * Amount per day and currency of a source and status in [from, to):
+         * rows of (day, currency, amount).
+         */
+        @Query("SELECT r.day, r.currency, COALESCE(SUM(r.amount), 0) FROM RevenueRollup r " +
+                        "WHERE r.source = :source AND r.status = :status AND r.day >= :from AND r.day < :to " +
+                        "GROUP BY r.day, r.currency ORDER BY r.day")
+        List<Object[]> sumByDayAndCurrency(
+                        @Param("source") RevenueRollup.Source source,
+                        @Param("status") String status,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        /**
+         * Amount per currency of a source and status over all days: rows of
+         * (currency, amount).
+         */
+        @Query("SELECT r.currency, COALESCE(SUM(r.amount), 0) FROM RevenueRollup r " +
+                        "WHERE r.source = :source AND r.status = :status GROUP BY r.currency")
+        List<Object[]> sumAllByCurrency(
+                        @Param("source") RevenueRollup.Source source,
+                        @Param("status") String status);
+
+        /**
+         * Amount per currency of a source, plan and status over all days: rows
+         * of (currency, amount).
+         */
+        @Query("SELECT r.currency, COALESCE(SUM(r.amount), 0) FROM RevenueRollup r " +
+                        "WHERE r.source = :source AND r.plan = :plan AND r.status = :status GROUP BY r.currency")
+        List<Object[]> sumAllByCurrencyForPlan(
+                        @Param("source") RevenueRollup.Source source,
+                        @Param("plan") String plan,
+                        @Param("status") String status);
+
+        /**
+         * Amount of a source and status in [from, to), all currencies added up.
+         */
+        @Query("SELECT COALESCE(SUM(r.amount), 0) FROM RevenueRollup r " +
+                        "WHERE r.source = :source AND r.status = :status AND r.day >= :from AND r.day < :to")
+        BigDecimal sumAmount(
+                        @Param("source") RevenueRollup.Source source,
+                        @Param("status") String status,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        /**
+         * Item counts of a source: rows of (plan, status, count).
+         */
+        @Query("SELECT r.plan, r.status, COALESCE(SUM(r.itemCount), 0) FROM RevenueRollup r " +
+                        "WHERE r.source = :source GROUP BY r.plan, r.status")
+        List<Object[]> countByPlanAndStatus(@Param("source") RevenueRollup.Source source);
+}
@@ -0,0 +1,300 @@
+package com.unicorn.backend.payment;
+
+import com.unicorn.backend.subscription.Subscription;
+import com.unicorn.backend.subscription.SubscriptionPlan;
+import com.unicorn.backend.subscription.SubscriptionStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains and reads the revenue rollup table (day x currency x plan x
+ * status), so financial metrics read a few hundred rows instead of the full
+ * payment and subscription history.
+ * Writers report each payment and subscription status change; the deltas are
+ * merged per transaction and applied just before it commits, in key order, so
+ * concurrent purchases hold the rollup rows briefly and never deadlock.
+ * rebuild() recomputes the table from the source tables.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevenueRollupService {
+
+    private final RevenueRollupRepository revenueRollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String UPSERT_SQL = "INSERT INTO revenue_rollups " +
+            "(source, day, currency, plan, status, amount, item_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (source, day, currency, plan, status) DO UPDATE SET " +
+            "amount = revenue_rollups.amount + EXCLUDED.amount, " +
+            "item_count = revenue_rollups.item_count + EXCLUDED.item_count, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String REBUILD_PAYMENTS_SQL = "INSERT INTO revenue_rollups " +
+            "(source, day, currency, plan, status, amount, item_count, updated_at) " +
+            "SELECT 'PAYMENT', CAST(p.timestamp AS date), COALESCE(p.currency, 'USD'), " +
+            "COALESCE(p.plan_type, 'NONE'), p.status, COALESCE(SUM(p.amount), 0), COUNT(*), now() " +
+            "FROM payments p GROUP BY 2, 3, 4, 5";
+
+    private static final String REBUILD_SUBSCRIPTIONS_SQL = "INSERT INTO revenue_rollups " +
+            "(source, day, currency, plan, status, amount, item_count, updated_at) " +
+            "SELECT 'SUBSCRIPTION', CAST(s.created_at AS date), COALESCE(s.currency, 'USD'), " +
+            "s.plan_type, s.status, COALESCE(SUM(s.amount), 0), COUNT(*), now() " +
+            "FROM subscriptions s GROUP BY 2, 3, 4, 5";
+
+    private record RollupKey(RevenueRollup.Source source, LocalDate day, String currency, String plan,
+            String status) implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::source)
+                .thenComparing(RollupKey::day)
+                .thenComparing(RollupKey::currency)
+                .thenComparing(RollupKey::plan)
+                .thenComparing(RollupKey::status);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record Delta(BigDecimal amount, long count) {
+        Delta add(Delta other) {
+            return new Delta(amount.add(other.amount), count + other.count);
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+
+    /**
+     * Item counts by plan and status, read from the rollup in one query.
+     */
+    public record RollupCounts(Map<String, Map<String, Long>> byPlanAndStatus) {
+
+        /**
+         * Count for a plan and status; null matches any.
+         */
+        public long count(Enum<?> plan, Enum<?> status) {
+            long total = 0;
+            for (Map.Entry<String, Map<String, Long>> byPlan : byPlanAndStatus.entrySet()) {
+                if (plan != null && !plan.name().equals(byPlan.getKey())) {
+                    continue;
+                }
+                for (Map.Entry<String, Long> byStatus : byPlan.getValue().entrySet()) {
+                    if (status == null || status.name().equals(byStatus.getKey())) {
+                        total += byStatus.getValue();
+                    }
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Key of the pending deltas bound to the current transaction.
+     */
+    private final Object pendingResourceKey = new Object();
+
+    // ==================== Recording ====================
+
+    /**
+     * Record a new payment (previousStatus null) or a status change of an
+     * existing one.
+     */
+    public void recordPayment(Payment payment, PaymentStatus previousStatus) {
+        if (payment.getStatus() == previousStatus) {
+            return;
+        }
+        LocalDate day = payment.getTimestamp() != null ? payment.getTimestamp().toLocalDate() : LocalDate.now();
+        String plan = payment.getPlanType() != null ? payment.getPlanType().name() : RevenueRollup.NO_PLAN;
+        record(RevenueRollup.Source.PAYMENT, day, payment.getCurrency(), plan,
+                previousStatus != null ? previousStatus.name() : null, payment.getStatus().name(),
+                payment.getAmount());
+    }
+
+    /**
+     * Record a new subscription (previousStatus null) or a status change of
+     * an existing one.
+     */
+    public void recordSubscription(Subscription subscription, SubscriptionStatus previousStatus) {
+        if (subscription.getStatus() == previousStatus) {
+            return;
+        }
+        LocalDate day = subscription.getCreatedAt() != null ? subscription.getCreatedAt().toLocalDate()
+                : LocalDate.now();
+        record(RevenueRollup.Source.SUBSCRIPTION, day, subscription.getCurrency(),
+                subscription.getPlanType().name(), previousStatus != null ? previousStatus.name() : null,
+                subscription.getStatus().name(), subscription.getAmount());
+    }
+
+    private void record(RevenueRollup.Source source, LocalDate day, String currency, String plan,
+            String previousStatus, String status, BigDecimal amount) {
+        String rollupCurrency = currency != null ? currency : "USD";
+        BigDecimal rollupAmount = amount != null ? amount : BigDecimal.ZERO;
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        Map<RollupKey, Delta> deltas = inTransaction ? pendingDeltas() : new TreeMap<>();
+        if (previousStatus != null) {
+            deltas.merge(new RollupKey(source, day, rollupCurrency, plan, previousStatus),
+                    new Delta(rollupAmount.negate(), -1), Delta::add);
+        }
+        deltas.merge(new RollupKey(source, day, rollupCurrency, plan, status), new Delta(rollupAmount, 1),
+                Delta::add);
+        if (!inTransaction) {
+            write(deltas);
+        }
+    }
+
+    /**
+     * Deltas of the current transaction, written just before it commits.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<RollupKey, Delta> pendingDeltas() {
+        Map<RollupKey, Delta> pending = (Map<RollupKey, Delta>) TransactionSynchronizationManager
+                .getResource(pendingResourceKey);
+        if (pending != null) {
+            return pending;
+        }
+        Map<RollupKey, Delta> created = new TreeMap<>();
+        TransactionSynchronizationManager.bindResource(pendingResourceKey, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(pendingResourceKey);
+            }
+        });
+        return created;
+    }
+
+    private void write(Map<RollupKey, Delta> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                rows.add(new Object[] { key.source().name(), Date.valueOf(key.day()), key.currency(), key.plan(),
+                        key.status(), delta.amount(), delta.count() });
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+
+    // ==================== Rebuild ====================
+
+    /**
+     * Recompute the whole table from payments and subscriptions. Recording
+     * transactions wait on the table lock, so none of their deltas is lost or
+     * counted twice.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.execute("LOCK TABLE revenue_rollups IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM revenue_rollups");
+        int rows = jdbcTemplate.update(REBUILD_PAYMENTS_SQL) + jdbcTemplate.update(REBUILD_SUBSCRIPTIONS_SQL);
+        log.info("Rebuilt revenue rollups: {} rows in {}ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    /**
+     * Fill the table on first start after it was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (revenueRollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * Completed payment amount per currency in [from, to): rows of
+     * (currency, amount).
+     */
+    public List<Object[]> getRevenueByCurrency(LocalDate from, LocalDate to) {
+        return revenueRollupRepository.sumByCurrency(RevenueRollup.Source.PAYMENT,
+                PaymentStatus.COMPLETED.name(), from, to);
+    }
+
+    /**
+     * Completed payment amount per day and currency in [from, to): rows of
+     * (day, currency, amount).
+     */
+    public List<Object[]> getDailyRevenueByCurrency(LocalDate from, LocalDate to) {
+        return revenueRollupRepository.sumByDayAndCurrency(RevenueRollup.Source.PAYMENT,
+                PaymentStatus.COMPLETED.name(), from, to);
+    }
+
+    /**
+     * Completed payment amount in [from, to), all currencies added up.
+     */
+    public BigDecimal getRevenue(LocalDate from, LocalDate to) {
+        return revenueRollupRepository.sumAmount(RevenueRollup.Source.PAYMENT,
+                PaymentStatus.COMPLETED.name(), from, to);
+    }
+
+    /**
+     * Amount of active subscriptions per currency, optionally for one plan:
+     * rows of (currency, amount).
+     */
+    public List<Object[]> getActiveSubscriptionAmountByCurrency(SubscriptionPlan plan) {
+        String active = SubscriptionStatus.ACTIVE.name();
+        return plan == null
+                ? revenueRollupRepository.sumAllByCurrency(RevenueRollup.Source.SUBSCRIPTION, active)
+                : revenueRollupRepository.sumAllByCurrencyForPlan(RevenueRollup.Source.SUBSCRIPTION, plan.name(),
+                        active);
+    }
+
+    /**
+     * Amount of subscriptions created in [from, to) that are still active,
+     * all currencies added up.
+     */
+    public BigDecimal getActiveSubscriptionAmount(LocalDate from, LocalDate to) {
+        return revenueRollupRepository.sumAmount(RevenueRollup.Source.SUBSCRIPTION,
+                SubscriptionStatus.ACTIVE.name(), from, to);
+    }
+
+    public RollupCounts getSubscriptionCounts() {
+        return counts(RevenueRollup.Source.SUBSCRIPTION);
+    }
+
+    public RollupCounts getPaymentCounts() {
+        return counts(RevenueRollup.Source.PAYMENT);
+    }
+
+    private RollupCounts counts(RevenueRollup.Source source) {
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        for (Object[] row : revenueRollupRepository.countByPlanAndStatus(source)) {
+            counts.computeIfAbsent((String) row[0], plan -> new HashMap<>())
+                    .put((String) row[1], ((Number) row[2]).longValue());
+        }
+        return new RollupCounts(counts);
+    }
+}
@@ -13,7 +13,8 @@ import java.time.Instant;
 @Entity
 @Table(name = "refresh_tokens", indexes = {
         @Index(name = "idx_user_id", columnList = "user_id"),
-        @Index(name = "idx_expiry_date", columnList = "expiry_date")
+        @Index(name = "idx_expiry_date", columnList = "expiry_date"),
+        @Index(name = "idx_refresh_tokens_expiry_device", columnList = "expiry_date, device, created_at")
 })
 public class RefreshToken {
     @Id
@@ -33,6 +34,12 @@ public class RefreshToken {
     @Column(name = "user_agent", length = 512)
     private String userAgent;
 
+    /**
+     * Browser or platform class derived from the user agent at creation.
+     */
+    @Column(name = "device", length = 20)
+    private String device;
+
     @Column(name = "ip_address", length = 100)
     private String ipAddress;
 
@@ -18,15 +18,49 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     // Actually, JPA method names:
     List<RefreshToken> findByUserId(UUID userId);
 
-    @org.springframework.data.jpa.repository.Query("SELECT COUNT(DISTINCT r.user) FROM RefreshToken r WHERE r.expiryDate > :date")
-    long countDistinctUserByExpiryDateAfter(
-            @org.springframework.data.repository.query.Param("date") java.time.Instant date);
+    /**
+     * Token counts in one pass: rows of (total, active, expired, online users).
+     */
+    @org.springframework.data.jpa.repository.Query(value = "SELECT COUNT(*), " +
+            "COUNT(*) FILTER (WHERE expiry_date > :now), " +
+            "COUNT(*) FILTER (WHERE expiry_date < :now), " +
+            "COUNT(DISTINCT user_id) FILTER (WHERE expiry_date > :now) " +
+            "FROM refresh_tokens", nativeQuery = true)
+    List<Object[]> countSessionTotals(@org.springframework.data.repository.query.Param("now") java.time.Instant now);
 
-    long countByExpiryDateAfter(java.time.Instant date);
+    /**
+     * Active sessions per device class: rows of (device, count).
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT r.device, COUNT(r) FROM RefreshToken r " +
+            "WHERE r.expiryDate > :now GROUP BY r.device")
+    List<Object[]> countActiveByDevice(@org.springframework.data.repository.query.Param("now") java.time.Instant now);
 
-    long countByExpiryDateBefore(java.time.Instant date);
+    /**
+     * Active sessions created since :since per day, in the database session
+     * time zone: rows of (day, count).
+     */
+    @org.springframework.data.jpa.repository.Query(value = "SELECT CAST(date_trunc('day', created_at) AS date), " +
+            "COUNT(*) FROM refresh_tokens WHERE expiry_date > :now AND created_at >= :since GROUP BY 1",
+            nativeQuery = true)
+    List<Object[]> countActiveCreatedByDay(@org.springframework.data.repository.query.Param("now") java.time.Instant now,
+            @org.springframework.data.repository.query.Param("since") java.time.Instant since);
 
-    List<RefreshToken> findAllByExpiryDateAfter(java.time.Instant date);
+    /**
+     * Classify tokens issued before the device column existed, using the same
+     * rules as RefreshTokenService.classifyDevice.
+     */
+    @Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE refresh_tokens SET device = CASE " +
+            "WHEN user_agent IS NULL THEN 'Unknown' " +
+            "WHEN user_agent LIKE '%Edg%' THEN 'Edge' " +
+            "WHEN user_agent LIKE '%OPR%' OR user_agent LIKE '%Opera%' THEN 'Opera' " +
+            "WHEN user_agent LIKE '%Chrome%' THEN 'Chrome' " +
+            "WHEN user_agent LIKE '%Firefox%' THEN 'Firefox' " +
+            "WHEN user_agent LIKE '%Safari%' THEN 'Safari' " +
+            "WHEN user_agent LIKE '%Android%' THEN 'Android' " +
+            "WHEN user_agent LIKE '%iPhone%' OR user_agent LIKE '%iPad%' THEN 'iOS' " +
+            "ELSE 'Other' END WHERE device IS NULL", nativeQuery = true)
+    int backfillDevice();
 
     @Modifying
     void deleteByToken(String token);
@@ -3,6 +3,8 @@ package com.unicorn.backend.security;
 import com.unicorn.backend.config.JwtConfigService;
 import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,14 +13,55 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Issues and revokes refresh tokens, and keeps users.last_active_session_expiry
+ * (the latest expiry of a user's tokens) in step so session checks need no
+ * token lookup.
+ */
 @Service
 public class RefreshTokenService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtConfigService jwtConfigService;
+    private final UserRepository userRepository;
 
-    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtConfigService jwtConfigService) {
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtConfigService jwtConfigService,
+            UserRepository userRepository) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.jwtConfigService = jwtConfigService;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillSessionColumns() {
+        userRepository.backfillLastActiveSessionExpiry();
+        refreshTokenRepository.backfillDevice();
+    }
+
+    /**
+     * Browser or platform class of a user agent, stored with each token for
+     * the session statistics.
+     */
+    public static String classifyDevice(String userAgent) {
+        if (userAgent == null) {
+            return "Unknown";
+        }
+        if (userAgent.contains("Edg")) {
+            return "Edge";
+        } else if (userAgent.contains("OPR") || userAgent.contains("Opera")) {
+            return "Opera";
+        } else if (userAgent.contains("Chrome")) {
+            return "Chrome";
+        } else if (userAgent.contains("Firefox")) {
+            return "Firefox";
+        } else if (userAgent.contains("Safari")) {
+            return "Safari";
+        } else if (userAgent.contains("Android")) {
+            return "Android";
+        } else if (userAgent.contains("iPhone") || userAgent.contains("iPad")) {
+            return "iOS";
+        }
+        return "Other";
     }
 
     public Optional<RefreshToken> findByToken(String token) {
@@ -32,13 +75,36 @@ public class RefreshTokenService {
         refreshToken.setExpiryDate(Instant.now().plusMillis(jwtConfigService.getRefreshTokenDurationMs()));
         refreshToken.setToken(UUID.randomUUID().toString());
         refreshToken.setUserAgent(userAgent);
+        refreshToken.setDevice(classifyDevice(userAgent));
         refreshToken.setIpAddress(ipAddress);
-        return refreshTokenRepository.save(refreshToken);
+        RefreshToken saved = refreshTokenRepository.save(refreshToken);
+        userRepository.extendLastActiveSessionExpiry(user.getId(), saved.getExpiryDate());
+        return saved;
     }
 
     @Transactional
     public void deleteByToken(String token) {
-        refreshTokenRepository.deleteByToken(token);
+        refreshTokenRepository.findByToken(token).ifPresent(this::revokeSession);
+    }
+
+    /**
+     * Delete one refresh token.
+     */
+    @Transactional
+    public void revokeSession(RefreshToken token) {
+        refreshTokenRepository.delete(token);
+        refreshTokenRepository.flush();
+        userRepository.recomputeLastActiveSessionExpiry(token.getUser().getId());
+    }
+
+    /**
+     * Delete all refresh tokens of a user.
+     */
+    @Transactional
+    public void revokeAllSessions(UUID userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        refreshTokenRepository.flush();
+        userRepository.recomputeLastActiveSessionExpiry(userId);
     }
 
     public List<RefreshToken> findAllActiveByUserId(UUID userId) {
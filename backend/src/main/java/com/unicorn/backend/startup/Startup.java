@@ -22,7 +22,10 @@ import java.util.UUID;
 @AllArgsConstructor
 @lombok.EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
-@Table(name = "startups")
+@Table(name = "startups", indexes = {
+        @Index(name = "idx_startup_owner", columnList = "owner_id")
+})
+@EntityListeners(com.unicorn.backend.admin.DashboardStatsEntityListener.class)
 public class Startup {
 
     @Id
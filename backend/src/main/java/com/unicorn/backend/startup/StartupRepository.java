@@ -47,6 +47,12 @@ public interface StartupRepository extends JpaRepository<Startup, UUID>, JpaSpec
      */
     long countByStatus(StartupStatus status);
 
+    /**
+     * Which of the given users own at least one startup.
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT s.owner.id FROM Startup s WHERE s.owner.id IN :ownerIds")
+    List<UUID> findOwnerIdsIn(@org.springframework.data.repository.query.Param("ownerIds") java.util.Collection<UUID> ownerIds);
+
     /**
      * Get total funding raised by all startups.
      */
@@ -3,6 +3,7 @@ package com.unicorn.backend.subscription;
 import com.google.api.services.androidpublisher.AndroidPublisher;
 import com.google.api.services.androidpublisher.model.SubscriptionPurchase;
 import com.unicorn.backend.config.GooglePlayConfig;
+import com.unicorn.backend.payment.RevenueRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -27,6 +28,7 @@ public class AutoRenewService {
     private final SubscriptionRepository subscriptionRepository;
     private final AndroidPublisher androidPublisher;
     private final GooglePlayConfig googlePlayConfig;
+    private final RevenueRollupService revenueRollupService;
 
     /**
      * Scheduled task that runs daily at 2:00 AM to check subscription renewals.
@@ -161,25 +163,31 @@ public class AutoRenewService {
      * Updates the subscription expiry date after successful renewal.
      */
     private void updateSubscriptionExpiry(Subscription subscription, LocalDateTime newExpiryDate) {
+        SubscriptionStatus previousStatus = subscription.getStatus();
         subscription.setEndDate(newExpiryDate);
         subscription.setStatus(SubscriptionStatus.ACTIVE);
         subscriptionRepository.save(subscription);
+        revenueRollupService.recordSubscription(subscription, previousStatus);
     }
 
     /**
      * Marks a subscription as cancelled.
      */
     private void markSubscriptionCancelled(Subscription subscription) {
+        SubscriptionStatus previousStatus = subscription.getStatus();
         subscription.setStatus(SubscriptionStatus.CANCELLED);
         subscriptionRepository.save(subscription);
+        revenueRollupService.recordSubscription(subscription, previousStatus);
     }
 
     /**
      * Marks a subscription as expired.
      */
     private void markSubscriptionExpired(Subscription subscription) {
+        SubscriptionStatus previousStatus = subscription.getStatus();
         subscription.setStatus(SubscriptionStatus.EXPIRED);
         subscriptionRepository.save(subscription);
+        revenueRollupService.recordSubscription(subscription, previousStatus);
     }
 
     /**
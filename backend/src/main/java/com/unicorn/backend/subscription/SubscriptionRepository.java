@@ -33,6 +33,12 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
         @Query("SELECT s FROM Subscription s WHERE s.user.id = :userId AND s.status = 'ACTIVE'")
         Optional<Subscription> findActiveByUserId(@Param("userId") UUID userId);
 
+        /**
+         * Batch lookup of active plans: rows of [userId, planType].
+         */
+        @Query("SELECT s.user.id, s.planType FROM Subscription s WHERE s.user.id IN :userIds AND s.status = 'ACTIVE'")
+        List<Object[]> findActivePlansByUserIds(@Param("userIds") java.util.Collection<UUID> userIds);
+
         /**
          * Count subscriptions by plan type.
          */
@@ -1,5 +1,6 @@
 package com.unicorn.backend.subscription;
 
+import com.unicorn.backend.payment.RevenueRollupService;
 import com.unicorn.backend.user.ModerationActionType;
 import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserModerationLog;
@@ -11,7 +12,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +31,7 @@ public class SubscriptionService {
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
     private final UserModerationLogRepository moderationLogRepository;
+    private final RevenueRollupService revenueRollupService;
 
     /**
      * Revoke a user's subscription (for refund cases).
@@ -54,6 +58,7 @@ public class SubscriptionService {
             activeSubscription.setStatus(SubscriptionStatus.CANCELLED);
             activeSubscription.setEndDate(LocalDateTime.now());
             subscriptionRepository.save(activeSubscription);
+            revenueRollupService.recordSubscription(activeSubscription, SubscriptionStatus.ACTIVE);
             log.info("Revoked {} subscription for user: {}", previousPlan, userId);
         } else {
             log.warn("No active subscription found for user: {}", userId);
@@ -115,6 +120,7 @@ public class SubscriptionService {
             existing.setStatus(SubscriptionStatus.CANCELLED);
             existing.setEndDate(LocalDateTime.now());
             subscriptionRepository.save(existing);
+            revenueRollupService.recordSubscription(existing, SubscriptionStatus.ACTIVE);
         });
 
         // Calculate end date based on duration
@@ -134,7 +140,9 @@ public class SubscriptionService {
         log.info("Created {} subscription for user: {}, plan: {}, expires: {}",
                 duration, userId, plan, endDate);
 
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        revenueRollupService.recordSubscription(saved, null);
+        return saved;
     }
 
     /**
@@ -153,6 +161,21 @@ public class SubscriptionService {
         return subscriptionRepository.findActiveByUserId(userId).orElse(null);
     }
 
+    /**
+     * Get the active plan of each user in one query.
+     * Users without an active subscription are absent from the map.
+     */
+    public Map<UUID, SubscriptionPlan> getActivePlans(Collection<UUID> userIds) {
+        Map<UUID, SubscriptionPlan> plans = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return plans;
+        }
+        for (Object[] row : subscriptionRepository.findActivePlansByUserIds(userIds)) {
+            plans.put((UUID) row[0], (SubscriptionPlan) row[1]);
+        }
+        return plans;
+    }
+
     /**
      * Get subscription history for a user.
      */
@@ -168,29 +191,30 @@ public class SubscriptionService {
         Subscription subscription = subscriptionRepository.findById(subscriptionId)
                 .orElseThrow(() -> new RuntimeException("Subscription not found: " + subscriptionId));
 
+        SubscriptionStatus previousStatus = subscription.getStatus();
         subscription.setStatus(SubscriptionStatus.CANCELLED);
         subscription.setEndDate(LocalDateTime.now());
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        revenueRollupService.recordSubscription(saved, previousStatus);
+        return saved;
     }
 
     /**
-     * Get subscription statistics for dashboard.
+     * Get subscription statistics for dashboard, from the revenue rollups.
      */
     public Map<String, Object> getSubscriptionStats() {
         Map<String, Object> stats = new HashMap<>();
+        RevenueRollupService.RollupCounts counts = revenueRollupService.getSubscriptionCounts();
 
         // Total by plan
         Map<String, Long> byPlan = new HashMap<>();
-        byPlan.put("FREE",
-                subscriptionRepository.countByPlanTypeAndStatus(SubscriptionPlan.FREE, SubscriptionStatus.ACTIVE));
-        byPlan.put("PRO",
-                subscriptionRepository.countByPlanTypeAndStatus(SubscriptionPlan.PRO, SubscriptionStatus.ACTIVE));
-        byPlan.put("ELITE",
-                subscriptionRepository.countByPlanTypeAndStatus(SubscriptionPlan.ELITE, SubscriptionStatus.ACTIVE));
+        byPlan.put("FREE", counts.count(SubscriptionPlan.FREE, SubscriptionStatus.ACTIVE));
+        byPlan.put("PRO", counts.count(SubscriptionPlan.PRO, SubscriptionStatus.ACTIVE));
+        byPlan.put("ELITE", counts.count(SubscriptionPlan.ELITE, SubscriptionStatus.ACTIVE));
 
         stats.put("byPlan", byPlan);
-        stats.put("totalSubscriptions", subscriptionRepository.count());
-        stats.put("activeSubscriptions", subscriptionRepository.countByStatus(SubscriptionStatus.ACTIVE));
+        stats.put("totalSubscriptions", counts.count(null, null));
+        stats.put("activeSubscriptions", counts.count(null, SubscriptionStatus.ACTIVE));
 
         return stats;
     }
@@ -199,10 +223,10 @@ public class SubscriptionService {
      * Calculate MRR (Monthly Recurring Revenue).
      */
     public BigDecimal calculateMRR() {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = startOfMonth.plusMonths(1);
+        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
 
-        BigDecimal revenue = subscriptionRepository.getTotalRevenueForPeriod(startOfMonth, endOfMonth);
+        BigDecimal revenue = revenueRollupService.getActiveSubscriptionAmount(startOfMonth,
+                startOfMonth.plusMonths(1));
         return revenue != null ? revenue : BigDecimal.ZERO;
     }
 }
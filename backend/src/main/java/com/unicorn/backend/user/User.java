@@ -12,7 +12,9 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.lang.reflect.Modifier;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -24,7 +26,27 @@ import java.util.UUID;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
 @Table(name = "users")
+@EntityListeners({ com.unicorn.backend.jwt.AuthenticatedUserCacheEvictionListener.class,
+        com.unicorn.backend.admin.DashboardStatsEntityListener.class,
+        com.unicorn.backend.user.UserAutocompleteIndexListener.class })
 public class User implements UserDetails {
+    /**
+     * Instance fields copied by copy(). A field added without updating copy()
+     * fails class initialization instead of being silently dropped from
+     * cached principals.
+     */
+    private static final int COPIED_FIELDS = 33;
+
+    static {
+        long fields = Arrays.stream(User.class.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                .count();
+        if (fields != COPIED_FIELDS) {
+            throw new IllegalStateException("User has " + fields + " fields but copy() copies "
+                    + COPIED_FIELDS + ": update User.copy()");
+        }
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @EqualsAndHashCode.Include
@@ -77,6 +99,14 @@ public class User implements UserDetails {
     private String authProvider;
 
     private LocalDateTime lastLoginAt;
+
+    /**
+     * Latest refresh token expiry, maintained by RefreshTokenService; the
+     * user has an active session while it is in the future.
+     */
+    @Column(name = "last_active_session_expiry", insertable = false, updatable = false)
+    private java.time.Instant lastActiveSessionExpiry;
+
     private LocalDateTime passwordChangedAt;
     private LocalDateTime deletedAt;
     private String deletionReason;
@@ -189,4 +219,46 @@ public class User implements UserDetails {
     public boolean isAdmin() {
         return this.role != null && "ADMIN".equals(this.role.trim().toUpperCase());
     }
+
+    /**
+     * Shallow copy used as a per-request principal, so cached users are never
+     * mutated by request code. Relationships are shared as loaded.
+     */
+    public User copy() {
+        User copy = new User();
+        copy.id = this.id;
+        copy.email = this.email;
+        copy.displayName = this.displayName;
+        copy.phoneNumber = this.phoneNumber;
+        copy.country = this.country;
+        copy.firstName = this.firstName;
+        copy.lastName = this.lastName;
+        copy.username = this.username;
+        copy.avatarUrl = this.avatarUrl;
+        copy.bio = this.bio;
+        copy.linkedInUrl = this.linkedInUrl;
+        copy.passwordHash = this.passwordHash;
+        copy.role = this.role;
+        copy.status = this.status;
+        copy.authProvider = this.authProvider;
+        copy.lastLoginAt = this.lastLoginAt;
+        copy.lastActiveSessionExpiry = this.lastActiveSessionExpiry;
+        copy.passwordChangedAt = this.passwordChangedAt;
+        copy.deletedAt = this.deletedAt;
+        copy.deletionReason = this.deletionReason;
+        copy.suspendedAt = this.suspendedAt;
+        copy.suspendReason = this.suspendReason;
+        copy.suspendedUntil = this.suspendedUntil;
+        copy.suspensionType = this.suspensionType;
+        copy.createdAt = this.createdAt;
+        copy.updatedAt = this.updatedAt;
+        copy.preferredCurrency = this.preferredCurrency;
+        copy.startups = this.startups;
+        copy.memberships = this.memberships;
+        copy.investorProfile = this.investorProfile;
+        copy.moderationLogs = this.moderationLogs;
+        copy.refreshTokens = this.refreshTokens;
+        copy.oneTimePassword = this.oneTimePassword;
+        return copy;
+    }
 }
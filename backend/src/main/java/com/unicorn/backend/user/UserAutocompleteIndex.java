@@ -0,0 +1,344 @@
+package com.unicorn.backend.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index for user autocomplete (announcement targeting).
+ * Email, username, first/last name and display name words are lower-cased and
+ * kept as one sorted, packed UTF-8 array, so a lookup is a binary search and
+ * a short forward scan with no per-key objects on the heap. The snapshot is
+ * rebuilt on a schedule, only when the user count or the latest updated_at
+ * changed; users created or updated since are kept in a small overlay.
+ * Until the first build, or when there are more users than max-users,
+ * isReady() is false and callers fall back to UserSearchService.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAutocompleteIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${admin.user-autocomplete.max-users:500000}")
+    private int maxUsers;
+
+    @Value("${admin.user-autocomplete.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    private static final String LOAD_SQL = "SELECT id, email, username, first_name, last_name, display_name "
+            + "FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String STATE_SQL = "SELECT COUNT(*), MAX(updated_at) FROM users";
+
+    /**
+     * Change marker of the users table: inserts and deletes change the count,
+     * JPA updates bump updated_at.
+     */
+    private record TableState(long userCount, Timestamp lastUpdate) {
+    }
+
+    /**
+     * Keys sorted by unsigned byte order; key i is keys[offsets[i]..offsets[i+1])
+     * and belongs to user owners[i], whose id is (idHigh, idLow)[owners[i]].
+     */
+    private record Snapshot(byte[] keys, int[] offsets, int[] owners, long[] idHigh, long[] idLow) {
+
+        int size() {
+            return owners.length;
+        }
+
+        int compare(int index, byte[] prefix) {
+            int from = offsets[index];
+            int to = Math.min(offsets[index + 1], from + prefix.length);
+            return Arrays.compareUnsigned(keys, from, to, prefix, 0, prefix.length);
+        }
+
+        UUID owner(int index) {
+            int owner = owners[index];
+            return new UUID(idHigh[owner], idLow[owner]);
+        }
+    }
+
+    private record RecentUser(UUID id, long addedAt) {
+    }
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Table state the current snapshot (or the decision to disable it) was
+     * made from.
+     */
+    private volatile TableState builtFrom;
+
+    /**
+     * Users created after the snapshot query started, keyed "key\0id".
+     */
+    private final ConcurrentSkipListMap<String, RecentUser> recent = new ConcurrentSkipListMap<>();
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Ids of up to limit users with a key starting with prefix, in key order.
+     */
+    public List<UUID> suggest(String prefix, int limit) {
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        Set<UUID> ids = new LinkedHashSet<>();
+        Snapshot current = snapshot;
+        if (current == null || normalized.isEmpty()) {
+            return List.of();
+        }
+
+        ConcurrentNavigableMap<String, RecentUser> added = recent.subMap(normalized, normalized + Character.MAX_VALUE);
+        for (RecentUser user : added.values()) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(user.id());
+        }
+
+        byte[] key = normalized.getBytes(StandardCharsets.UTF_8);
+        for (int i = lowerBound(current, key); i < current.size() && ids.size() < limit; i++) {
+            if (current.offsets()[i + 1] - current.offsets()[i] < key.length || current.compare(i, key) != 0) {
+                break;
+            }
+            ids.add(current.owner(i));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static int lowerBound(Snapshot snapshot, byte[] key) {
+        int low = 0;
+        int high = snapshot.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot.compare(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Make a new or renamed user searchable before the next rebuild. Keys of a
+     * renamed user's old names stay until then.
+     */
+    public void add(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        RecentUser entry = new RecentUser(user.getId(), System.currentTimeMillis());
+        for (String key : keysOf(user.getEmail(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                user.getDisplayName())) {
+            recent.put(key + '\0' + user.getId(), entry);
+        }
+    }
+
+    // ==================== Rebuild ====================
+
+    @Scheduled(fixedDelayString = "${admin.user-autocomplete.refresh-interval:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        TableState state = jdbcTemplate.queryForObject(STATE_SQL,
+                (rs, rowNum) -> new TableState(rs.getLong(1), rs.getTimestamp(2)));
+        if (state == null || state.equals(builtFrom)) {
+            return;
+        }
+        if (state.userCount() > maxUsers) {
+            snapshot = null;
+            builtFrom = state;
+            log.warn("User autocomplete disabled: {} users exceed admin.user-autocomplete.max-users={}",
+                    state.userCount(), maxUsers);
+            return;
+        }
+
+        SnapshotBuilder builder = new SnapshotBuilder((int) state.userCount());
+        UUID after = new UUID(0, 0);
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(LOAD_SQL, after, loadBatchSize);
+            for (Map<String, Object> row : rows) {
+                after = (UUID) row.get("id");
+                int owner = builder.addUser(after);
+                for (String key : keysOf((String) row.get("email"), (String) row.get("username"),
+                        (String) row.get("first_name"), (String) row.get("last_name"),
+                        (String) row.get("display_name"))) {
+                    builder.addKey(key.getBytes(StandardCharsets.UTF_8), owner);
+                }
+            }
+            if (rows.size() < loadBatchSize) {
+                break;
+            }
+        }
+
+        snapshot = builder.build();
+        builtFrom = state;
+        // Users committed before the load started are in the snapshot now
+        recent.values().removeIf(user -> user.addedAt() < start);
+        log.info("User autocomplete rebuilt: {} keys for {} users in {}ms", builder.keyCount, builder.userCount,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Collects keys and owners straight into growable primitive arrays, then
+     * sorts a key permutation, so a build allocates no object per user or key
+     * beyond the transient key bytes.
+     */
+    private static final class SnapshotBuilder {
+
+        private byte[] keys;
+        private int keysLength;
+        /** Start of each key in keys, in insertion order. */
+        private int[] starts;
+        private int[] owners;
+        private int keyCount;
+        private long[] idHigh;
+        private long[] idLow;
+        private int userCount;
+
+        SnapshotBuilder(int expectedUsers) {
+            int users = Math.max(expectedUsers, 16);
+            keys = new byte[users * 32];
+            starts = new int[users * 4];
+            owners = new int[users * 4];
+            idHigh = new long[users];
+            idLow = new long[users];
+        }
+
+        int addUser(UUID id) {
+            if (userCount == idHigh.length) {
+                idHigh = Arrays.copyOf(idHigh, userCount * 2);
+                idLow = Arrays.copyOf(idLow, userCount * 2);
+            }
+            idHigh[userCount] = id.getMostSignificantBits();
+            idLow[userCount] = id.getLeastSignificantBits();
+            return userCount++;
+        }
+
+        void addKey(byte[] key, int owner) {
+            if (keysLength + key.length > keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keysLength + key.length));
+            }
+            if (keyCount == starts.length) {
+                starts = Arrays.copyOf(starts, keyCount * 2);
+                owners = Arrays.copyOf(owners, keyCount * 2);
+            }
+            System.arraycopy(key, 0, keys, keysLength, key.length);
+            starts[keyCount] = keysLength;
+            owners[keyCount] = owner;
+            keysLength += key.length;
+            keyCount++;
+        }
+
+        private int end(int key) {
+            return key + 1 < keyCount ? starts[key + 1] : keysLength;
+        }
+
+        private int compare(int a, int b) {
+            return Arrays.compareUnsigned(keys, starts[a], end(a), keys, starts[b], end(b));
+        }
+
+        Snapshot build() {
+            int[] order = new int[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                order[i] = i;
+            }
+            sort(order, new int[keyCount], 0, keyCount);
+
+            byte[] packed = new byte[keysLength];
+            int[] offsets = new int[keyCount + 1];
+            int[] sortedOwners = new int[keyCount];
+            int position = 0;
+            for (int i = 0; i < keyCount; i++) {
+                int key = order[i];
+                int length = end(key) - starts[key];
+                System.arraycopy(keys, starts[key], packed, position, length);
+                offsets[i] = position;
+                sortedOwners[i] = owners[key];
+                position += length;
+            }
+            offsets[keyCount] = position;
+            return new Snapshot(packed, offsets, sortedOwners, Arrays.copyOf(idHigh, userCount),
+                    Arrays.copyOf(idLow, userCount));
+        }
+
+        /**
+         * Merge sort of order[from..to) by key, with insertion sort for short
+         * runs.
+         */
+        private void sort(int[] order, int[] buffer, int from, int to) {
+            if (to - from <= 16) {
+                for (int i = from + 1; i < to; i++) {
+                    int key = order[i];
+                    int j = i - 1;
+                    while (j >= from && compare(order[j], key) > 0) {
+                        order[j + 1] = order[j];
+                        j--;
+                    }
+                    order[j + 1] = key;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            sort(order, buffer, from, mid);
+            sort(order, buffer, mid, to);
+            if (compare(order[mid - 1], order[mid]) <= 0) {
+                return;
+            }
+            System.arraycopy(order, from, buffer, from, to - from);
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < mid && compare(buffer[left], buffer[right]) <= 0)) {
+                    order[i] = buffer[left++];
+                } else {
+                    order[i] = buffer[right++];
+                }
+            }
+        }
+    }
+
+    /**
+     * Distinct lower-cased keys of a user: whole email and username, and each
+     * word of the names.
+     */
+    private static Set<String> keysOf(String email, String username, String firstName, String lastName,
+            String displayName) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String value : new String[] { email, username }) {
+            if (value != null && !value.isBlank()) {
+                keys.add(value.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        for (String value : new String[] { firstName, lastName, displayName }) {
+            if (value != null) {
+                for (String word : value.toLowerCase(Locale.ROOT).split("\\s+")) {
+                    if (!word.isEmpty()) {
+                        keys.add(word);
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,37 @@
+package com.unicorn.backend.user;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adds new and updated users to the UserAutocompleteIndex once their
+ * transaction commits.
+ */
+@Component
+public class UserAutocompleteIndexListener {
+
+    private final UserAutocompleteIndex userAutocompleteIndex;
+
+    public UserAutocompleteIndexListener(@Lazy UserAutocompleteIndex userAutocompleteIndex) {
+        this.userAutocompleteIndex = userAutocompleteIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onPersist(User user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userAutocompleteIndex.add(user);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userAutocompleteIndex.add(user);
+            }
+        });
+    }
+}
@@ -10,6 +10,15 @@ import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
+
+    /**
+     * Indexed search expression, see UserSearchService.
+     */
+    String SEARCH_DOCUMENT = "user_search_document(u.email, u.username, u.first_name, u.last_name)";
+
+    String SEARCH_MATCH = "FROM users u WHERE " + SEARCH_DOCUMENT + " LIKE :pattern ESCAPE '!' " +
+            "OR to_tsvector('simple', " + SEARCH_DOCUMENT + ") @@ to_tsquery('simple', :prefixQuery) ";
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -22,6 +31,19 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
     org.springframework.data.domain.Page<User> searchUsers(String query,
             org.springframework.data.domain.Pageable pageable);
 
+    /**
+     * Users whose search document contains :pattern or has words starting
+     * with the :prefixQuery terms; exact matches first, then prefix matches.
+     */
+    @org.springframework.data.jpa.repository.Query(value = "SELECT u.* " + SEARCH_MATCH +
+            "ORDER BY CASE WHEN lower(u.email) = :query OR lower(u.username) = :query THEN 0 " +
+            "WHEN lower(u.email) LIKE :prefix ESCAPE '!' OR lower(u.username) LIKE :prefix ESCAPE '!' " +
+            "OR lower(u.first_name) LIKE :prefix ESCAPE '!' OR lower(u.last_name) LIKE :prefix ESCAPE '!' " +
+            "THEN 1 ELSE 2 END, lower(u.email)",
+            countQuery = "SELECT COUNT(*) " + SEARCH_MATCH, nativeQuery = true)
+    org.springframework.data.domain.Page<User> searchByDocument(String query, String pattern, String prefix,
+            String prefixQuery, org.springframework.data.domain.Pageable pageable);
+
     long countByStatus(String status);
 
     long countByRole(String role);
@@ -39,4 +61,50 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
      * Find users by status (for announcements).
      */
     List<User> findByStatus(String status);
+
+    /**
+     * Batch load public profile fields for a set of users. The username falls
+     * back to the email, as User.getUsername() does.
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT u.id AS id, u.displayName AS displayName, " +
+            "u.firstName AS firstName, u.lastName AS lastName, COALESCE(u.username, u.email) AS username, " +
+            "u.avatarUrl AS avatarUrl, u.role AS role FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findByIdIn(java.util.Collection<UUID> ids);
+
+    /**
+     * Principal names (username, or email when unset) of the given names that
+     * belong to users with a role (for role-targeted realtime broadcasts).
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT COALESCE(u.username, u.email) FROM User u " +
+            "WHERE u.role = :role AND (u.username IN :names OR (u.username IS NULL AND u.email IN :names))")
+    List<String> findPrincipalNamesWithRole(String role, java.util.Collection<String> names);
+
+    /**
+     * Raise the user's last active session expiry to at least :expiry.
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE users SET last_active_session_expiry = " +
+            "GREATEST(COALESCE(last_active_session_expiry, :expiry), :expiry) WHERE id = :userId", nativeQuery = true)
+    int extendLastActiveSessionExpiry(UUID userId, java.time.Instant expiry);
+
+    /**
+     * Recompute the user's last active session expiry from their refresh
+     * tokens (null when none are left).
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE users SET last_active_session_expiry = " +
+            "(SELECT MAX(r.expiry_date) FROM refresh_tokens r WHERE r.user_id = :userId) WHERE id = :userId",
+            nativeQuery = true)
+    int recomputeLastActiveSessionExpiry(UUID userId);
+
+    /**
+     * Fill last_active_session_expiry for users with refresh tokens issued
+     * before the column existed.
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE users u SET last_active_session_expiry = " +
+            "(SELECT MAX(r.expiry_date) FROM refresh_tokens r WHERE r.user_id = u.id) " +
+            "WHERE u.last_active_session_expiry IS NULL " +
+            "AND EXISTS (SELECT 1 FROM refresh_tokens r WHERE r.user_id = u.id)", nativeQuery = true)
+    int backfillLastActiveSessionExpiry();
 }
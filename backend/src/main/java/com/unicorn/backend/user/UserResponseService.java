@@ -1,30 +1,77 @@
 package com.unicorn.backend.user;
 
-import com.unicorn.backend.security.RefreshTokenRepository;
+import com.unicorn.backend.investor.InvestorProfileRepository;
+import com.unicorn.backend.startup.StartupRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Service for creating UserResponse with session information.
+ * Startup and investor flags are loaded for a whole page with two IN
+ * queries; the session flag comes from users.last_active_session_expiry.
  */
 @Service
 public class UserResponseService {
 
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final StartupRepository startupRepository;
+    private final InvestorProfileRepository investorProfileRepository;
 
-    public UserResponseService(RefreshTokenRepository refreshTokenRepository) {
-        this.refreshTokenRepository = refreshTokenRepository;
+    public UserResponseService(StartupRepository startupRepository,
+            InvestorProfileRepository investorProfileRepository) {
+        this.startupRepository = startupRepository;
+        this.investorProfileRepository = investorProfileRepository;
     }
 
     /**
      * Create UserResponse from User entity with active session check.
      */
     public UserResponse fromEntity(User user) {
-        boolean hasActiveSession = refreshTokenRepository.findByUserId(user.getId())
-                .stream()
-                .anyMatch(token -> token.getExpiryDate().isAfter(java.time.Instant.now()));
+        return fromEntities(List.of(user)).get(0);
+    }
+
+    /**
+     * Map a page of users with a constant number of queries.
+     */
+    public Page<UserResponse> fromPage(Page<User> users) {
+        return new PageImpl<>(fromEntities(users.getContent()), users.getPageable(), users.getTotalElements());
+    }
+
+    /**
+     * Map users in order, loading their startup and investor flags in bulk.
+     */
+    public List<UserResponse> fromEntities(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = users.stream().map(User::getId).toList();
+        Set<UUID> startupOwners = new HashSet<>(startupRepository.findOwnerIdsIn(ids));
+        Map<UUID, Boolean> investorVerified = new HashMap<>();
+        for (Object[] row : investorProfileRepository.findVerificationByUserIds(ids)) {
+            investorVerified.put((UUID) row[0], Boolean.TRUE.equals(row[1]));
+        }
+
+        Instant now = Instant.now();
+        return users.stream()
+                .map(user -> toResponse(user, startupOwners.contains(user.getId()),
+                        investorVerified.get(user.getId()), now))
+                .toList();
+    }
+
+    /**
+     * @param investorVerified null when the user has no investor profile
+     */
+    private static UserResponse toResponse(User user, boolean hasStartups, Boolean investorVerified, Instant now) {
+        boolean hasActiveSession = user.getLastActiveSessionExpiry() != null
+                && user.getLastActiveSessionExpiry().isAfter(now);
 
         return new UserResponse(
                 user.getId(),
@@ -44,10 +91,10 @@ public class UserResponseService {
                 user.getCountry(),
                 user.getAvatarUrl(),
                 user.getSuspendReason(),
-                user.getInvestorProfile() != null,
-                user.getStartups() != null && !user.getStartups().isEmpty(),
+                investorVerified != null,
+                hasStartups,
                 hasActiveSession,
                 user.getPreferredCurrency(),
-                user.getInvestorProfile() != null && Boolean.TRUE.equals(user.getInvestorProfile().getIsVerified()));
+                Boolean.TRUE.equals(investorVerified));
     }
 }
@@ -0,0 +1,116 @@
+package com.unicorn.backend.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Indexed user search over email, username, first and last name.
+ * Matching uses the user_search_document() expression, which is indexed with
+ * pg_trgm (substring LIKE) and as a 'simple' tsvector (word prefixes), so
+ * neither needs a sequential scan of users. Results are ranked exact match
+ * first, then prefix matches, then other substring matches.
+ * The function and indexes are not expressible through ddl-auto and are
+ * created idempotently at startup (see SCHEMA).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserSearchService {
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Search schema, applied in order. Each statement is idempotent; index
+     * builds are CONCURRENTLY so they do not block user writes.
+     */
+    private static final List<String> SCHEMA = List.of(
+            "CREATE OR REPLACE FUNCTION user_search_document(email text, username text, "
+                    + "first_name text, last_name text) RETURNS text LANGUAGE sql IMMUTABLE PARALLEL SAFE AS "
+                    + "$$ SELECT lower(coalesce(email, '') || ' ' || coalesce(username, '') || ' ' "
+                    + "|| coalesce(first_name, '') || ' ' || coalesce(last_name, '')) $$",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_search_tsv ON users USING gin "
+                    + "(to_tsvector('simple', user_search_document(email, username, first_name, last_name)))");
+
+    private static final String TRIGRAM_EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    private static final String TRIGRAM_INDEX = "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_search_trgm "
+            + "ON users USING gin (user_search_document(email, username, first_name, last_name) gin_trgm_ops)";
+
+    private static final String INDEX_VALID_SQL = "SELECT i.indisvalid FROM pg_index i "
+            + "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?";
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initSearchSchema() {
+        dropInvalidIndex("idx_users_search_tsv");
+        dropInvalidIndex("idx_users_search_trgm");
+        SCHEMA.forEach(jdbcTemplate::execute);
+        try {
+            jdbcTemplate.execute(TRIGRAM_EXTENSION);
+            jdbcTemplate.execute(TRIGRAM_INDEX);
+        } catch (Exception e) {
+            // Needs a role allowed to create extensions; substring search
+            // still works, only without an index
+            log.warn("pg_trgm unavailable, substring user search is not indexed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A CONCURRENTLY build that was interrupted leaves an invalid index that
+     * IF NOT EXISTS would keep forever.
+     */
+    private void dropInvalidIndex(String name) {
+        List<Boolean> valid = jdbcTemplate.queryForList(INDEX_VALID_SQL, Boolean.class, name);
+        if (!valid.isEmpty() && !Boolean.TRUE.equals(valid.get(0))) {
+            log.warn("Rebuilding invalid index {}", name);
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+    }
+
+    /**
+     * Ranked search. The page's sort is ignored in favour of relevance.
+     */
+    public Page<User> search(String query, Pageable pageable) {
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        String prefixQuery = toPrefixQuery(q);
+        if (prefixQuery.isEmpty()) {
+            return userRepository.searchUsers(q, pageable);
+        }
+        String escaped = escapeLike(q);
+        return userRepository.searchByDocument(q, "%" + escaped + "%", escaped + "%", prefixQuery,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    /**
+     * "john sm" becomes "john:* &amp; sm:*"; anything but letters and digits
+     * separates words.
+     */
+    static String toPrefixQuery(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word + ":*");
+            }
+        }
+        return String.join(" & ", terms);
+    }
+
+    /**
+     * Escape LIKE wildcards with '!', the ESCAPE character of the search
+     * queries.
+     */
+    static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,27 @@
+package com.unicorn.backend.user;
+
+import java.util.UUID;
+
+/**
+ * Closed projection of the public profile fields shown next to content.
+ * Loaded without hydrating the User entity or its one-to-one relations.
+ */
+public interface UserSummary {
+
+    UUID getId();
+
+    String getDisplayName();
+
+    String getFirstName();
+
+    String getLastName();
+
+    /**
+     * Username, or the email when the user has none.
+     */
+    String getUsername();
+
+    String getAvatarUrl();
+
+    String getRole();
+}